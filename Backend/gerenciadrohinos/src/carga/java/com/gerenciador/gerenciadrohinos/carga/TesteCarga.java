@@ -0,0 +1,375 @@
+package com.gerenciador.gerenciadrohinos.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Teste de carga ponta a ponta da API de hinos ({@code ./gradlew testeCarga}).
+ * <p>Sobe o jar da aplicação em um processo separado com a fonte local de hinos
+ * ({@code hinos.fonte=local}), um catálogo gerado e o banco em memória, e dispara
+ * requisições HTTP simultâneas pelos cenários abaixo, com HTTP Basic como um
+ * cliente real. Depois de um aquecimento, mede vazão e latência (p50 a p99,9) de
+ * cada cenário e grava o relatório em {@code build/carga/relatorio.txt}.
+ * <p>Termina com erro se a taxa de erros ou a latência p99 passarem dos limites
+ * informados, para que uma regressão apareça antes do deploy.
+ * <p>Configuração (propriedades de sistema, repassadas pelo Gradle com -P):
+ * <ul>
+ *   <li>{@code carga.usuarios}: clientes simultâneos (padrão 32);</li>
+ *   <li>{@code carga.duracao-s} / {@code carga.aquecimento-s}: tempo medido e de aquecimento (30 / 10);</li>
+ *   <li>{@code carga.hinos}: hinos no catálogo gerado (5000);</li>
+ *   <li>{@code carga.latencia-ms}: latência simulada de cada chamada à "planilha" (50);</li>
+ *   <li>{@code carga.escritas}: inclui o cenário de POST /musicas (true);</li>
+ *   <li>{@code carga.p99-maximo-ms}: p99 máximo de qualquer cenário (0 = sem limite);</li>
+ *   <li>{@code carga.erros-maximo}: fração máxima de requisições com erro (0.01).</li>
+ * </ul>
+ */
+public final class TesteCarga {
+
+    private static final String USUARIO = "admin";
+    private static final String SENHA = "123456";
+    private static final Duration TEMPO_INICIALIZACAO = Duration.ofSeconds(90);
+    // Latências acima disso são registradas como o próprio limite
+    private static final long LATENCIA_MAXIMA_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final String[] ARTISTAS = {"Aline Barros", "Fernandinho", "Ministério Zoe", "Gabriela Rocha",
+        "Harpa Cristã", "Diante do Trono", "Isadora Pompeo", "Thalles Roberto", "Cassiane", "Morada"};
+    private static final String[] PALAVRAS = {"Graça", "Santo", "Espírito", "Louvor", "Adoração", "Eterno",
+        "Rei", "Glória", "Caminho", "Promessa", "Coração", "Fiel", "Deus", "Vitória", "Milagre"};
+
+    private final Path diretorio;
+    private final int usuarios;
+    private final Duration duracao;
+    private final Duration aquecimento;
+    private final int quantidadeHinos;
+    private final long latenciaMs;
+    private final boolean escritas;
+    private final double p99MaximoMs;
+    private final double errosMaximo;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String autorizacao = "Basic " + Base64.getEncoder()
+        .encodeToString((USUARIO + ":" + SENHA).getBytes(StandardCharsets.UTF_8));
+    private final List<Cenario> cenarios = new ArrayList<>();
+    private String base;
+
+    private TesteCarga() {
+        this.diretorio = Path.of(System.getProperty("carga.diretorio", "build/carga"));
+        this.usuarios = Integer.getInteger("carga.usuarios", 32);
+        this.duracao = Duration.ofSeconds(Long.getLong("carga.duracao-s", 30));
+        this.aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento-s", 10));
+        this.quantidadeHinos = Integer.getInteger("carga.hinos", 5000);
+        this.latenciaMs = Long.getLong("carga.latencia-ms", 50);
+        this.escritas = Boolean.parseBoolean(System.getProperty("carga.escritas", "true"));
+        this.p99MaximoMs = Double.parseDouble(System.getProperty("carga.p99-maximo-ms", "0"));
+        this.errosMaximo = Double.parseDouble(System.getProperty("carga.erros-maximo", "0.01"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jar = System.getProperty("carga.jar");
+        if (jar == null || !Files.exists(Path.of(jar))) {
+            throw new IllegalStateException("Jar da aplicação não encontrado (carga.jar): " + jar);
+        }
+        System.exit(new TesteCarga().executar(Path.of(jar)) ? 0 : 1);
+    }
+
+    private boolean executar(Path jar) throws Exception {
+        Files.createDirectories(diretorio);
+        Path arquivoHinos = diretorio.resolve("hinos-local.json");
+        gerarCatalogo(arquivoHinos);
+
+        int porta = portaLivre();
+        int portaGerenciamento = portaLivre();
+        base = "http://127.0.0.1:" + porta + "/musicas";
+        Process aplicacao = iniciarAplicacao(jar, arquivoHinos, porta, portaGerenciamento);
+        Runtime.getRuntime().addShutdownHook(new Thread(aplicacao::destroyForcibly));
+        try {
+            aguardarAplicacao(aplicacao);
+            definirCenarios();
+
+            System.out.println("-> Aquecimento: " + aquecimento.toSeconds() + " s com " + usuarios + " cliente(s).");
+            rodar(aquecimento);
+            cenarios.forEach(Cenario::zerar);
+
+            System.out.println("-> Medição: " + duracao.toSeconds() + " s com " + usuarios + " cliente(s).");
+            long inicio = System.nanoTime();
+            rodar(duracao);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            return relatar(segundos);
+        } finally {
+            aplicacao.destroy();
+            if (!aplicacao.waitFor(15, TimeUnit.SECONDS)) {
+                aplicacao.destroyForcibly();
+            }
+        }
+    }
+
+    // --- Aplicação ---
+
+    private Process iniciarAplicacao(Path jar, Path arquivoHinos, int porta, int portaGerenciamento)
+            throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> comando = List.of(java, "-jar", jar.toAbsolutePath().toString(),
+            "--server.port=" + porta,
+            "--management.server.port=" + portaGerenciamento,
+            "--hinos.fonte=local",
+            "--hinos.local.arquivo=" + arquivoHinos.toAbsolutePath(),
+            "--hinos.local.latencia-ms=" + latenciaMs,
+            "--hinos.snapshot.diretorio=" + diretorio.resolve("data").toAbsolutePath(),
+            "--spring.datasource.url=jdbc:h2:mem:carga");
+        Path log = diretorio.resolve("aplicacao.log");
+        System.out.println("-> Iniciando a aplicação na porta " + porta + " (log em " + log.toAbsolutePath() + ")");
+        return new ProcessBuilder(comando)
+            .directory(diretorio.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    }
+
+    private void aguardarAplicacao(Process aplicacao) throws Exception {
+        long inicio = System.nanoTime();
+        long limite = inicio + TEMPO_INICIALIZACAO.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!aplicacao.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou durante a inicialização (veja aplicacao.log).");
+            }
+            try {
+                if (enviar(get("/todos")).statusCode() == 200) {
+                    System.out.printf("-> Aplicação pronta em %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+                    return;
+                }
+            } catch (IOException e) {
+                // Ainda não está aceitando conexões
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("A aplicação não ficou pronta em " + TEMPO_INICIALIZACAO.toSeconds() + " s.");
+    }
+
+    // Catálogo sintético no formato da fonte local: {"Planilha1": [[título, artista, ...], ...]}
+    private void gerarCatalogo(Path arquivo) throws IOException {
+        Random random = new Random(42);
+        List<List<String>> linhas = new ArrayList<>(quantidadeHinos);
+        for (int i = 0; i < quantidadeHinos; i++) {
+            linhas.add(List.of(
+                PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + i,
+                ARTISTAS[random.nextInt(ARTISTAS.length)],
+                (2 + random.nextInt(6)) + ":" + String.format("%02d", random.nextInt(60)),
+                "https://www.youtube.com/watch?v=" + Integer.toHexString(i),
+                USUARIO));
+        }
+        new ObjectMapper().writeValue(arquivo.toFile(), Map.of("Planilha1", linhas));
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // --- Cenários ---
+
+    private void definirCenarios() {
+        cenarios.add(new Cenario("GET /musicas/todos", 15, r -> get("/todos")));
+        cenarios.add(new Cenario("GET /musicas/todos colunar", 10, r -> get("/todos?fields=titulo,artista&formato=colunar")));
+        cenarios.add(new Cenario("GET /musicas/pagina", 30,
+            r -> get("/pagina?ordem=titulo&tamanho=50&offset=" + r.nextInt(Math.max(quantidadeHinos - 50, 1)))));
+        cenarios.add(new Cenario("GET /musicas/artista", 20,
+            r -> get("/artista/" + codificar(ARTISTAS[r.nextInt(ARTISTAS.length)]).replace("+", "%20"))));
+        cenarios.add(new Cenario("GET /musicas/busca", 25,
+            r -> get("/busca?q=" + codificar(PALAVRAS[r.nextInt(PALAVRAS.length)]))));
+        cenarios.add(new Cenario("GET /musicas/artistas", 5, r -> get("/artistas")));
+        if (escritas) {
+            AtomicLong contador = new AtomicLong();
+            cenarios.add(new Cenario("POST /musicas", 5, r -> post("{\"titulo\":\"Carga " + contador.incrementAndGet()
+                + "\",\"artista\":\"" + ARTISTAS[r.nextInt(ARTISTAS.length)] + "\",\"duracao\":\"3:30\","
+                + "\"link\":\"https://www.youtube.com/watch?v=carga\",\"adicionadoPor\":\"" + USUARIO + "\"}")));
+        }
+    }
+
+    private void rodar(Duration tempo) throws InterruptedException {
+        long fim = System.nanoTime() + tempo.toNanos();
+        int pesoTotal = cenarios.stream().mapToInt(Cenario::peso).sum();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < usuarios; i++) {
+                clientes.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        sortear(random.nextInt(pesoTotal)).executar(random);
+                    }
+                });
+            }
+            clientes.shutdown();
+            clientes.awaitTermination(tempo.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    private Cenario sortear(int sorteio) {
+        for (Cenario cenario : cenarios) {
+            sorteio -= cenario.peso();
+            if (sorteio < 0) {
+                return cenario;
+            }
+        }
+        return cenarios.get(cenarios.size() - 1);
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+            .header("Authorization", autorizacao)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String corpo) {
+        return HttpRequest.newBuilder(URI.create(base))
+            .header("Authorization", autorizacao)
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(corpo))
+            .build();
+    }
+
+    private HttpResponse<Void> enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    // --- Relatório ---
+
+    private boolean relatar(double segundos) throws IOException {
+        Map<String, String> violacoes = new LinkedHashMap<>();
+        StringBuilder relatorio = new StringBuilder();
+        relatorio.append(String.format("%-24s %9s %9s %7s %8s %8s %8s %8s %8s%n",
+            "Cenário", "Req.", "Req./s", "Erros", "p50 ms", "p90 ms", "p99 ms", "p99,9 ms", "Máx. ms"));
+
+        Histogram total = new Histogram(LATENCIA_MAXIMA_NS, 3);
+        long totalErros = 0;
+        for (Cenario cenario : cenarios) {
+            Histogram latencias = cenario.latencias().copy();
+            total.add(latencias);
+            totalErros += cenario.erros().get();
+            relatorio.append(linha(cenario.nome(), latencias, cenario.erros().get(), segundos));
+            double p99 = ms(latencias.getValueAtPercentile(99));
+            if (p99MaximoMs > 0 && p99 > p99MaximoMs) {
+                violacoes.put(cenario.nome(), String.format("p99 de %.1f ms acima do limite de %.1f ms", p99, p99MaximoMs));
+            }
+        }
+        relatorio.append(linha("Total", total, totalErros, segundos));
+
+        long requisicoes = total.getTotalCount();
+        double taxaErros = requisicoes == 0 ? 1 : (double) totalErros / requisicoes;
+        if (taxaErros > errosMaximo) {
+            violacoes.put("Total", String.format("%.2f%% de erros, acima do limite de %.2f%%",
+                taxaErros * 100, errosMaximo * 100));
+        }
+        violacoes.forEach((nome, motivo) -> relatorio.append("REGRESSÃO em ").append(nome).append(": ")
+            .append(motivo).append(System.lineSeparator()));
+
+        System.out.print(relatorio);
+        Files.writeString(diretorio.resolve("relatorio.txt"), relatorio);
+        return violacoes.isEmpty();
+    }
+
+    private static String linha(String nome, Histogram latencias, long erros, double segundos) {
+        return String.format("%-24s %9d %9.1f %7d %8.1f %8.1f %8.1f %8.1f %8.1f%n", nome, latencias.getTotalCount(),
+            latencias.getTotalCount() / segundos, erros, ms(latencias.getValueAtPercentile(50)),
+            ms(latencias.getValueAtPercentile(90)), ms(latencias.getValueAtPercentile(99)),
+            ms(latencias.getValueAtPercentile(99.9)), ms(latencias.getMaxValue()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Um tipo de requisição, com o seu peso no sorteio e as medições.
+     * Requisições com falha de rede ou status diferente de 2xx/304 contam como erro.
+     */
+    private final class Cenario {
+
+        private final String nome;
+        private final int peso;
+        private final Function<Random, HttpRequest> requisicao;
+        private final ConcurrentHistogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_NS, 3);
+        private final AtomicLong erros = new AtomicLong();
+
+        Cenario(String nome, int peso, Function<Random, HttpRequest> requisicao) {
+            this.nome = nome;
+            this.peso = peso;
+            this.requisicao = requisicao;
+        }
+
+        void executar(Random random) {
+            HttpRequest pedido = requisicao.apply(random);
+            long inicio = System.nanoTime();
+            try {
+                int status = enviar(pedido).statusCode();
+                if (status >= 300 && status != 304) {
+                    erros.incrementAndGet();
+                }
+            } catch (IOException e) {
+                erros.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            latencias.recordValue(Math.min(System.nanoTime() - inicio, LATENCIA_MAXIMA_NS));
+        }
+
+        void zerar() {
+            latencias.reset();
+            erros.set(0);
+        }
+
+        String nome() {
+            return nome;
+        }
+
+        int peso() {
+            return peso;
+        }
+
+        Histogram latencias() {
+            return latencias;
+        }
+
+        AtomicLong erros() {
+            return erros;
+        }
+    }
+}
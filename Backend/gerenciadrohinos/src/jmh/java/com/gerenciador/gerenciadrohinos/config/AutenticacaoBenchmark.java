@@ -0,0 +1,106 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import com.gerenciador.gerenciadrohinos.model.Role;
+import com.gerenciador.gerenciadrohinos.model.Role.NivelAcesso;
+import com.gerenciador.gerenciadrohinos.model.User;
+import com.gerenciador.gerenciadrohinos.repository.UserRepository;
+import com.gerenciador.gerenciadrohinos.service.CacheUsuarios;
+import com.gerenciador.gerenciadrohinos.service.UserDetailsServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autenticação de uma requisição HTTP Basic: {@link UserDetailsServiceImpl} + verificação
+ * da senha, montados como no {@link SecurityConfig}.
+ * <ul>
+ *   <li>{@code bcrypt}: sem caches, o custo original de cada requisição;</li>
+ *   <li>{@code senhaEmCache}: com o {@link PasswordEncoderComCache};</li>
+ *   <li>{@code usuarioESenhaEmCache}: com o {@link CacheUsuarios} também (configuração atual).</li>
+ * </ul>
+ * O repositório é substituído por um que devolve o usuário da memória, para medir só a
+ * autenticação (a consulta ao H2 entra na medição do teste de carga).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutenticacaoBenchmark {
+
+    private static final String USUARIO = "admin";
+    private static final String SENHA = "123456";
+
+    private DaoAuthenticationProvider bcrypt;
+    private DaoAuthenticationProvider senhaEmCache;
+    private DaoAuthenticationProvider usuarioESenhaEmCache;
+
+    @Setup
+    public void preparar() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(
+            repositorio(encoder.encode(SENHA)), new SimpleMeterRegistry());
+
+        bcrypt = provider(userDetailsService, encoder);
+        senhaEmCache = provider(userDetailsService, new PasswordEncoderComCache(encoder, 1000, new SimpleMeterRegistry()));
+        usuarioESenhaEmCache = provider(userDetailsService,
+            new PasswordEncoderComCache(encoder, 1000, new SimpleMeterRegistry()));
+        usuarioESenhaEmCache.setUserCache(new CacheUsuarios(1000, 300_000));
+    }
+
+    @Benchmark
+    public Authentication bcrypt() {
+        return bcrypt.authenticate(credenciais());
+    }
+
+    @Benchmark
+    public Authentication senhaEmCache() {
+        return senhaEmCache.authenticate(credenciais());
+    }
+
+    @Benchmark
+    public Authentication usuarioESenhaEmCache() {
+        return usuarioESenhaEmCache.authenticate(credenciais());
+    }
+
+    private static UsernamePasswordAuthenticationToken credenciais() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USUARIO, SENHA);
+    }
+
+    private static DaoAuthenticationProvider provider(UserDetailsServiceImpl userDetailsService,
+                                                      PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+
+    // Só findByUsername é usado pelo UserDetailsServiceImpl
+    private static UserRepository repositorio(String hash) {
+        User admin = new User();
+        admin.setUsername(USUARIO);
+        admin.setPassword(hash);
+        admin.setRoles(Set.of(new Role(NivelAcesso.ROLE_EDITOR), new Role(NivelAcesso.ROLE_VIEWER)));
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class}, (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("findByUsername")) {
+                    return Optional.ofNullable(USUARIO.equals(argumentos[0]) ? admin : null);
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+}
@@ -0,0 +1,70 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catálogos sintéticos para os benchmarks, com a mesma forma da planilha real:
+ * poucos artistas com muitos hinos, nomes com acentos e algumas células vazias.
+ * A semente é fixa para que todas as execuções meçam os mesmos dados.
+ */
+final class Amostras {
+
+    private static final String[] ARTISTAS = {"Aline Barros", "Fernandinho", "Ministério Zoe", "Gabriela Rocha",
+        "Harpa Cristã", "Diante do Trono", "Isadora Pompeo", "Thalles Roberto", "Cassiane", "Morada"};
+    private static final String[] PALAVRAS = {"Graça", "Santo", "Espírito", "Louvor", "Adoração", "Eterno",
+        "Rei", "Glória", "Caminho", "Promessa", "Coração", "Fiel", "Deus", "Vitória", "Milagre"};
+
+    private Amostras() {
+    }
+
+    static List<List<Object>> linhas(int quantidade) {
+        Random random = new Random(42);
+        List<List<Object>> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String artista = ARTISTAS[random.nextInt(ARTISTAS.length)] + (i % 7 == 0 ? " " + (i % 50) : "");
+            String titulo = PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)]
+                + " " + i;
+            String duracao = (2 + random.nextInt(6)) + ":" + String.format("%02d", random.nextInt(60));
+            // A planilha omite as células vazias do final da linha
+            if (i % 10 == 0) {
+                linhas.add(List.of(titulo, artista, duracao));
+            } else {
+                linhas.add(List.of(titulo, artista, duracao, "https://www.youtube.com/watch?v=" + Integer.toHexString(i),
+                    "admin"));
+            }
+        }
+        return linhas;
+    }
+
+    static List<Hino> hinos(int quantidade) {
+        List<Hino> hinos = new ArrayList<>(quantidade);
+        for (List<Object> linha : linhas(quantidade)) {
+            hinos.add(LeitorValores.paraHino(linha));
+        }
+        return hinos;
+    }
+
+    static String artista(int i) {
+        return ARTISTAS[i % ARTISTAS.length];
+    }
+
+    /**
+     * Resposta do {@code values.get} com as linhas informadas, como a Sheets API devolve.
+     */
+    static String respostaValues(List<List<Object>> linhas) {
+        StringBuilder json = new StringBuilder("{\"range\":\"Planilha1!A2:F\",\"majorDimension\":\"ROWS\",\"values\":[");
+        for (int i = 0; i < linhas.size(); i++) {
+            json.append(i == 0 ? "[" : ",[");
+            List<Object> linha = linhas.get(i);
+            for (int j = 0; j < linha.size(); j++) {
+                json.append(j == 0 ? "\"" : ",\"").append(linha.get(j).toString().replace("\"", "\\\"")).append('"');
+            }
+            json.append(']');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro por artista ({@code Service.getMusicasPorArtista}).
+ * <p>{@code filtrarLinear} é a implementação original (percorre o catálogo a cada
+ * requisição) e serve de referência; {@code consultarIndice} é a consulta atual ao
+ * {@link IndiceArtistas}, cujo custo de construção, pago uma vez por versão do
+ * catálogo, é medido em {@code construirIndice}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArtistasBenchmark {
+
+    @Param({"1000", "20000"})
+    private int linhas;
+
+    private List<Hino> hinos;
+    private IndiceArtistas indice;
+    private String artista;
+
+    @Setup
+    public void preparar() {
+        hinos = Amostras.hinos(linhas);
+        indice = IndiceArtistas.de(hinos);
+        // Com espaços e caixa diferentes, como vem da URL
+        artista = " " + Amostras.artista(3).toUpperCase() + " ";
+    }
+
+    @Benchmark
+    public List<Hino> filtrarLinear() {
+        return hinos.stream()
+            .filter(hino -> hino.artista() != null && hino.artista().trim().equalsIgnoreCase(artista.trim()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Hino> consultarIndice() {
+        return indice.hinosDoArtista(artista);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public IndiceArtistas construirIndice() {
+        return IndiceArtistas.de(hinos);
+    }
+}
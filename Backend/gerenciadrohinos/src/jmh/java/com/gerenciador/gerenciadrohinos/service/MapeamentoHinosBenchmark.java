@@ -0,0 +1,80 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão das linhas da planilha em hinos, o trabalho de CPU de cada
+ * sincronização do catálogo ({@code Service.getAllHinos} quando o cache vence).
+ * <ul>
+ *   <li>{@code lerEmFluxo}: a resposta JSON do {@code values.get} lida direto em
+ *       hinos ({@link LeitorValores}), como faz a {@link SheetsHinoSource};</li>
+ *   <li>{@code converterLinhas}: a partir das linhas já desserializadas
+ *       ({@code List<List<Object>>}), como a {@link LocalHinoSource};</li>
+ *   <li>{@code reconciliar}: a montagem da lista do catálogo pelo
+ *       {@link LeitorIncremental} numa leitura completa da aba;</li>
+ *   <li>{@code publicarCatalogo}: a criação da versão do {@link Catalogo}.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapeamentoHinosBenchmark {
+
+    @Param({"1000", "20000"})
+    private int linhas;
+
+    private String resposta;
+    private List<List<Object>> linhasLidas;
+    private List<Hino> hinos;
+
+    @Setup
+    public void preparar() {
+        linhasLidas = Amostras.linhas(linhas);
+        resposta = Amostras.respostaValues(linhasLidas);
+        hinos = Amostras.hinos(linhas);
+    }
+
+    @Benchmark
+    public List<Hino> lerEmFluxo() throws IOException {
+        return LeitorValores.lerValueRange(new StringReader(resposta));
+    }
+
+    @Benchmark
+    public List<Hino> converterLinhas() {
+        List<Hino> convertidos = new ArrayList<>(linhasLidas.size());
+        for (List<Object> linha : linhasLidas) {
+            convertidos.add(LeitorValores.paraHino(linha));
+        }
+        return convertidos;
+    }
+
+    @Benchmark
+    public List<Hino> reconciliar() {
+        // Leitor novo a cada chamada: sem estado anterior, a lista é sempre montada
+        LeitorIncremental leitor = new LeitorIncremental(null, "Planilha1", Duration.ofMinutes(10), Clock.systemUTC());
+        return leitor.aplicar(2, hinos);
+    }
+
+    @Benchmark
+    public Catalogo publicarCatalogo() {
+        return Catalogo.inicial(hinos, Instant.EPOCH);
+    }
+}
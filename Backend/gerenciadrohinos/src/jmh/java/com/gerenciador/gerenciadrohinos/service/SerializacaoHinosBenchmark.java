@@ -0,0 +1,79 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização de {@code List<Hino>} em JSON, o custo de CPU de cada GET /musicas/todos.
+ * <p>O {@link ObjectMapper} é montado como o do Spring Boot. {@code ndjson} escreve um
+ * hino por linha, como o {@code formato=ndjson} do controller, e {@code jsonGzip}
+ * inclui a compressão feita pelo {@code FiltroCompressao} quando o cliente aceita gzip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoHinosBenchmark {
+
+    @Param({"1000", "20000"})
+    private int linhas;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectWriter writerHino = objectMapper.writerFor(Hino.class);
+    private List<Hino> hinos;
+    // Buffer reaproveitado, como o buffer de saída do Tomcat
+    private final ByteArrayOutputStream saida = new ByteArrayOutputStream(4 * 1024 * 1024);
+
+    @Setup
+    public void preparar() {
+        hinos = Amostras.hinos(linhas);
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        saida.reset();
+        objectMapper.writeValue(saida, hinos);
+        return saida.size();
+    }
+
+    @Benchmark
+    public int ndjson() throws IOException {
+        saida.reset();
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.setRootValueSeparator(null);
+            for (Hino hino : hinos) {
+                writerHino.writeValue(gerador, hino);
+                gerador.writeRaw('\n');
+            }
+        }
+        return saida.size();
+    }
+
+    @Benchmark
+    public int jsonGzip() throws IOException {
+        saida.reset();
+        try (OutputStream gzip = new GZIPOutputStream(saida, 8192, true)) {
+            objectMapper.writeValue(gzip, hinos);
+        }
+        return saida.size();
+    }
+}
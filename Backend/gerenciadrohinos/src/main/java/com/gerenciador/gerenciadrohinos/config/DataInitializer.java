@@ -5,6 +5,7 @@ import com.gerenciador.gerenciadrohinos.model.Role.NivelAcesso;
 import com.gerenciador.gerenciadrohinos.model.User;
 import com.gerenciador.gerenciadrohinos.repository.RoleRepository;
 import com.gerenciador.gerenciadrohinos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,12 +17,19 @@ import java.util.Set;
 /**
  * Classe responsável por popular o banco de dados H2 com as Roles e o primeiro
  * usuário administrador assim que a aplicação é iniciada.
+ * <p>Com {@code hinos.inicializacao.segundo-plano=true} o trabalho roda em outra thread,
+ * depois que o contexto subiu, e não atrasa a aplicação ficar pronta; na primeira
+ * execução (banco vazio) o login do admin só funciona depois do aviso de conclusão no log.
  */
 @Configuration
 public class DataInitializer {
 
     private static final String DEFAULT_PASSWORD = "123456";
 
+    // Popula o banco em segundo plano (true) ou antes de a aplicação ficar pronta (false)
+    @Value("${hinos.inicializacao.segundo-plano:true}")
+    private boolean inicializacaoEmSegundoPlano;
+
     @Bean
     public CommandLineRunner initializeData(
         RoleRepository roleRepository,
@@ -29,47 +37,51 @@ public class DataInitializer {
         PasswordEncoder passwordEncoder
     ){
         return args -> {
-            System.out.println("--- [SEGURANÇA] Inicializando Roles e Usuário Padrão... ---");
-
-            // --- 1. ENCONTRAR/CRIAR O EDITOR ROLE ---
-            Role editorRole;
-            // Tenta buscar o editor.
-            if (roleRepository.findByName(NivelAcesso.ROLE_EDITOR).isEmpty()) {
-                // Se não encontrar, cria e salva.
-                editorRole = roleRepository.save(new Role(NivelAcesso.ROLE_EDITOR));
-            } else {
-                // Se encontrar, pega o valor.
-                editorRole = roleRepository.findByName(NivelAcesso.ROLE_EDITOR).get();
+            if (!inicializacaoEmSegundoPlano) {
+                criarDadosIniciais(roleRepository, userRepository, passwordEncoder);
+                return;
             }
+            Thread thread = new Thread(
+                () -> criarDadosIniciais(roleRepository, userRepository, passwordEncoder), "dados-iniciais");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
 
-            // --- 2. ENCONTRAR/CRIAR O VIEWER ROLE ---
-            Role viewRole;
-            if (roleRepository.findByName(NivelAcesso.ROLE_VIEWER).isEmpty()) {
-                viewRole = roleRepository.save(new Role(NivelAcesso.ROLE_VIEWER));
-            } else {
-                viewRole = roleRepository.findByName(NivelAcesso.ROLE_VIEWER).get();
-            }
+    private void criarDadosIniciais(
+        RoleRepository roleRepository,
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder
+    ){
+        System.out.println("--- [SEGURANÇA] Inicializando Roles e Usuário Padrão... ---");
+        long inicio = System.nanoTime();
+
+        // --- 1. ENCONTRAR/CRIAR AS ROLES (uma consulta cada) ---
+        Role editorRole = roleRepository.findByName(NivelAcesso.ROLE_EDITOR)
+            .orElseGet(() -> roleRepository.save(new Role(NivelAcesso.ROLE_EDITOR)));
+        Role viewRole = roleRepository.findByName(NivelAcesso.ROLE_VIEWER)
+            .orElseGet(() -> roleRepository.save(new Role(NivelAcesso.ROLE_VIEWER)));
 
-            // --- 3. CRIAÇÃO DO USUÁRIO ADMIN (Lógica anterior, que está correta) ---
+        // --- 2. CRIAÇÃO DO USUÁRIO ADMIN (o hash BCrypt só é calculado se o usuário não existir) ---
+        if (userRepository.findByUsername("admin").isEmpty()) {
             Set<Role> adminRoles = new HashSet<>();
             adminRoles.add(editorRole);
             adminRoles.add(viewRole);
 
-            if (userRepository.findByUsername("admin").isEmpty()) {
-                User admin = new User();
-                admin.setUsername("admin");
-                admin.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD)); 
-                admin.setRoles(adminRoles);
-                userRepository.save(admin);
+            User admin = new User();
+            admin.setUsername("admin");
+            admin.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD));
+            admin.setRoles(adminRoles);
+            userRepository.save(admin);
 
-                System.out.println("-> Usuário 'admin' criado com sucesso!");
-                System.out.println("-> Senha: " + DEFAULT_PASSWORD);
-            } else {
-                System.out.println("-> Usuário 'admin' já existe. Pulando criação.");
-            }
-            
-            System.out.println("--- [SEGURANÇA] Inicialização concluída. ---");
-        };
+            System.out.println("-> Usuário 'admin' criado com sucesso!");
+            System.out.println("-> Senha: " + DEFAULT_PASSWORD);
+        } else {
+            System.out.println("-> Usuário 'admin' já existe. Pulando criação.");
+        }
+
+        System.out.println("--- [SEGURANÇA] Inicialização concluída em "
+            + (System.nanoTime() - inicio) / 1_000_000 + " ms. ---");
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletResponseWrapper;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime com gzip as respostas JSON e NDJSON quando o cliente aceita.
+ * <p>A compressão do Tomcat não é usada porque ela desiste de comprimir qualquer
+ * resposta com ETag forte, que é o caso das listagens do catálogo. Aqui, como no
+ * mod_deflate do Apache, a ETag da versão comprimida ganha o sufixo "-gzip"
+ * (continua forte, mas diferente da versão sem compressão) e o sufixo é retirado
+ * do If-None-Match / If-Match recebido antes de chegar ao controller.
+ * <p>A compressão é feita em fluxo, com flush sincronizado: o NDJSON continua
+ * chegando ao cliente aos poucos.
+ * <p>Uma resposta que passa para a escrita não bloqueante ({@code setWriteListener})
+ * antes do primeiro byte sai sem compressão: o gzip escreve no fluxo original sem
+ * consultar o {@code isReady()}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class FiltroCompressao extends OncePerRequestFilter {
+
+    private static final String SUFIXO_ETAG = "-gzip\"";
+    private static final List<String> TIPOS_COMPRIMIDOS = List.of(
+        "application/json", "application/x-ndjson", "text/html", "text/plain");
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // O NDJSON é escrito em uma thread assíncrona e termina em um novo despacho
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RespostaComprimida existente = procurar(response);
+        if (existente != null) {
+            // Despacho assíncrono de uma resposta que já passou por aqui
+            chain.doFilter(request, response);
+            if (!request.isAsyncStarted()) {
+                existente.terminar();
+            }
+            return;
+        }
+        if (!aceitaGzip(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RespostaComprimida resposta = new RespostaComprimida(response);
+        chain.doFilter(new RequisicaoSemSufixo(request), resposta);
+        if (!request.isAsyncStarted()) {
+            resposta.terminar();
+        }
+    }
+
+    private static RespostaComprimida procurar(ServletResponse response) {
+        while (response instanceof ServletResponseWrapper wrapper) {
+            if (wrapper instanceof RespostaComprimida resposta) {
+                return resposta;
+            }
+            response = wrapper.getResponse();
+        }
+        return null;
+    }
+
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        Enumeration<String> valores = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (valores != null && valores.hasMoreElements()) {
+            for (String codificacao : valores.nextElement().split(",")) {
+                String[] partes = codificacao.trim().toLowerCase(Locale.ROOT).split(";");
+                if (partes[0].trim().equals("gzip")) {
+                    return partes.length < 2 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean tipoComprimido(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String tipo = contentType.toLowerCase(Locale.ROOT);
+        return TIPOS_COMPRIMIDOS.stream().anyMatch(tipo::startsWith) || tipo.contains("+json");
+    }
+
+    /**
+     * Retira o sufixo "-gzip" das ETags enviadas pelo cliente.
+     */
+    private static final class RequisicaoSemSufixo extends HttpServletRequestWrapper {
+
+        RequisicaoSemSufixo(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String nome) {
+            String valor = super.getHeader(nome);
+            return condicional(nome) && valor != null ? valor.replace(SUFIXO_ETAG, "\"") : valor;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String nome) {
+            if (!condicional(nome)) {
+                return super.getHeaders(nome);
+            }
+            List<String> valores = Collections.list(super.getHeaders(nome));
+            valores.replaceAll(valor -> valor.replace(SUFIXO_ETAG, "\""));
+            return Collections.enumeration(valores);
+        }
+
+        private static boolean condicional(String nome) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(nome) || HttpHeaders.IF_MATCH.equalsIgnoreCase(nome);
+        }
+    }
+
+    /**
+     * Decide na primeira escrita do corpo se a resposta será comprimida, quando
+     * o status e o Content-Type já estão definidos.
+     */
+    private static final class RespostaComprimida extends HttpServletResponseWrapper {
+
+        private boolean decidido;
+        // A aplicação pediu escrita não bloqueante: a resposta não é comprimida
+        private boolean naoBloqueante;
+        private GZIPOutputStream gzip;
+        private ServletOutputStream saida;
+        private PrintWriter writer;
+        // Content-Length informado pela aplicação, só repassado se a resposta não for comprimida
+        private long tamanho = -1;
+
+        RespostaComprimida(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void decidir() throws IOException {
+            if (decidido) {
+                return;
+            }
+            decidido = true;
+            HttpServletResponse original = (HttpServletResponse) getResponse();
+            if (!naoBloqueante && !original.isCommitted() && getStatus() == SC_OK && tipoComprimido(getContentType())
+                    && original.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+                original.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                original.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                marcarEtag(original);
+                gzip = new GZIPOutputStream(original.getOutputStream(), 8192, true);
+            } else {
+                if (tamanho >= 0) {
+                    original.setContentLengthLong(tamanho);
+                }
+                if (getStatus() == SC_NOT_MODIFIED) {
+                    // O 304 deve levar a mesma ETag que o cliente recebeu na resposta comprimida
+                    marcarEtag(original);
+                }
+            }
+        }
+
+        private static void marcarEtag(HttpServletResponse original) {
+            String etag = original.getHeader(HttpHeaders.ETAG);
+            if (etag != null && etag.startsWith("\"") && !etag.endsWith(SUFIXO_ETAG)) {
+                original.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + SUFIXO_ETAG);
+            }
+        }
+
+        @Override
+        public void setContentLength(int tamanho) {
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public void setContentLengthLong(long tamanho) {
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public void setHeader(String nome, String valor) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(nome)) {
+                this.tamanho = valor == null ? -1 : Long.parseLong(valor);
+            } else {
+                super.setHeader(nome, valor);
+            }
+        }
+
+        @Override
+        public void addHeader(String nome, String valor) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(nome)) {
+                setHeader(nome, valor);
+            } else {
+                super.addHeader(nome, valor);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                saida = new SaidaComprimida();
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            decidir();
+            if (gzip != null) {
+                gzip.flush();
+            }
+            super.flushBuffer();
+        }
+
+        /**
+         * Fecha o fluxo gzip (grava o final do arquivo comprimido).
+         */
+        void terminar() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            decidir();
+            if (gzip != null) {
+                gzip.finish();
+                gzip = null;
+            }
+        }
+
+        private final class SaidaComprimida extends ServletOutputStream {
+
+            private ServletOutputStream destino() throws IOException {
+                return getResponse().getOutputStream();
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                decidir();
+                if (gzip != null) {
+                    gzip.write(b);
+                } else {
+                    destino().write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int inicio, int tamanho) throws IOException {
+                decidir();
+                if (gzip != null) {
+                    gzip.write(b, inicio, tamanho);
+                } else {
+                    destino().write(b, inicio, tamanho);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                decidir();
+                if (gzip != null) {
+                    gzip.flush();
+                } else {
+                    destino().flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                terminar();
+                destino().close();
+            }
+
+            @Override
+            public boolean isReady() {
+                if (gzip != null) {
+                    // Já comprimindo, a escrita é bloqueante
+                    return true;
+                }
+                try {
+                    return destino().isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                if (gzip != null) {
+                    throw new IllegalStateException("A resposta já começou a ser escrita comprimida");
+                }
+                naoBloqueante = true;
+                try {
+                    destino().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
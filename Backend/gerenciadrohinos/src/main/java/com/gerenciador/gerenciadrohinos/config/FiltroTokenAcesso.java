@@ -0,0 +1,83 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.gerenciador.gerenciadrohinos.service.TokenAcessoService;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Autentica as requisições que trazem "Authorization: Bearer &lt;token&gt;".
+ * <p>O usuário vem do {@link UserCache} (o banco só é consultado quando ele não
+ * está lá) e o token é conferido com um HMAC, sem BCrypt. Tokens inválidos ou
+ * vencidos são ignorados: a requisição segue sem autenticação e recebe 401.
+ * <p>No fluxo de eventos (/musicas/eventos e /musicas/{grupo}/eventos) o token também é aceito no parâmetro
+ * access_token (RFC 6750), porque o EventSource do navegador não envia cabeçalhos.
+ */
+public class FiltroTokenAcesso extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+    private static final Pattern ROTA_EVENTOS = Pattern.compile("/musicas(/[^/]+)?/eventos");
+    private static final String PARAMETRO_TOKEN = "access_token";
+
+    private final TokenAcessoService tokenAcessoService;
+    private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+
+    public FiltroTokenAcesso(TokenAcessoService tokenAcessoService, UserDetailsService userDetailsService,
+                             UserCache userCache) {
+        this.tokenAcessoService = tokenAcessoService;
+        this.userDetailsService = userDetailsService;
+        this.userCache = userCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho != null && cabecalho.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            autenticar(cabecalho.substring(PREFIXO.length()).trim());
+        } else if (ROTA_EVENTOS.matcher(request.getServletPath()).matches() && request.getParameter(PARAMETRO_TOKEN) != null) {
+            autenticar(request.getParameter(PARAMETRO_TOKEN).trim());
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void autenticar(String token) {
+        String username = tokenAcessoService.usuarioDoToken(token);
+        if (username == null) {
+            return;
+        }
+        UserDetails usuario = userCache.getUserFromCache(username);
+        if (usuario == null) {
+            try {
+                usuario = userDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                return;
+            }
+            userCache.putUserInCache(usuario);
+        }
+        if (!usuario.isEnabled() || !usuario.isAccountNonLocked() || !tokenAcessoService.assinaturaValida(token, usuario)) {
+            return;
+        }
+
+        SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+        contexto.setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(usuario.getUsername(), null, usuario.getAuthorities()));
+        SecurityContextHolder.setContext(contexto);
+    }
+}
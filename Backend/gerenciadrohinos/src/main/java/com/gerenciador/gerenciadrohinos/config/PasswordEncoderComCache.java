@@ -0,0 +1,103 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lembra as senhas já verificadas com sucesso, para que os clientes que usam
+ * HTTP Basic (que reenviam a senha a cada requisição) não paguem uma
+ * verificação BCrypt completa a cada chamada.
+ * <p>A senha nunca é guardada: a chave do cache é um HMAC da senha, com uma
+ * chave aleatória gerada na inicialização, junto com o hash armazenado no banco.
+ * Se a senha do usuário mudar, o hash muda e a entrada antiga deixa de servir.
+ * Senhas erradas não são guardadas e sempre passam pelo BCrypt.
+ */
+public class PasswordEncoderComCache implements PasswordEncoder {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final PasswordEncoder delegado;
+    private final SecretKeySpec chave;
+    private final Map<String, Boolean> verificadas;
+    // Tempo de cada verificação, separando as respondidas pelo cache das que passaram pelo BCrypt
+    private final Timer tempoCache;
+    private final Timer tempoBcrypt;
+
+    public PasswordEncoderComCache(PasswordEncoder delegado, int maximo, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.tempoCache = timer(meterRegistry, "cache");
+        this.tempoBcrypt = timer(meterRegistry, "bcrypt");
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+        this.verificadas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> maisAntiga) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return delegado.encode(senha);
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        if (senha == null || hash == null) {
+            return delegado.matches(senha, hash);
+        }
+        long inicio = System.nanoTime();
+        String chaveCache = resumo(senha) + ":" + hash;
+        synchronized (verificadas) {
+            if (verificadas.containsKey(chaveCache)) {
+                tempoCache.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                return true;
+            }
+        }
+        boolean confere = delegado.matches(senha, hash);
+        tempoBcrypt.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (confere) {
+            synchronized (verificadas) {
+                verificadas.put(chaveCache, Boolean.TRUE);
+            }
+        }
+        return confere;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        return delegado.upgradeEncoding(hash);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String verificacao) {
+        return Timer.builder("hinos.autenticacao.senha")
+            .description("Tempo de verificação da senha no login / HTTP Basic")
+            .tag("verificacao", verificacao)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private String resumo(CharSequence senha) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return Base64.getEncoder().encodeToString(mac.doFinal(senha.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+        }
+    }
+}
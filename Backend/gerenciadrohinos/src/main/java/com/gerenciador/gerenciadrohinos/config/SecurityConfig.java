@@ -1,17 +1,29 @@
 package com.gerenciador.gerenciadrohinos.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource; 
 import org.springframework.web.filter.CorsFilter; 
 
+import com.gerenciador.gerenciadrohinos.service.TokenAcessoService;
+
 import java.util.Arrays;
 import static com.gerenciador.gerenciadrohinos.model.Role.NivelAcesso.ROLE_EDITOR;
 import static com.gerenciador.gerenciadrohinos.model.Role.NivelAcesso.ROLE_VIEWER;
@@ -21,12 +33,28 @@ import static com.gerenciador.gerenciadrohinos.model.Role.NivelAcesso.ROLE_VIEWE
 public class SecurityConfig {
     /**
      * Define o BCryptPasswordEncoder como o algoritmo padrão para criptografar
-     * e verificar senhas no sistema.
+     * e verificar senhas no sistema. As verificações bem-sucedidas são lembradas
+     * (veja {@link PasswordEncoderComCache}), pois o HTTP Basic reenvia a senha
+     * a cada requisição.
      * @return Uma instância de PasswordEncoder.
      */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${hinos.autenticacao.cache-usuarios.maximo:1000}") int maximo,
+                                           MeterRegistry meterRegistry){
+        return new PasswordEncoderComCache(new BCryptPasswordEncoder(), maximo, meterRegistry);
+    }
+
+    /**
+     * Autenticação por usuário e senha (HTTP Basic e POST /auth/token), com os
+     * usuários carregados do banco guardados no {@link UserCache}.
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder, UserCache userCache) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userCache);
+        return new ProviderManager(provider);
     }
 
     @Bean
@@ -59,13 +87,25 @@ public class SecurityConfig {
     * @return O SecurityFilterChain configurado.
     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                                   TokenAcessoService tokenAcessoService,
+                                                   UserDetailsService userDetailsService,
+                                                   UserCache userCache) throws Exception{
         http.csrf(csrf -> csrf.disable()).authorizeHttpRequests(auth -> auth
             .requestMatchers("/", "/h2-console/**").permitAll()
-            .requestMatchers(HttpMethod.GET, "/musicas/**").hasAnyRole(ROLE_VIEWER.name(), ROLE_EDITOR.name())
-            .requestMatchers(HttpMethod.POST, "/musicas/**").hasRole(ROLE_EDITOR.name())
+            .requestMatchers(HttpMethod.POST, "/auth/token").permitAll()
+            // Actuator: exposto apenas na porta de gerenciamento, ligada ao localhost
+            .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+            .requestMatchers(HttpMethod.GET, "/musicas/**").hasAnyAuthority(ROLE_VIEWER.name(), ROLE_EDITOR.name())
+            .requestMatchers(HttpMethod.POST, "/musicas/**").hasAuthority(ROLE_EDITOR.name())
+            .requestMatchers(HttpMethod.PUT, "/musicas/**").hasAuthority(ROLE_EDITOR.name())
+            .requestMatchers(HttpMethod.DELETE, "/musicas/**").hasAuthority(ROLE_EDITOR.name())
             .anyRequest().authenticated()
         ).httpBasic(httpBasic -> {})
+        .authenticationManager(authenticationManager)
+        // Token "Bearer" emitido pelo POST /auth/token: dispensa o BCrypt a cada requisição
+        .addFilterBefore(new FiltroTokenAcesso(tokenAcessoService, userDetailsService, userCache),
+            BasicAuthenticationFilter.class)
         .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
 
         return http.build();
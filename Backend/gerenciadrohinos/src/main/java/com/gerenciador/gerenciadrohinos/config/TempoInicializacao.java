@@ -0,0 +1,23 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registra no log quanto tempo a aplicação levou para ficar pronta (aceitando
+ * requisições), contado desde o início da JVM. É o número usado para comparar os
+ * modos de inicialização (hinos.inicializacao.segundo-plano, arquivo CDS, AOT).
+ */
+@Component
+public class TempoInicializacao {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoFicarPronta(ApplicationReadyEvent evento) {
+        long desdeJvm = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.println("-> Aplicação pronta em " + desdeJvm + " ms desde o início da JVM (contexto: "
+            + evento.getTimeTaken().toMillis() + " ms).");
+    }
+}
@@ -0,0 +1,62 @@
+package com.gerenciador.gerenciadrohinos.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Credenciais;
+import com.gerenciador.gerenciadrohinos.model.Model.TokenAcesso;
+import com.gerenciador.gerenciadrohinos.service.TokenAcessoService;
+
+/**
+ * Login da API: troca usuário e senha por um token de acesso de curta duração.
+ * <p>Com o token ("Authorization: Bearer ..."), as requisições seguintes não
+ * passam pela verificação BCrypt da senha nem consultam o banco.
+ */
+@RestController
+@RequestMapping("/auth")
+public class AutenticacaoController {
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenAcessoService tokenAcessoService;
+    private final UserCache userCache;
+
+    public AutenticacaoController(AuthenticationManager authenticationManager, TokenAcessoService tokenAcessoService,
+                                  UserCache userCache) {
+        this.authenticationManager = authenticationManager;
+        this.tokenAcessoService = tokenAcessoService;
+        this.userCache = userCache;
+    }
+
+    /**
+     * Rota: POST /auth/token
+     * Corpo: {"username": "...", "password": "..."}
+     * @return 200 OK com o token, ou 401 Unauthorized se as credenciais forem inválidas.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TokenAcesso> emitirToken(@RequestBody Credenciais credenciais) {
+        if (credenciais == null || credenciais.username() == null || credenciais.password() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(credenciais.username(), credenciais.password()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // O principal autenticado tem a senha apagada; a cópia do cache ainda tem o hash
+        UserDetails usuario = userCache.getUserFromCache(credenciais.username());
+        if (usuario == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(tokenAcessoService.emitir(usuario));
+    }
+}
@@ -1,23 +1,82 @@
 package com.gerenciador.gerenciadrohinos.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity; 
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable; 
 import org.springframework.web.bind.annotation.PostMapping; 
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody; 
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.google.api.client.http.HttpResponseException;
+
+import com.gerenciador.gerenciadrohinos.service.Catalogo;
+import com.gerenciador.gerenciadrohinos.service.Duracoes;
+import com.gerenciador.gerenciadrohinos.service.EdicaoConflitanteException;
+import com.gerenciador.gerenciadrohinos.service.FilaEscrita;
+import com.gerenciador.gerenciadrohinos.service.GrupoNaoEncontradoException;
+import com.gerenciador.gerenciadrohinos.service.HinoDuplicadoException;
+import com.gerenciador.gerenciadrohinos.service.HinoNaoEncontradoException;
+import com.gerenciador.gerenciadrohinos.service.IdentidadeHinos;
+import com.gerenciador.gerenciadrohinos.service.ImportacaoHinos;
+import com.gerenciador.gerenciadrohinos.service.IndiceOrdenacao;
+import com.gerenciador.gerenciadrohinos.service.LeitorImportacao;
+import com.gerenciador.gerenciadrohinos.service.Normalizador;
+import com.gerenciador.gerenciadrohinos.service.PlanilhaIndisponivelException;
+import com.gerenciador.gerenciadrohinos.service.ProjecaoHinos;
 import com.gerenciador.gerenciadrohinos.service.Service;
+import com.gerenciador.gerenciadrohinos.service.VersaoDesatualizadaException;
+import com.gerenciador.gerenciadrohinos.model.Model.AlteracoesDesde;
+import com.gerenciador.gerenciadrohinos.model.Model.ArtistaResumo;
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoCatalogo;
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoPlanilha;
+import com.gerenciador.gerenciadrohinos.model.Model.GrupoHinos;
 import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.HinoComDuracao;
+import com.gerenciador.gerenciadrohinos.model.Model.Ordem;
+import com.gerenciador.gerenciadrohinos.model.Model.Pagina;
+import com.gerenciador.gerenciadrohinos.model.Model.RelatorioDuplicados;
+import com.gerenciador.gerenciadrohinos.model.Model.Repertorio;
+import com.gerenciador.gerenciadrohinos.model.Model.ResumoImportacao;
+import com.gerenciador.gerenciadrohinos.model.Model.SituacaoEscrita;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Controller principal que expõe os endpoints da API para o gerenciamento de hinos.
  * Todos os endpoints iniciam com a rota base "/musicas".
+ * As rotas do catálogo existem também por grupo de hinos, em "/musicas/{grupo}/..."
+ * (ex: /musicas/jovens/todos); sem o grupo, vale o primeiro grupo configurado.
  * * @author GW
  * @version 1.0.0
  * @since 2025-10-08
@@ -27,49 +86,615 @@ import java.util.List;
 public class Controller {
     
     private final Service service;
+    private final ObjectMapper objectMapper;
+
+    // Limite máximo de resultados aceito pela rota de busca
+    private static final int LIMITE_MAXIMO_BUSCA = 100;
+    // Tamanho máximo de página aceito pela listagem paginada
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+    // Duração máxima (alvo + tolerância) aceita pela sugestão de repertório, em segundos
+    private static final int DURACAO_MAXIMA_REPERTORIO = 4 * 60 * 60;
+    // Quantidade de linhas escritas entre dois envios (flush) no modo NDJSON
+    private static final int LINHAS_POR_ENVIO = 256;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    // As listagens podem ser guardadas pelo navegador, mas devem ser revalidadas (ETag) a cada uso
+    private static final CacheControl CACHE_CATALOGO = CacheControl.noCache().cachePrivate();
     
     // Injeção de dependência via construtor
-    public Controller(Service service){
+    public Controller(Service service, ObjectMapper objectMapper){
         this.service = service;
+        this.objectMapper = objectMapper;
         }
     
     /**
      * Endpoint GET que retorna a lista completa de todos os hinos cadastrados
      * na planilha, incluindo todas as colunas (Título, Artista, Duração, Link, Integrantes).
-     * * Rota: /musicas/todos
+     * A resposta leva a ETag da versão do catálogo: com If-None-Match igual, a
+     * resposta é 304 (Not Modified), sem corpo.
+     * <p>O corpo é serializado uma vez por versão do catálogo, ordenação, projeção e
+     * formato; os pedidos seguintes recebem os mesmos bytes, sem passar pelo Jackson.
+     * * Rota: /musicas/todos?ordem=titulo&fields=titulo,artista&formato=colunar
+     * @param ordem Ordenação: insercao (padrão, ordem da planilha), titulo ou artista.
+     * @param campos Campos de cada hino, separados por vírgula (padrão: todos).
+     * @param formato "colunar" para os nomes dos campos uma vez e um array de valores
+     *                por campo (veja {@link ProjecaoHinos}); se omitido, lista de objetos.
      * @return Lista de objetos Hino (o formato JSON final da API, tipado e legível).
      * @throws IOException Se a comunicação com a Google Sheets API falhar.
      */
-    @GetMapping("/todos")
-    public List<Hino> listarTodasAsMusicas() throws IOException{
-        return service.getAllHinos();
+    @GetMapping({"/todos", "/{grupo}/todos"})
+    public ResponseEntity<byte[]> listarTodasAsMusicas(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam(name = "ordem", defaultValue = "insercao") String ordem,
+            @RequestParam(name = "fields", required = false) String campos,
+            @RequestParam(name = "formato", required = false) String formato) throws IOException{
+        Catalogo catalogo = service.getCatalogo(grupo);
+        Ordem criterio = converterOrdem(ordem);
+        return listagem(catalogo, "todos:" + criterio, catalogo.emOrdem(criterio), campos, formato);
+    }
+
+    /**
+     * Endpoint GET que transmite todos os hinos em NDJSON (um objeto JSON por linha).
+     * Os hinos são escritos na resposta um a um, a partir do catálogo em memória,
+     * sem montar a lista completa nem o JSON inteiro antes do envio.
+     * * Rota: /musicas/todos?formato=ndjson&ordem=titulo&fields=titulo,artista
+     * @param ordem Ordenação: insercao (padrão), titulo ou artista.
+     * @param campos Campos de cada hino, separados por vírgula (padrão: todos).
+     * @return Corpo transmitido com Content-Type application/x-ndjson.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping(value = {"/todos", "/{grupo}/todos"}, params = "formato=ndjson")
+    public ResponseEntity<StreamingResponseBody> transmitirTodasAsMusicas(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam(name = "ordem", defaultValue = "insercao") String ordem,
+            @RequestParam(name = "fields", required = false) String campos,
+            WebRequest request) throws IOException {
+        ProjecaoHinos projecao = ProjecaoHinos.de(campos);
+        Catalogo catalogo = service.getCatalogo(grupo);
+        // Corpos transmitidos não passam pela verificação automática de ETag do Spring
+        if (request.checkNotModified(catalogo.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CATALOGO).build();
+        }
+        IndiceOrdenacao ordenacao = catalogo.ordenacao(converterOrdem(ordem));
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                // Sem o espaço padrão entre valores raiz: cada hino termina com uma quebra de linha
+                gerador.setRootValueSeparator(null);
+                for (int i = 0; i < ordenacao.tamanho(); i++) {
+                    projecao.escrever(gerador, catalogo.hinos().get(ordenacao.posicao(i)));
+                    gerador.writeRaw('\n');
+                    if ((i + 1) % LINHAS_POR_ENVIO == 0) {
+                        gerador.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).eTag(catalogo.etag())
+            .cacheControl(CACHE_CATALOGO).body(corpo);
+    }
+
+    /**
+     * Endpoint GET que retorna os hinos em páginas, com ordenação.
+     * Use o {@code proximoCursor} da resposta para pedir a página seguinte; ele
+     * continua válido mesmo que novos hinos sejam adicionados entre as chamadas.
+     * * Rota: /musicas/pagina?ordem=titulo&tamanho=50&cursor=...
+     * @param ordem Ordenação: insercao (padrão), titulo ou artista.
+     * @param cursor Cursor devolvido pela página anterior (opcional).
+     * @param offset Posição inicial, usada quando não há cursor (padrão 0).
+     * @param tamanho Quantidade de itens por página (padrão 50, máximo 500).
+     * @return A página com os itens, o total, a versão do catálogo e o próximo cursor.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/pagina", "/{grupo}/pagina"})
+    public ResponseEntity<Pagina> listarPagina(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam(name = "ordem", defaultValue = "insercao") String ordem,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "tamanho", defaultValue = "50") int tamanho) throws IOException {
+        int tamanhoValido = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return comEtag(catalogo.etag(), service.getPagina(catalogo, converterOrdem(ordem), cursor, offset, tamanhoValido));
     }
 
     /**
      * Endpoint POST para adicionar um novo hino à planilha.
      * Esta rota requer a ROLE_EDITOR (usuário logado como 'admin').
-     * * Rota: POST /musicas
+     * <p>Os hinos são gravados em lotes pela fila de escrita. No modo assíncrono
+     * (padrão) a resposta é 202 (Accepted) com o id de acompanhamento, e o hino já
+     * aparece nas listagens; no modo síncrono a resposta espera a gravação e é 201.
+     * * Rota: POST /musicas?sincrono=true (ou POST /musicas/{grupo})
      * @param novoHino O objeto Hino enviado no corpo da requisição (JSON).
-     * @return O hino criado com status HTTP 201 (Created).
+     * @param sincrono Força o modo síncrono (true) ou assíncrono (false); se omitido,
+     *                 vale a configuração hinos.escrita.modo.
+     * @return 201 com o hino gravado, 202 com a situação da escrita, 400 se o hino for
+     *         inválido (sem título, com fórmula, link sem http), ou 409 com o hino
+     *         já existente se o título e o artista repetirem os de outro hino.
+     * @throws IOException Se a escrita na planilha falhar (modo síncrono).
+     */
+    @PostMapping({"", "/{grupo}"})
+    public ResponseEntity<?> adicionarNovoHino(@PathVariable(name = "grupo", required = false) String grupo, @RequestBody Hino novoHino,
+            @RequestParam(name = "sincrono", required = false) Boolean sincrono) throws IOException {
+        FilaEscrita.Escrita escrita = service.enfileirarHino(grupo, novoHino);
+
+        if (sincrono != null ? sincrono : service.isEscritaSincrona()) {
+            Hino hinoSalvo = service.aguardarGravacao(escrita);
+            // Retorna o hino salvo com status HTTP 201 CREATED
+            return new ResponseEntity<>(hinoSalvo, HttpStatus.CREATED);
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/musicas/escritas/" + escrita.id()))
+            .body(escrita.situacao());
+    }
+
+    /**
+     * Endpoint POST para importar muitos hinos de uma vez, em vez de um POST /musicas
+     * por hino. Esta rota requer a ROLE_EDITOR.
+     * <p>O arquivo é lido em fluxo: CSV (text/csv; vírgula ou ponto e vírgula, com ou
+     * sem cabeçalho, colunas na ordem da planilha), array JSON de hinos
+     * (application/json) ou um hino por linha (application/x-ndjson). Linhas sem
+     * título, com fórmulas, link inválido ou campos longos demais são rejeitadas, e as
+     * que repetem título e artista de um hino existente são ignoradas. As demais são
+     * gravadas em blocos de várias linhas por 'append'. "Adicionado por", quando
+     * vazio, recebe o usuário logado.
+     * <p>A resposta é um relatório NDJSON transmitido durante a importação: uma linha
+     * por linha do arquivo (GRAVADA, DUPLICADA, REJEITADA ou FALHOU, não
+     * necessariamente na ordem do arquivo) e, por último, o resumo com os totais.
+     * * Rota: POST /musicas/importacao (ou POST /musicas/{grupo}/importacao)
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @PostMapping(value = {"/importacao", "/{grupo}/importacao"},
+                 consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public void importarHinos(@PathVariable(name = "grupo", required = false) String grupo, HttpServletRequest request,
+            HttpServletResponse response, Principal usuario) throws IOException {
+        MediaType tipo = MediaType.parseMediaType(request.getContentType());
+        Charset charset = tipo.getCharset() != null ? tipo.getCharset() : StandardCharsets.UTF_8;
+        Reader entrada = new InputStreamReader(request.getInputStream(), charset);
+        LeitorImportacao leitor = tipo.isCompatibleWith(TEXT_CSV)
+            ? LeitorImportacao.csv(entrada)
+            : LeitorImportacao.json(entrada);
+
+        ObjectWriter writer = objectMapper.writer();
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // Sem o espaço padrão entre valores raiz: cada linha termina com uma quebra de linha
+        gerador.setRootValueSeparator(null);
+        int[] escritas = {0};
+        // Grupo e catálogo resolvidos antes de a resposta começar (erros viram 404/503)
+        ImportacaoHinos importacao = service.novaImportacao(grupo, usuario == null ? null : usuario.getName(),
+            resultado -> {
+                try {
+                    writer.writeValue(gerador, resultado);
+                    gerador.writeRaw('\n');
+                    if (++escritas[0] % LINHAS_POR_ENVIO == 0) {
+                        gerador.flush();
+                    }
+                } catch (IOException e) {
+                    // Cliente desconectado: as linhas já enviadas à fila continuam sendo gravadas
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        response.setContentType(APPLICATION_NDJSON.toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        try (gerador) {
+            ResumoImportacao resumo;
+            try {
+                resumo = importacao.importar(leitor);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.writeValue(gerador, resumo);
+            gerador.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Endpoint GET que retorna um hino pelo id (campo "id" das listagens).
+     * A resposta leva a ETag do hino, a ser enviada no If-Match do PUT e do DELETE.
+     * * Rota: /musicas/hino/{id} (ou /musicas/{grupo}/hino/{id})
+     * @return O hino, ou 404.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/hino/{id}", "/{grupo}/hino/{id}"})
+    public ResponseEntity<Hino> buscarHino(@PathVariable(name = "grupo", required = false) String grupo,
+            @PathVariable("id") String id) throws IOException {
+        Hino hino = service.getHino(grupo, id);
+        return comEtag(IdentidadeHinos.etag(hino), hino);
+    }
+
+    /**
+     * Endpoint PUT para corrigir um hino já gravado. Esta rota requer a ROLE_EDITOR.
+     * <p>Só a linha do hino é regravada na planilha. O If-Match é obrigatório (428
+     * sem ele): a ETag do GET /musicas/hino/{id} (ou da listagem), ou "*" para
+     * sobrescrever sem conferir. Se o hino mudou depois dessa versão, a resposta é
+     * 412 com a ETag atual; se ainda está na fila de escrita, 409.
+     * * Rota: PUT /musicas/hino/{id} (ou PUT /musicas/{grupo}/hino/{id})
+     * @param dados Novos valores; campos ausentes mantêm o valor atual.
+     * @return O hino alterado, com a nova ETag.
      * @throws IOException Se a escrita na planilha falhar.
      */
-    @PostMapping
-    public ResponseEntity<Hino> adicionarNovoHino(@RequestBody Hino novoHino) throws IOException {
-        Hino hinoSalvo = service.appendHino(novoHino);
-        // Retorna o hino salvo com status HTTP 201 CREATED
-        return new ResponseEntity<>(hinoSalvo, HttpStatus.CREATED); 
+    @PutMapping({"/hino/{id}", "/{grupo}/hino/{id}"})
+    public ResponseEntity<?> atualizarHino(@PathVariable(name = "grupo", required = false) String grupo,
+            @PathVariable("id") String id, @RequestBody Hino dados,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String seCorresponder) throws IOException {
+        if (seCorresponder == null) {
+            return exigirIfMatch();
+        }
+        Hino alterado = service.atualizarHino(grupo, id, dados, seCorresponder);
+        return ResponseEntity.ok().eTag(IdentidadeHinos.etag(alterado)).body(alterado);
+    }
+
+    /**
+     * Endpoint DELETE para remover um hino já gravado. Esta rota requer a ROLE_EDITOR.
+     * <p>Só a linha do hino é apagada; If-Match obrigatório, como no PUT.
+     * * Rota: DELETE /musicas/hino/{id} (ou DELETE /musicas/{grupo}/hino/{id})
+     * @return 204 (No Content).
+     * @throws IOException Se a remoção na planilha falhar.
+     */
+    @DeleteMapping({"/hino/{id}", "/{grupo}/hino/{id}"})
+    public ResponseEntity<?> removerHino(@PathVariable(name = "grupo", required = false) String grupo,
+            @PathVariable("id") String id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String seCorresponder) throws IOException {
+        if (seCorresponder == null) {
+            return exigirIfMatch();
+        }
+        service.removerHino(grupo, id, seCorresponder);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<String> exigirIfMatch() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+            .body("Informe o cabeçalho If-Match com a ETag do hino (ou \"*\").");
+    }
+
+    /**
+     * Endpoint GET que aponta os hinos possivelmente repetidos do catálogo: mesmo
+     * título e artista com diferenças de acentos, maiúsculas ou espaços, e títulos
+     * quase iguais do mesmo artista. Calculado uma vez por versão do catálogo.
+     * * Rota: /musicas/duplicados (ou /musicas/{grupo}/duplicados)
+     * @return Os grupos de possíveis duplicados, com a versão analisada.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/duplicados", "/{grupo}/duplicados"})
+    public ResponseEntity<RelatorioDuplicados> listarDuplicados(@PathVariable(name = "grupo", required = false) String grupo)
+            throws IOException {
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return comEtag(catalogo.etag(), service.getDuplicados(catalogo));
+    }
+
+    /**
+     * Endpoint GET para acompanhar uma escrita aceita pelo POST /musicas.
+     * * Rota: /musicas/escritas/{id}
+     * @param id Id devolvido na resposta 202.
+     * @return A situação da escrita (PENDENTE, GRAVADA ou FALHOU), ou 404.
+     */
+    @GetMapping("/escritas/{id}")
+    public ResponseEntity<SituacaoEscrita> situacaoDaEscrita(@PathVariable("id") String id) {
+        SituacaoEscrita situacao = service.getSituacaoEscrita(id);
+        return situacao == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(situacao);
+    }
+
+    /**
+     * Endpoint GET para clientes que guardam uma cópia local da lista: devolve só o
+     * que mudou depois da versão que o cliente já tem (o campo "versao" de
+     * /musicas/catalogo ou da resposta anterior, ou o id dos eventos de /musicas/eventos).
+     * Cada alteração substitui, a partir de "inicio", "removidos" hinos pelos
+     * "inseridos", e devem ser aplicadas na ordem. Se "ressincronizar" vier
+     * verdadeiro, a versão saiu do histórico e a lista completa deve ser baixada.
+     * * Rota: /musicas/alteracoes?desde=42
+     * @param desde Versão do catálogo que o cliente possui.
+     * @return Alterações desde essa versão, a versão atual e a quantidade de hinos.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/alteracoes", "/{grupo}/alteracoes"})
+    public ResponseEntity<AlteracoesDesde> alteracoesDesde(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam("desde") long desde) throws IOException {
+        if (desde < 0) {
+            throw new IllegalArgumentException("A versão deve ser zero ou positiva.");
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(service.getAlteracoesDesde(grupo, desde));
+    }
+
+    /**
+     * Endpoint GET (Server-Sent Events) que avisa os clientes quando o catálogo muda,
+     * para que não precisem consultar a lista periodicamente.
+     * Eventos: "hinos-adicionados" (com os hinos novos) e "catalogo-recarregado"
+     * (o cliente deve buscar a lista de novo); o id de cada evento é a versão do catálogo.
+     * Como o EventSource do navegador não envia cabeçalhos, o token do POST /auth/token
+     * também pode ir no parâmetro access_token.
+     * * Rota: /musicas/eventos (ou /musicas/{grupo}/eventos)
+     * @return O fluxo de eventos, ou 503 se o limite de conexões foi atingido.
+     */
+    @GetMapping(value = {"/eventos", "/{grupo}/eventos"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventos(@PathVariable(name = "grupo", required = false) String grupo) {
+        SseEmitter fluxo = service.abrirFluxoAlteracoes(grupo);
+        if (fluxo == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok(fluxo);
     }
 
      /**
      * Endpoint GET para buscar e filtrar hinos de um artista específico.
-     * A filtragem é feita em memória pelo Service, após a leitura da planilha.
-     * * Rota: /musicas/artista/{nomeArtista}
+     * A busca usa o índice de artistas do catálogo em memória (sem acentos e sem
+     * diferenciar maiúsculas).
+     * Aceita os mesmos {@code fields} e {@code formato} de /musicas/todos.
+     * * Rota: /musicas/artista/{nomeArtista}?fields=titulo,duracao
      * @param nomeArtista O nome do artista/grupo (extraído da URL, ex: "MORADA").
      * @return Lista de hinos que correspondem ao artista fornecido.
      * @throws IOException Se a comunicação com a API falhar.
      */
-    @GetMapping("/artista/{nomeArtista}")
-    public List<Hino> buscarPorArtista(@PathVariable("nomeArtista") String nomeArtista) throws IOException{ 
-        return service.getMusicasPorArtista(nomeArtista);
+    @GetMapping({"/artista/{nomeArtista}", "/{grupo}/artista/{nomeArtista}"})
+    public ResponseEntity<byte[]> buscarPorArtista(@PathVariable(name = "grupo", required = false) String grupo,
+            @PathVariable("nomeArtista") String nomeArtista,
+            @RequestParam(name = "fields", required = false) String campos,
+            @RequestParam(name = "formato", required = false) String formato) throws IOException{ 
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return listagem(catalogo, "artista:" + Normalizador.normalizar(nomeArtista),
+            catalogo.artistas().hinosDoArtista(nomeArtista), campos, formato);
+    }
+
+    /**
+     * Endpoint GET de busca textual por título, artista ou quem adicionou o hino.
+     * Ignora acentos e maiúsculas, aceita prefixos (busca enquanto se digita) e
+     * pequenos erros de digitação; os resultados vêm ordenados por relevância.
+     * * Rota: /musicas/busca?q=aline&limite=20
+     * @param q Texto da busca.
+     * @param limite Número máximo de resultados (padrão 20, máximo 100).
+     * @return Lista de hinos encontrados.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/busca", "/{grupo}/busca"})
+    public ResponseEntity<List<Hino>> buscarHinos(@PathVariable(name = "grupo", required = false) String grupo, @RequestParam("q") String q,
+                                  @RequestParam(name = "limite", defaultValue = "20") int limite) throws IOException {
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return comEtag(catalogo.etag(), service.buscarHinos(catalogo, q, Math.min(Math.max(limite, 0), LIMITE_MAXIMO_BUSCA)));
+    }
+
+    /**
+     * Endpoint GET que filtra os hinos por faixa de duração, do mais curto para o
+     * mais longo. As durações aceitam os mesmos formatos da planilha ("3:30",
+     * "4 min", "90s"...); hinos sem duração reconhecível ficam de fora.
+     * * Rota: /musicas/duracao?minimo=3:00&maximo=5:00&limite=100
+     * @param minimo Duração mínima (padrão: sem mínimo).
+     * @param maximo Duração máxima (padrão: sem máximo).
+     * @param limite Número máximo de resultados (padrão 100, máximo 500).
+     * @return Hinos com a duração em segundos.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/duracao", "/{grupo}/duracao"})
+    public ResponseEntity<List<HinoComDuracao>> filtrarPorDuracao(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam(name = "minimo", required = false) String minimo,
+            @RequestParam(name = "maximo", required = false) String maximo,
+            @RequestParam(name = "limite", defaultValue = "100") int limite) throws IOException {
+        int minimoSegundos = minimo == null ? 0 : converterDuracao(minimo, "minimo");
+        int maximoSegundos = maximo == null ? Integer.MAX_VALUE : converterDuracao(maximo, "maximo");
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return comEtag(catalogo.etag(), service.getHinosPorDuracao(catalogo, minimoSegundos, maximoSegundos,
+            Math.min(Math.max(limite, 0), TAMANHO_MAXIMO_PAGINA)));
+    }
+
+    /**
+     * Endpoint GET que sugere um repertório: hinos sorteados cuja soma das durações
+     * fica o mais perto possível da duração do culto, sem passar da tolerância.
+     * A resposta traz a semente usada; repetindo-a, a sugestão se repete.
+     * * Rota: /musicas/repertorio?alvo=30:00&tolerancia=1:00&artista=Harpa%20Crist%C3%A3
+     * @param alvo Duração desejada (até 4 horas).
+     * @param tolerancia Quanto o total pode passar do alvo (padrão 0).
+     * @param artista Restringe a sugestão a um artista (opcional).
+     * @param semente Semente do sorteio dos candidatos (opcional).
+     * @return Hinos escolhidos, com a duração de cada um e o total.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/repertorio", "/{grupo}/repertorio"})
+    public ResponseEntity<Repertorio> sugerirRepertorio(@PathVariable(name = "grupo", required = false) String grupo,
+            @RequestParam("alvo") String alvo,
+            @RequestParam(name = "tolerancia", required = false) String tolerancia,
+            @RequestParam(name = "artista", required = false) String artista,
+            @RequestParam(name = "semente", required = false) Long semente) throws IOException {
+        int alvoSegundos = converterDuracao(alvo, "alvo");
+        int toleranciaSegundos = tolerancia == null ? 0 : converterDuracao(tolerancia, "tolerancia");
+        if (alvoSegundos + toleranciaSegundos > DURACAO_MAXIMA_REPERTORIO) {
+            throw new IllegalArgumentException("O repertório pode ter no máximo 4 horas.");
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(service.sugerirRepertorio(grupo, alvoSegundos, toleranciaSegundos, artista, semente));
+    }
+
+    /**
+     * Endpoint GET que lista os artistas distintos do catálogo com a quantidade
+     * de hinos de cada um, em ordem alfabética.
+     * * Rota: /musicas/artistas
+     * @return Lista de artistas e quantidades.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/artistas", "/{grupo}/artistas"})
+    public ResponseEntity<List<ArtistaResumo>> listarArtistas(@PathVariable(name = "grupo", required = false) String grupo) throws IOException {
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return comEtag(catalogo.etag(), service.getArtistas(catalogo));
+    }
+
+    /**
+     * Endpoint GET que informa a versão e a idade do catálogo mantido em memória.
+     * * Rota: /musicas/catalogo
+     * @return Versão, quantidade de hinos, instante de carga e idade em milissegundos.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    @GetMapping({"/catalogo", "/{grupo}/catalogo"})
+    public EstadoCatalogo estadoDoCatalogo(@PathVariable(name = "grupo", required = false) String grupo) throws IOException {
+        Catalogo catalogo = service.getCatalogo(grupo);
+        return new EstadoCatalogo(
+            catalogo.versao(),
+            catalogo.hinos().size(),
+            catalogo.carregadoEm(),
+            catalogo.idade(Instant.now()).toMillis(),
+            service.isCatalogoAtualizando(grupo)
+        );
+    }
+
+    /**
+     * Endpoint GET que lista os grupos de hinos configurados (hinos.grupos), com a
+     * versão e a quantidade de hinos do catálogo em memória de cada um.
+     * * Rota: /musicas/grupos
+     * @return Grupos na ordem da configuração; o marcado como padrão atende as rotas sem grupo.
+     */
+    @GetMapping("/grupos")
+    public List<GrupoHinos> listarGrupos() {
+        return service.getGrupos();
+    }
+
+    /**
+     * Endpoint GET que mostra as proteções em volta da planilha: estado do
+     * disjuntor, saturação das quotas de leitura e escrita e vagas do bulkhead.
+     * * Rota: /musicas/planilha
+     * @return Estado atual das proteções.
+     */
+    @GetMapping("/planilha")
+    public EstadoPlanilha estadoDaPlanilha() {
+        return service.getEstadoPlanilha();
+    }
+
+    /**
+     * Planilha indisponível (circuito aberto ou quota esgotada) sem nenhum catálogo
+     * em memória para responder: 503 com Retry-After, em vez de 500.
+     */
+    @ExceptionHandler(PlanilhaIndisponivelException.class)
+    public ResponseEntity<String> tratarPlanilhaIndisponivel(PlanilhaIndisponivelException e) {
+        long segundos = Math.max(1, (e.getTentarApos().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(segundos))
+            .body(e.getMessage());
+    }
+
+    /**
+     * A API do Google continuou respondendo 429 ou 5xx depois das novas tentativas:
+     * o problema é temporário e do lado da planilha, então a resposta é 503.
+     */
+    @ExceptionHandler(HttpResponseException.class)
+    public ResponseEntity<String> tratarErroDaPlanilha(HttpResponseException e) throws HttpResponseException {
+        if (e.getStatusCode() != 429 && e.getStatusCode() < 500) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .body("Planilha temporariamente indisponível (status " + e.getStatusCode() + ").");
+    }
+
+    /**
+     * Grupo de hinos que não existe na configuração: 404.
+     */
+    @ExceptionHandler(GrupoNaoEncontradoException.class)
+    public ResponseEntity<String> tratarGrupoNaoEncontrado(GrupoNaoEncontradoException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    /**
+     * Hino que não existe no grupo: 404.
+     */
+    @ExceptionHandler(HinoNaoEncontradoException.class)
+    public ResponseEntity<String> tratarHinoNaoEncontrado(HinoNaoEncontradoException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    /**
+     * If-Match de uma versão antiga do hino: 412, com a ETag atual.
+     */
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<String> tratarVersaoDesatualizada(VersaoDesatualizadaException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(e.getEtagAtual()).body(e.getMessage());
+    }
+
+    /**
+     * POST de um hino que já existe: 409, com o hino existente no corpo.
+     */
+    @ExceptionHandler(HinoDuplicadoException.class)
+    public ResponseEntity<Hino> tratarHinoDuplicado(HinoDuplicadoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getExistente());
+    }
+
+    /**
+     * Hino ainda não gravado ou linha que não pôde ser localizada: 409.
+     */
+    @ExceptionHandler(EdicaoConflitanteException.class)
+    public ResponseEntity<String> tratarEdicaoConflitante(EdicaoConflitanteException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    /**
+     * Parâmetros inválidos (ordenação desconhecida, cursor corrompido...) geram 400.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> tratarParametroInvalido(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Resposta 200 com ETag e Cache-Control. O Spring compara a ETag com o
+     * If-None-Match e responde 304 sem serializar o corpo.
+     * <p>A ETag e o corpo devem vir do mesmo {@link Catalogo}: com duas consultas, uma
+     * versão publicada entre elas iria com a ETag anterior, e o cliente receberia 304
+     * para dados que nunca viu.
+     */
+    private static <T> ResponseEntity<T> comEtag(String etag, T corpo) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CATALOGO).body(corpo);
+    }
+
+    /**
+     * Resposta de uma listagem com o corpo guardado no catálogo (veja
+     * {@link Catalogo#resposta}), sob a chave da rota, projeção e formato.
+     * Listas vazias não são guardadas: nomes inexistentes não ocupam o limite de respostas.
+     */
+    private ResponseEntity<byte[]> listagem(Catalogo catalogo, String rota, List<Hino> hinos,
+            String campos, String formato) {
+        ProjecaoHinos projecao = ProjecaoHinos.de(campos);
+        boolean colunar = converterFormato(formato);
+        String chave = rota + "|" + projecao.chave() + (colunar ? "|colunar" : "");
+        byte[] corpo = hinos.isEmpty()
+            ? serializar(projecao, colunar, catalogo.versao(), hinos)
+            : catalogo.resposta(chave, () -> serializar(projecao, colunar, catalogo.versao(), hinos));
+        return ResponseEntity.ok().eTag(catalogo.etag()).cacheControl(CACHE_CATALOGO)
+            .contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    private byte[] serializar(ProjecaoHinos projecao, boolean colunar, long versao, List<Hino> hinos) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            if (colunar) {
+                projecao.escreverColunar(gerador, versao, hinos);
+            } else {
+                projecao.escreverObjetos(gerador, hinos);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    // true para o formato colunar; sem formato (ou "json"), lista de objetos
+    private static boolean converterFormato(String formato) {
+        if (formato == null || formato.isBlank() || formato.trim().equalsIgnoreCase("json")) {
+            return false;
+        }
+        if (formato.trim().equalsIgnoreCase("colunar")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Formato desconhecido: " + formato + " (use colunar)");
+    }
+
+    private static Ordem converterOrdem(String ordem) {
+        try {
+            return Ordem.valueOf(ordem.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ordenação desconhecida: " + ordem);
+        }
+    }
+
+    private static int converterDuracao(String valor, String parametro) {
+        if (valor.trim().matches("0+(:0+)*")) {
+            return 0;
+        }
+        int segundos = Duracoes.emSegundos(valor);
+        if (segundos == Duracoes.DESCONHECIDA) {
+            throw new IllegalArgumentException("Duração inválida em '" + parametro + "': " + valor);
+        }
+        return segundos;
     }
 }
@@ -0,0 +1,54 @@
+package com.gerenciador.gerenciadrohinos.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Versão do catálogo gravada na réplica local de cada aba.
+ * <p>Permite restaurar, após um reinício, o mesmo número de versão que os
+ * clientes já conhecem.
+ */
+@Entity
+@Table(name = "estado_replica")
+public class EstadoReplica {
+
+    @Id
+    @Column(length = 100)
+    private String aba;
+
+    private long versao;
+
+    private int quantidade;
+
+    // Instante em que a versão foi lida da planilha
+    private Instant carregadoEm;
+
+    public EstadoReplica() {
+    }
+
+    public EstadoReplica(String aba, long versao, int quantidade, Instant carregadoEm) {
+        this.aba = aba;
+        this.versao = versao;
+        this.quantidade = quantidade;
+        this.carregadoEm = carregadoEm;
+    }
+
+    // --- Getters ---
+
+    public String getAba() {
+        return aba;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public Instant getCarregadoEm() {
+        return carregadoEm;
+    }
+}
@@ -0,0 +1,132 @@
+package com.gerenciador.gerenciadrohinos.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Cópia local (H2) de uma linha da planilha de hinos.
+ * <p>A planilha continua sendo a fonte oficial; esta tabela é apenas uma réplica
+ * de leitura, usada para que o catálogo esteja disponível imediatamente após um
+ * reinício e mesmo que a Google Sheets API esteja fora do ar.
+ */
+@Entity
+@Table(name = "hino_replica", indexes = {
+    @Index(name = "idx_hino_replica_artista", columnList = "aba, artista_normalizado"),
+    @Index(name = "idx_hino_replica_titulo", columnList = "aba, titulo_normalizado")
+})
+@IdClass(HinoReplica.Chave.class)
+public class HinoReplica implements Persistable<HinoReplica.Chave> {
+
+    @Id
+    @Column(length = 100)
+    private String aba;
+
+    // Posição do hino no catálogo (0 = primeira linha de dados)
+    @Id
+    private int posicao;
+
+    @Column(length = 500)
+    private String titulo;
+
+    @Column(length = 500)
+    private String artista;
+
+    @Column(length = 50)
+    private String duracao;
+
+    @Column(length = 2000)
+    private String link;
+
+    @Column(length = 200)
+    private String adicionadoPor;
+
+    // Id estável do hino (veja IdentidadeHinos); nulo nas linhas gravadas antes dele existir
+    @Column(name = "id_hino", length = 40)
+    private String idHino;
+
+    @Column(name = "artista_normalizado", length = 500)
+    private String artistaNormalizado;
+
+    @Column(name = "titulo_normalizado", length = 500)
+    private String tituloNormalizado;
+
+    // As linhas são sempre inseridas com chave conhecida: evita um SELECT antes de cada INSERT
+    @Transient
+    private boolean novo = true;
+
+    // --- Construtor Padrão (Necessário para JPA) ---
+    public HinoReplica() {
+    }
+
+    public HinoReplica(String aba, int posicao, Model.Hino hino, String tituloNormalizado, String artistaNormalizado) {
+        this.aba = aba;
+        this.posicao = posicao;
+        this.titulo = hino.titulo();
+        this.artista = hino.artista();
+        this.duracao = hino.duracao();
+        this.link = hino.link();
+        this.adicionadoPor = hino.adicionadoPor();
+        this.idHino = hino.id();
+        this.tituloNormalizado = tituloNormalizado;
+        this.artistaNormalizado = artistaNormalizado;
+    }
+
+    public Model.Hino paraHino() {
+        return new Model.Hino(titulo, artista, duracao, link, adicionadoPor, idHino);
+    }
+
+    @Override
+    public Chave getId() {
+        return new Chave(aba, posicao);
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.novo = false;
+    }
+
+    // --- Getters ---
+
+    public String getAba() {
+        return aba;
+    }
+
+    public int getPosicao() {
+        return posicao;
+    }
+
+    /**
+     * Chave composta da réplica: aba + posição.
+     */
+    public static class Chave implements Serializable {
+        private String aba;
+        private int posicao;
+
+        public Chave() {
+        }
+
+        public Chave(String aba, int posicao) {
+            this.aba = aba;
+            this.posicao = posicao;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && posicao == outra.posicao && Objects.equals(aba, outra.aba);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(aba, posicao);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.gerenciador.gerenciadrohinos.model;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Representa um registro de hino da planilha Google Sheets.
  * (Record é a forma moderna e concisa do Java para POJOs)
@@ -16,6 +19,269 @@ public class Model {
         //Coluna D
         String link,
         //Coluna E
-        String adicionadoPor
+        String adicionadoPor,
+        //Coluna F: identidade estável usada por PUT/DELETE (veja IdentidadeHinos)
+        String id
+        ){
+        /**
+         * Hino sem identidade (ainda não aceito pela fila de escrita, ou lido de
+         * uma linha antiga, sem a coluna F).
+         */
+        public Hino(String titulo, String artista, String duracao, String link, String adicionadoPor) {
+            this(titulo, artista, duracao, link, adicionadoPor, null);
+        }
+    }
+
+    /**
+     * Um grupo de hinos (uma aba da planilha) e a situação do seu catálogo em memória.
+     * Versão 0 indica que a aba ainda não foi lida.
+     */
+    public record GrupoHinos(
+        String nome,
+        boolean padrao,
+        long versao,
+        int quantidade
+        ){}
+
+    /**
+     * Situação do catálogo mantido em memória pelo Service.
+     */
+    public record EstadoCatalogo(
+        long versao,
+        int quantidade,
+        Instant carregadoEm,
+        long idadeMs,
+        boolean atualizando
+        ){}
+
+    /**
+     * Artista distinto do catálogo e a quantidade de hinos cadastrados para ele.
+     */
+    public record ArtistaResumo(
+        String nome,
+        int quantidade
+        ){}
+
+    /**
+     * Critérios de ordenação aceitos pelas rotas de listagem.
+     */
+    public enum Ordem {
+        // Ordem das linhas na planilha
+        INSERCAO,
+        TITULO,
+        // Artista e, dentro do mesmo artista, título
+        ARTISTA
+    }
+
+    /**
+     * Uma página da listagem de hinos.
+     * <p>{@code proximoCursor} é nulo quando não há mais itens.
+     */
+    public record Pagina(
+        List<Hino> itens,
+        int total,
+        long versao,
+        String proximoCursor
+        ){}
+
+    /**
+     * Situação de uma escrita enfileirada pelo POST /musicas.
+     */
+    public enum StatusEscrita {
+        // Aguardando o próximo lote ser gravado na planilha
+        PENDENTE,
+        GRAVADA,
+        // Todas as tentativas falharam; o hino não foi gravado
+        FALHOU
+    }
+
+    /**
+     * Acompanhamento de uma escrita, identificada pelo id devolvido no 202 Accepted.
+     */
+    public record SituacaoEscrita(
+        String id,
+        StatusEscrita status,
+        Hino hino,
+        int tentativas,
+        String erro
+        ){}
+
+    /**
+     * Resultado de cada linha de uma importação em massa (POST /musicas/importacao).
+     */
+    public enum StatusImportacao {
+        GRAVADA,
+        // Já existe no catálogo (ou apareceu antes no mesmo arquivo) um hino com o mesmo título e artista
+        DUPLICADA,
+        // Não passou na validação; não foi enviada à planilha
+        REJEITADA,
+        // Todas as tentativas de gravação do bloco falharam
+        FALHOU
+    }
+
+    /**
+     * Uma linha do relatório da importação em massa.
+     * @param linha Posição da linha entre as linhas de dados do arquivo, a partir de 1.
+     * @param motivo Por que a linha foi rejeitada ou falhou (nulo nas gravadas).
+     */
+    public record ResultadoImportacao(
+        int linha,
+        StatusImportacao status,
+        String titulo,
+        String motivo
+        ){}
+
+    /**
+     * Última linha do relatório da importação em massa.
+     * @param erro Por que a leitura do arquivo parou antes do fim (nulo se leu tudo).
+     */
+    public record ResumoImportacao(
+        int linhas,
+        int gravadas,
+        int duplicadas,
+        int rejeitadas,
+        int falhas,
+        String erro
+        ){}
+
+    /**
+     * Usuário e senha enviados ao POST /auth/token.
+     */
+    public record Credenciais(
+        String username,
+        String password
+        ){}
+
+    /**
+     * Token de acesso devolvido pelo login, enviado depois em "Authorization: Bearer".
+     */
+    public record TokenAcesso(
+        String token,
+        String tipo,
+        Instant expiraEm
+        ){}
+
+    /**
+     * Estado do disjuntor das chamadas à planilha.
+     */
+    public enum EstadoCircuito {
+        FECHADO,
+        // Chamadas recusadas sem chegar à API; o catálogo é servido da última versão boa
+        ABERTO,
+        // Uma chamada de teste liberada para decidir se o circuito fecha
+        MEIO_ABERTO
+    }
+
+    /**
+     * Situação das proteções em volta da planilha, exposta em GET /musicas/planilha.
+     */
+    public record EstadoPlanilha(
+        EstadoCircuito circuito,
+        int falhasSeguidas,
+        Instant abertoAte,
+        LimiteTaxa leitura,
+        LimiteTaxa escrita,
+        int vagasLivres
+        ){}
+
+    /**
+     * Saturação de um limitador de taxa: fichas livres, capacidade (quota por
+     * minuto) e quantas chamadas esperaram ou foram recusadas desde o início.
+     */
+    public record LimiteTaxa(
+        double fichasDisponiveis,
+        int capacidade,
+        double saturacao,
+        long chamadasAtrasadas,
+        long chamadasRecusadas
+        ){}
+
+    public enum TipoAlteracao {
+        // Hinos acrescentados ao final do catálogo (pelo POST ou direto na planilha)
+        HINOS_ADICIONADOS,
+        // A planilha mudou de outra forma: o cliente deve recarregar a lista
+        CATALOGO_RECARREGADO
+    }
+
+    /**
+     * Evento enviado pelo fluxo de alterações (/musicas/eventos). Os hinos só
+     * vêm preenchidos em HINOS_ADICIONADOS.
+     */
+    public record AlteracaoCatalogo(
+        TipoAlteracao tipo,
+        long versao,
+        int quantidade,
+        List<Hino> hinos
+        ){}
+
+    /**
+     * Alteração de uma versão do catálogo em relação à anterior: a partir da
+     * posição {@code inicio}, {@code removidos} hinos saem e {@code inseridos} entram.
+     */
+    public record AlteracaoVersao(
+        long versao,
+        int inicio,
+        int removidos,
+        List<Hino> inseridos
+        ){}
+
+    /**
+     * Resposta de /musicas/alteracoes: as alterações desde a versão informada, na
+     * ordem em que devem ser aplicadas. Com {@code ressincronizar} verdadeiro a
+     * versão não está mais no histórico e a lista completa deve ser baixada.
+     */
+    public record AlteracoesDesde(
+        long desde,
+        long versao,
+        int quantidade,
+        boolean ressincronizar,
+        List<AlteracaoVersao> alteracoes
+        ){}
+
+    /**
+     * Hino acompanhado da duração já convertida em segundos.
+     */
+    public record HinoComDuracao(
+        Hino hino,
+        int segundos
+        ){}
+
+    /**
+     * Sugestão de repertório: hinos cuja soma das durações fica perto do alvo.
+     * A semente permite pedir de novo a mesma sugestão.
+     */
+    public record Repertorio(
+        long versao,
+        int alvoSegundos,
+        int totalSegundos,
+        long semente,
+        List<HinoComDuracao> hinos
+        ){}
+
+    /**
+     * Por que um grupo de hinos foi apontado como possível duplicado.
+     */
+    public enum TipoDuplicidade {
+        // Mesmo título e artista, ignorando acentos, maiúsculas e espaços repetidos
+        MESMA_CHAVE,
+        // Mesmo artista e títulos que diferem só na pontuação ou em uma ou duas letras
+        TITULO_PARECIDO
+    }
+
+    /**
+     * Hinos que parecem ser o mesmo, na ordem do catálogo.
+     */
+    public record GrupoDuplicados(
+        TipoDuplicidade tipo,
+        List<Hino> hinos
+        ){}
+
+    /**
+     * Relatório de possíveis duplicados de uma versão do catálogo (GET /musicas/duplicados).
+     */
+    public record RelatorioDuplicados(
+        long versao,
+        int hinosAnalisados,
+        List<GrupoDuplicados> grupos
         ){}
 }
@@ -1,9 +1,11 @@
 package com.gerenciador.gerenciadrohinos.model;
 
 import jakarta.persistence.*;
+import com.gerenciador.gerenciadrohinos.service.OuvinteAlteracaoUsuario;
 
 
 @Entity
+@EntityListeners(OuvinteAlteracaoUsuario.class) // Esvazia o cache de usuários a cada alteração
 @Table(name = "role")
 public class Role {
 
@@ -1,6 +1,7 @@
 package com.gerenciador.gerenciadrohinos.model;
 
 import jakarta.persistence.*;
+import com.gerenciador.gerenciadrohinos.service.OuvinteAlteracaoUsuario;
 import java.util.Set;
 
 /**
@@ -8,7 +9,8 @@ import java.util.Set;
  * Esta entidade será armazenada no banco de dados H2.
  */
 @Entity
-@Table(name = "system_user")
+@EntityListeners(OuvinteAlteracaoUsuario.class) // Esvazia o cache de usuários a cada alteração
+@Table(name = "`system_user`") // Entre crases: SYSTEM_USER é palavra reservada no H2 2.x
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,11 @@
+package com.gerenciador.gerenciadrohinos.repository;
+
+import com.gerenciador.gerenciadrohinos.model.EstadoReplica;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório da versão gravada na réplica de cada aba.
+ */
+public interface EstadoReplicaRepository extends JpaRepository<EstadoReplica, String> {
+}
@@ -0,0 +1,23 @@
+package com.gerenciador.gerenciadrohinos.repository;
+
+import com.gerenciador.gerenciadrohinos.model.HinoReplica;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repositório da réplica local dos hinos (tabela hino_replica).
+ */
+public interface HinoReplicaRepository extends JpaRepository<HinoReplica, HinoReplica.Chave> {
+
+    // Todas as linhas de uma aba, na ordem da planilha
+    List<HinoReplica> findByAbaOrderByPosicao(String aba);
+
+    @Modifying
+    @Query("delete from HinoReplica h where h.aba = :aba and h.posicao >= :inicio")
+    int apagarAPartirDe(@Param("aba") String aba, @Param("inicio") int inicio);
+}
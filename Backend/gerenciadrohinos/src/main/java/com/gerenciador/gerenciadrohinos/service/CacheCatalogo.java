@@ -0,0 +1,280 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mantém em memória a versão mais recente do {@link Catalogo}.
+ * <p>Segue a estratégia "stale-while-revalidate": enquanto existir uma versão
+ * carregada, as leituras são respondidas imediatamente a partir dela e, se ela
+ * estiver vencida (ou invalidada), uma atualização é disparada em segundo plano.
+ * Somente a primeira leitura, com o cache ainda vazio, espera pela planilha.
+ * <p>Nunca há mais de uma leitura da planilha em andamento ("single-flight"):
+ * requisições simultâneas com o cache vazio aguardam a mesma leitura, em vez de
+ * cada uma disparar a sua.
+ * <p>Hinos aceitos mas ainda não gravados (veja {@link FilaEscrita}) são acrescentados
+ * a cada versão publicada, para que continuem visíveis após uma nova leitura.
+ */
+public class CacheCatalogo {
+
+    /**
+     * Função que lê o catálogo completo da fonte de dados.
+     */
+    @FunctionalInterface
+    public interface Carregador {
+        List<Hino> carregar() throws IOException;
+    }
+
+    private final Carregador carregador;
+    private final Supplier<List<Hino>> pendentes;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final AtomicReference<Catalogo> atual = new AtomicReference<>();
+    // Leitura em andamento, compartilhada por todos que precisam dela (nula se não houver)
+    private final AtomicReference<CompletableFuture<Catalogo>> emAndamento = new AtomicReference<>();
+    private volatile boolean invalidado;
+    // Avisado a cada nova versão publicada
+    private volatile BiConsumer<Catalogo, Catalogo> aoPublicar = (anterior, novo) -> { };
+
+    private final ExecutorService executor;
+
+    public CacheCatalogo(Carregador carregador, Duration ttl, Clock clock) {
+        this(carregador, List::of, ttl, clock);
+    }
+
+    /**
+     * @param pendentes Hinos ainda não gravados na planilha que devem aparecer no catálogo.
+     */
+    public CacheCatalogo(Carregador carregador, Supplier<List<Hino>> pendentes, Duration ttl, Clock clock) {
+        // Uma única thread basta: nunca há mais de uma atualização em andamento.
+        this(carregador, pendentes, ttl, clock, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "catalogo-atualizacao");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * @param executor Onde as leituras da planilha são executadas (por exemplo, em threads virtuais).
+     */
+    public CacheCatalogo(Carregador carregador, Supplier<List<Hino>> pendentes, Duration ttl, Clock clock,
+                         ExecutorService executor) {
+        this.carregador = carregador;
+        this.pendentes = pendentes;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * Retorna o catálogo atual, carregando-o de forma síncrona apenas se
+     * ainda não existir nenhuma versão em memória.
+     */
+    public Catalogo obter() throws IOException {
+        Catalogo catalogo = atual.get();
+        if (catalogo == null) {
+            return aguardar(carregamento());
+        }
+        if (isVencido(catalogo)) {
+            atualizarEmSegundoPlano();
+        }
+        return catalogo;
+    }
+
+    /**
+     * Define quem deve ser avisado a cada nova versão publicada.
+     * <p>O ouvinte recebe a versão anterior (nula na primeira carga) e a nova.
+     * O aviso acontece na thread que publicou a versão, então deve ser rápido.
+     */
+    public void aoPublicar(BiConsumer<Catalogo, Catalogo> ouvinte) {
+        this.aoPublicar = ouvinte;
+    }
+
+    /**
+     * Usa uma versão salva anteriormente enquanto a planilha ainda não foi lida.
+     * Ela é servida imediatamente e renovada como qualquer versão vencida.
+     * @return false se já havia uma versão em memória (a restaurada é descartada).
+     */
+    public boolean restaurar(Catalogo catalogo) {
+        return atual.compareAndSet(null, catalogo);
+    }
+
+    /**
+     * Indica se a versão informada já deveria ter sido renovada (vencida ou invalidada).
+     */
+    public boolean isVencido(Catalogo catalogo) {
+        return invalidado || catalogo.idade(clock.instant()).compareTo(ttl) > 0;
+    }
+
+    /**
+     * Retorna o catálogo em memória sem disparar nenhuma leitura (pode ser nulo).
+     */
+    public Catalogo atual() {
+        return atual.get();
+    }
+
+    public boolean isAtualizando() {
+        return emAndamento.get() != null;
+    }
+
+    /**
+     * Marca a versão atual como desatualizada e agenda uma nova leitura.
+     * Chamado quando a planilha pode ter mudado de forma diferente da prevista
+     * (por exemplo, após gravar ou descartar um lote de escrita).
+     */
+    public void invalidar() {
+        invalidado = true;
+        atualizarEmSegundoPlano();
+    }
+
+    /**
+     * Publica uma nova versão com hinos acrescentados ao final da planilha (ou
+     * aceitos para gravação), atualizando os índices de forma incremental em vez
+     * de reler tudo.
+     */
+    public void registrarAdicionados(List<Hino> novos) {
+        publicar(catalogo -> catalogo == null ? null : catalogo.comAdicionados(novos, catalogo.carregadoEm()));
+    }
+
+    /**
+     * Lê a planilha e publica a nova versão, bloqueando a thread chamadora.
+     */
+    public Catalogo atualizar() throws IOException {
+        invalidado = false;
+        return publicarLeitura(carregador.carregar());
+    }
+
+    /**
+     * Publica uma leitura da planilha feita por fora deste cache (por exemplo, junto
+     * com a de outras abas, veja {@link LeituraEmLote}).
+     * <p>Não desfaz uma invalidação: a leitura pode ter começado antes dela.
+     */
+    public Catalogo publicarLeitura(List<Hino> lidos) {
+        // Os pendentes são consultados no momento da publicação: se um hino for aceito
+        // durante a leitura, a troca atômica falha e a função é reavaliada com ele
+        return publicar(anterior -> {
+            List<Hino> hinos = comPendentes(lidos);
+            return anterior == null
+                ? Catalogo.inicial(hinos, clock.instant())
+                : anterior.proximaVersao(hinos, clock.instant());
+        });
+    }
+
+    // Troca atômica da versão atual, avisando o ouvinte quando o número de versão muda
+    private Catalogo publicar(UnaryOperator<Catalogo> derivar) {
+        while (true) {
+            Catalogo anterior = atual.get();
+            Catalogo novo = derivar.apply(anterior);
+            if (atual.compareAndSet(anterior, novo)) {
+                if (novo != null && (anterior == null || anterior.versao() != novo.versao())) {
+                    aoPublicar.accept(anterior, novo);
+                }
+                return novo;
+            }
+        }
+    }
+
+    private List<Hino> comPendentes(List<Hino> lidos) {
+        List<Hino> naoGravados = pendentes.get();
+        if (naoGravados.isEmpty()) {
+            return lidos;
+        }
+        // Um lote recém-gravado continua pendente até o catálogo ser invalidado: se a
+        // leitura já o trouxe, ele não entra de novo
+        Set<String> idsLidos = new HashSet<>();
+        for (Hino hino : lidos) {
+            if (hino.id() != null) {
+                idsLidos.add(hino.id());
+            }
+        }
+        List<Hino> hinos = new ArrayList<>(lidos.size() + naoGravados.size());
+        hinos.addAll(lidos);
+        for (Hino hino : naoGravados) {
+            if (!idsLidos.contains(hino.id())) {
+                hinos.add(hino);
+            }
+        }
+        return hinos;
+    }
+
+    /**
+     * Agenda uma atualização, a menos que já exista uma em andamento.
+     */
+    public void atualizarEmSegundoPlano() {
+        carregamento();
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Leitura em andamento, ou uma nova se não houver nenhuma.
+     */
+    private CompletableFuture<Catalogo> carregamento() {
+        while (true) {
+            CompletableFuture<Catalogo> existente = emAndamento.get();
+            if (existente != null) {
+                return existente;
+            }
+            CompletableFuture<Catalogo> novo = new CompletableFuture<>();
+            if (emAndamento.compareAndSet(null, novo)) {
+                executor.execute(() -> executar(novo));
+                return novo;
+            }
+        }
+    }
+
+    private void executar(CompletableFuture<Catalogo> futuro) {
+        try {
+            Catalogo catalogo;
+            do {
+                catalogo = atualizar();
+            } while (invalidado);
+            emAndamento.compareAndSet(futuro, null);
+            futuro.complete(catalogo);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("-> Falha ao atualizar o catálogo de hinos: " + e.getMessage());
+            emAndamento.compareAndSet(futuro, null);
+            futuro.completeExceptionally(e);
+        }
+        // Uma invalidação pode ter chegado entre o fim do laço e a liberação da leitura.
+        if (invalidado) {
+            atualizarEmSegundoPlano();
+        }
+    }
+
+    private static Catalogo aguardar(CompletableFuture<Catalogo> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera pelo catálogo interrompida.");
+        }
+    }
+}
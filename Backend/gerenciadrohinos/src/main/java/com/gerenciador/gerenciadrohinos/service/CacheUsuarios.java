@@ -0,0 +1,78 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache limitado dos usuários já carregados do banco (com as suas roles).
+ * <p>Evita uma consulta ao H2 a cada requisição autenticada. As entradas expiram
+ * depois de um tempo e as menos usadas são descartadas quando o limite é
+ * atingido; qualquer alteração em usuários ou roles esvazia o cache
+ * (veja {@link OuvinteAlteracaoUsuario}).
+ * <p>Guarda e devolve cópias: o Spring Security apaga a senha do objeto
+ * autenticado ao fim do login, o que inutilizaria a entrada guardada.
+ */
+@Component
+public class CacheUsuarios implements UserCache {
+
+    private record Entrada(UserDetails usuario, Instant expiraEm) {}
+
+    private final Duration ttl;
+    private final Clock clock = Clock.systemUTC();
+    private final Map<String, Entrada> entradas;
+
+    public CacheUsuarios(@Value("${hinos.autenticacao.cache-usuarios.maximo:1000}") int maximo,
+                         @Value("${hinos.autenticacao.cache-usuarios.ttl-ms:300000}") long ttlMs) {
+        this.ttl = Duration.ofMillis(ttlMs);
+        // Ordem de acesso: a primeira entrada é a usada há mais tempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    @Override
+    public synchronized UserDetails getUserFromCache(String username) {
+        Entrada entrada = entradas.get(username);
+        if (entrada == null) {
+            return null;
+        }
+        if (clock.instant().isAfter(entrada.expiraEm())) {
+            entradas.remove(username);
+            return null;
+        }
+        return copiar(entrada.usuario());
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails usuario) {
+        entradas.put(usuario.getUsername(), new Entrada(copiar(usuario), clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public synchronized void removeUserFromCache(String username) {
+        entradas.remove(username);
+    }
+
+    /**
+     * Descarta todos os usuários guardados.
+     */
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    private static UserDetails copiar(UserDetails usuario) {
+        return User.withUserDetails(usuario).build();
+    }
+}
@@ -0,0 +1,268 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.GrupoDuplicados;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.Ordem;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fotografia imutável do catálogo de hinos lido da planilha.
+ * <p>Cada instância guarda a lista de hinos, o número da versão e o instante
+ * em que foi carregada. Como nunca é alterada depois de criada, pode ser
+ * compartilhada entre todas as requisições sem nenhuma sincronização.
+ */
+public final class Catalogo {
+
+    // Máximo de respostas serializadas guardadas por versão (combinações de rota, projeção e formato)
+    private static final int MAXIMO_RESPOSTAS = 64;
+
+    private final List<Hino> hinos;
+    private final long versao;
+    private final Instant carregadoEm;
+    private final IndiceArtistas indiceArtistas;
+    private final IndiceBusca indiceBusca;
+    // Calculados sob demanda; compartilhados pelas instâncias da mesma versão
+    private final Derivados derivados;
+
+    /**
+     * O que é calculado na primeira vez que é pedido e vale enquanto o conteúdo não
+     * muda. Uma releitura sem alterações só renova o instante de carga e continua
+     * usando os mesmos derivados.
+     */
+    private static final class Derivados {
+        // Ordenações, no máximo uma vez por critério
+        final Map<Ordem, IndiceOrdenacao> ordenacoes = new ConcurrentHashMap<>();
+        // ETag calculada na primeira vez que é pedida
+        volatile String etag;
+        // Durações em segundos, calculadas na primeira consulta por duração
+        volatile IndiceDuracao indiceDuracao;
+        // Hinos por id, montado na primeira consulta por id
+        volatile Map<String, Hino> hinosPorId;
+        // Possíveis duplicados, procurados na primeira vez que o relatório é pedido
+        volatile List<GrupoDuplicados> duplicados;
+        // Corpos de listagens já serializados, por chave (veja resposta())
+        final Map<String, byte[]> respostas = new ConcurrentHashMap<>();
+    }
+
+    private Catalogo(List<Hino> hinos, long versao, Instant carregadoEm,
+                     IndiceArtistas indiceArtistas, IndiceBusca indiceBusca, Derivados derivados) {
+        this.hinos = hinos;
+        this.versao = versao;
+        this.carregadoEm = carregadoEm;
+        this.indiceArtistas = indiceArtistas;
+        this.indiceBusca = indiceBusca;
+        this.derivados = derivados;
+    }
+
+    // Os índices são construídos uma única vez, junto com a versão
+    private static Catalogo novo(List<Hino> hinos, long versao, Instant agora) {
+        List<Hino> copia = List.copyOf(hinos);
+        return new Catalogo(copia, versao, agora, IndiceArtistas.de(copia), IndiceBusca.de(copia), new Derivados());
+    }
+
+    /**
+     * Cria a primeira versão do catálogo.
+     */
+    public static Catalogo inicial(List<Hino> hinos, Instant agora) {
+        return novo(hinos, 1, agora);
+    }
+
+    /**
+     * Recria uma versão já publicada anteriormente (por exemplo, a partir da
+     * réplica local), mantendo o número de versão e o instante de carga originais.
+     */
+    public static Catalogo restaurado(List<Hino> hinos, long versao, Instant carregadoEm) {
+        return novo(hinos, versao, carregadoEm);
+    }
+
+    /**
+     * Deriva o próximo catálogo a partir de uma nova leitura da planilha.
+     * <p>A versão só é incrementada quando o conteúdo mudou; caso contrário
+     * apenas o instante de carga é renovado, e o que já foi calculado para a versão
+     * (ordenações, ETag, respostas serializadas...) continua valendo. Se a leitura apenas acrescentou
+     * linhas ao final, os índices são atualizados de forma incremental.
+     */
+    public Catalogo proximaVersao(List<Hino> novosHinos, Instant agora) {
+        if (hinos.equals(novosHinos)) {
+            return new Catalogo(hinos, versao, agora, indiceArtistas, indiceBusca, derivados);
+        }
+        if (novosHinos.size() > hinos.size() && novosHinos.subList(0, hinos.size()).equals(hinos)) {
+            return comAdicionados(novosHinos.subList(hinos.size(), novosHinos.size()), agora);
+        }
+        return novo(novosHinos, versao + 1, agora);
+    }
+
+    /**
+     * Deriva uma nova versão com hinos acrescentados ao final, sem reconstruir os
+     * índices a partir do zero.
+     */
+    public Catalogo comAdicionados(List<Hino> novos, Instant agora) {
+        if (novos.isEmpty()) {
+            return this;
+        }
+        List<Hino> todos = new ArrayList<>(hinos.size() + novos.size());
+        todos.addAll(hinos);
+        todos.addAll(novos);
+        return new Catalogo(List.copyOf(todos), versao + 1, agora,
+            indiceArtistas.comAdicionados(novos), indiceBusca.comAdicionados(novos), new Derivados());
+    }
+
+    /**
+     * Hinos que esta versão acrescentou ao final de uma versão anterior.
+     * @return Os hinos novos, ou nulo se a diferença não for apenas um acréscimo
+     *         (linhas alteradas, removidas ou reordenadas).
+     */
+    public List<Hino> adicionadosDesde(Catalogo anterior) {
+        List<Hino> antigos = anterior.hinos;
+        if (hinos.size() < antigos.size() || !hinos.subList(0, antigos.size()).equals(antigos)) {
+            return null;
+        }
+        return hinos.subList(antigos.size(), hinos.size());
+    }
+
+    public List<Hino> hinos() {
+        return hinos;
+    }
+
+    public IndiceArtistas artistas() {
+        return indiceArtistas;
+    }
+
+    /**
+     * Busca textual sobre título, artista e "adicionado por" (veja {@link IndiceBusca}).
+     */
+    public List<Hino> buscar(String consulta, int limite) {
+        return indiceBusca.buscar(hinos, consulta, limite);
+    }
+
+    /**
+     * Ordenação do catálogo pelo critério informado, calculada na primeira vez
+     * que é pedida e reaproveitada até a próxima versão.
+     */
+    public IndiceOrdenacao ordenacao(Ordem ordem) {
+        return derivados.ordenacoes.computeIfAbsent(ordem, o -> IndiceOrdenacao.de(hinos, o));
+    }
+
+    /**
+     * Hinos a partir do índice {@code inicio} da ordenação, até {@code tamanho} itens.
+     */
+    public List<Hino> fatia(Ordem ordem, int inicio, int tamanho) {
+        IndiceOrdenacao ordenacao = ordenacao(ordem);
+        int fim = Math.min(ordenacao.tamanho(), inicio + tamanho);
+        List<Hino> itens = new ArrayList<>(Math.max(fim - inicio, 0));
+        for (int i = inicio; i < fim; i++) {
+            itens.add(hinos.get(ordenacao.posicao(i)));
+        }
+        return itens;
+    }
+
+    /**
+     * Todos os hinos na ordem pedida (a ordem de inserção não precisa de índice).
+     */
+    public List<Hino> emOrdem(Ordem ordem) {
+        if (ordem == Ordem.INSERCAO) {
+            return hinos;
+        }
+        return fatia(ordem, 0, hinos.size());
+    }
+
+    /**
+     * Corpo de resposta já serializado a partir desta versão, gerado na primeira vez
+     * que a chave é pedida e reaproveitado até a próxima versão, sem serializar de novo.
+     * <p>Passado o limite de respostas por versão, as novas chaves são serializadas a
+     * cada pedido, sem ocupar memória.
+     * @param chave Identifica a rota, os parâmetros que mudam o corpo e o formato.
+     * @return O array guardado: não deve ser alterado por quem o recebe.
+     */
+    public byte[] resposta(String chave, Supplier<byte[]> serializar) {
+        byte[] corpo = derivados.respostas.get(chave);
+        if (corpo != null) {
+            return corpo;
+        }
+        if (derivados.respostas.size() >= MAXIMO_RESPOSTAS) {
+            return serializar.get();
+        }
+        return derivados.respostas.computeIfAbsent(chave, c -> serializar.get());
+    }
+
+    /**
+     * Durações dos hinos em segundos e a ordenação por duração, calculadas na
+     * primeira vez que são pedidas e reaproveitadas até a próxima versão.
+     */
+    public IndiceDuracao duracoes() {
+        IndiceDuracao indice = derivados.indiceDuracao;
+        if (indice == null) {
+            indice = IndiceDuracao.de(hinos);
+            derivados.indiceDuracao = indice;
+        }
+        return indice;
+    }
+
+    /**
+     * Hino com o id informado, ou nulo se não houver nesta versão.
+     */
+    public Hino hinoPorId(String id) {
+        Map<String, Hino> indice = derivados.hinosPorId;
+        if (indice == null) {
+            indice = new HashMap<>(hinos.size() * 2);
+            for (Hino hino : hinos) {
+                if (hino.id() != null) {
+                    indice.putIfAbsent(hino.id(), hino);
+                }
+            }
+            derivados.hinosPorId = indice;
+        }
+        return indice.get(id);
+    }
+
+    /**
+     * Grupos de hinos possivelmente repetidos (veja {@link DetectorDuplicados}),
+     * calculados na primeira vez que são pedidos e reaproveitados até a próxima versão.
+     */
+    public List<GrupoDuplicados> duplicados() {
+        List<GrupoDuplicados> grupos = derivados.duplicados;
+        if (grupos == null) {
+            grupos = DetectorDuplicados.analisar(hinos);
+            derivados.duplicados = grupos;
+        }
+        return grupos;
+    }
+
+    public long versao() {
+        return versao;
+    }
+
+    /**
+     * ETag forte das respostas geradas a partir desta versão.
+     * <p>Combina o número da versão com um resumo do conteúdo: se a numeração
+     * recomeçar (por exemplo, com a réplica local apagada), um cliente com uma
+     * cópia antiga não recebe 304 por engano.
+     */
+    public String etag() {
+        String valor = derivados.etag;
+        if (valor == null) {
+            valor = "\"" + versao + "-" + Integer.toHexString(hinos.hashCode()) + "\"";
+            derivados.etag = valor;
+        }
+        return valor;
+    }
+
+    public Instant carregadoEm() {
+        return carregadoEm;
+    }
+
+    /**
+     * Tempo decorrido desde que esta versão foi lida da planilha.
+     */
+    public Duration idade(Instant agora) {
+        return Duration.between(carregadoEm, agora);
+    }
+}
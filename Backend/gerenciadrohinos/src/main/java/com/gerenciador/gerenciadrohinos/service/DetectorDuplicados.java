@@ -0,0 +1,124 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.GrupoDuplicados;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.TipoDuplicidade;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Procura hinos possivelmente repetidos no catálogo (relatório de /musicas/duplicados).
+ * <p>Os hinos são agrupados uma única vez pela chave de título e artista normalizados
+ * ({@link TipoDuplicidade#MESMA_CHAVE}). Depois, um representante de cada chave é
+ * comparado só com os títulos do mesmo artista e de tamanho parecido (a lista é
+ * ordenada por tamanho), pela mesma distância de edição da busca
+ * ({@link TipoDuplicidade#TITULO_PARECIDO}); nunca todos os pares do catálogo.
+ * <p>Títulos iguais de artistas diferentes não são apontados: são, em geral,
+ * versões diferentes do mesmo hino.
+ */
+final class DetectorDuplicados {
+
+    // Abaixo deste tamanho, só títulos iguais a menos da pontuação são parecidos
+    private static final int TAMANHO_MINIMO_APROXIMADO = 4;
+    private static final int DISTANCIA_MAXIMA = 2;
+
+    private DetectorDuplicados() {
+    }
+
+    static List<GrupoDuplicados> analisar(List<Hino> hinos) {
+        Map<String, List<Hino>> porChave = new LinkedHashMap<>();
+        Map<String, Integer> posicaoDaChave = new HashMap<>();
+        for (int i = 0; i < hinos.size(); i++) {
+            Hino hino = hinos.get(i);
+            if (hino.titulo() == null || hino.titulo().isBlank()) {
+                continue;
+            }
+            String chave = ImportacaoHinos.chave(hino);
+            porChave.computeIfAbsent(chave, c -> new ArrayList<>()).add(hino);
+            posicaoDaChave.putIfAbsent(chave, i);
+        }
+
+        List<GrupoDuplicados> grupos = new ArrayList<>();
+        Map<String, List<Titulo>> porArtista = new HashMap<>();
+        porChave.forEach((chave, iguais) -> {
+            if (iguais.size() > 1) {
+                grupos.add(new GrupoDuplicados(TipoDuplicidade.MESMA_CHAVE, List.copyOf(iguais)));
+            }
+            Hino primeiro = iguais.get(0);
+            porArtista.computeIfAbsent(Normalizador.normalizar(primeiro.artista()), a -> new ArrayList<>())
+                .add(new Titulo(String.join(" ", IndiceBusca.tokenizar(primeiro.titulo())),
+                    posicaoDaChave.get(chave), iguais));
+        });
+
+        List<List<Titulo>> parecidos = new ArrayList<>();
+        for (List<Titulo> titulos : porArtista.values()) {
+            if (titulos.size() > 1) {
+                parecidos.addAll(parecidos(titulos));
+            }
+        }
+        // Na ordem em que o primeiro hino de cada grupo aparece no catálogo
+        parecidos.sort(Comparator.comparingInt(grupo -> grupo.get(0).posicao()));
+        for (List<Titulo> grupo : parecidos) {
+            List<Hino> membros = new ArrayList<>();
+            grupo.forEach(titulo -> membros.addAll(titulo.hinos()));
+            grupos.add(new GrupoDuplicados(TipoDuplicidade.TITULO_PARECIDO, List.copyOf(membros)));
+        }
+        return List.copyOf(grupos);
+    }
+
+    // Grupos de títulos parecidos de um mesmo artista (cada grupo ordenado pela posição no catálogo)
+    private static List<List<Titulo>> parecidos(List<Titulo> titulos) {
+        titulos.sort(Comparator.comparingInt(titulo -> titulo.texto().length()));
+        int[] pai = new int[titulos.size()];
+        for (int i = 0; i < pai.length; i++) {
+            pai[i] = i;
+        }
+        for (int i = 0; i < titulos.size(); i++) {
+            String a = titulos.get(i).texto();
+            for (int j = i + 1; j < titulos.size(); j++) {
+                String b = titulos.get(j).texto();
+                if (b.length() - a.length() > DISTANCIA_MAXIMA) {
+                    break;
+                }
+                // Mesmo limite da busca: uma letra nos títulos curtos, duas a partir de 8
+                int maximo = a.length() < TAMANHO_MINIMO_APROXIMADO ? 0 : a.length() >= 8 ? 2 : 1;
+                if (IndiceBusca.distancia(a, b, maximo) <= maximo) {
+                    pai[raiz(pai, j)] = raiz(pai, i);
+                }
+            }
+        }
+
+        Map<Integer, List<Titulo>> componentes = new LinkedHashMap<>();
+        for (int i = 0; i < titulos.size(); i++) {
+            componentes.computeIfAbsent(raiz(pai, i), r -> new ArrayList<>()).add(titulos.get(i));
+        }
+        List<List<Titulo>> grupos = new ArrayList<>();
+        for (List<Titulo> componente : componentes.values()) {
+            if (componente.size() > 1) {
+                componente.sort(Comparator.comparingInt(Titulo::posicao));
+                grupos.add(componente);
+            }
+        }
+        return grupos;
+    }
+
+    private static int raiz(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]];
+            i = pai[i];
+        }
+        return i;
+    }
+
+    // Título sem acentos nem pontuação, com os hinos da sua chave
+    private record Titulo(
+        String texto,
+        int posicao,
+        List<Hino> hinos
+    ){}
+}
@@ -0,0 +1,102 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoCircuito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Disjuntor ("circuit breaker") das chamadas à planilha.
+ * <p>Depois de um número de falhas seguidas, o circuito abre e as chamadas são
+ * recusadas imediatamente, sem chegar à API, enquanto o catálogo continua sendo
+ * servido da última versão boa em memória. Passado o tempo de abertura, uma única
+ * chamada de teste é liberada (meio aberto): se der certo o circuito fecha, se
+ * falhar ele abre de novo.
+ */
+public class Disjuntor {
+
+    private final int limiteFalhas;
+    private final Duration tempoAberto;
+    private final Clock clock;
+
+    private EstadoCircuito estado = EstadoCircuito.FECHADO;
+    private int falhasSeguidas;
+    private Instant abertoAte = Instant.MIN;
+    private boolean testeEmAndamento;
+
+    /**
+     * @param limiteFalhas Falhas seguidas que abrem o circuito.
+     * @param tempoAberto Tempo que o circuito fica aberto antes de uma chamada de teste.
+     */
+    public Disjuntor(int limiteFalhas, Duration tempoAberto, Clock clock) {
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAberto = tempoAberto;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifica se uma chamada pode ser feita agora.
+     * @throws PlanilhaIndisponivelException Se o circuito estiver aberto.
+     */
+    public synchronized void verificar() throws PlanilhaIndisponivelException {
+        if (estado == EstadoCircuito.FECHADO) {
+            return;
+        }
+        Instant agora = clock.instant();
+        if (estado == EstadoCircuito.ABERTO && !agora.isBefore(abertoAte)) {
+            estado = EstadoCircuito.MEIO_ABERTO;
+            System.out.println("-> Circuito da planilha meio aberto: liberando uma chamada de teste.");
+        }
+        if (estado == EstadoCircuito.MEIO_ABERTO && !testeEmAndamento) {
+            testeEmAndamento = true;
+            return;
+        }
+        Duration espera = Duration.between(agora, abertoAte);
+        throw new PlanilhaIndisponivelException("Planilha temporariamente indisponível (circuito aberto).",
+            espera.isNegative() ? tempoAberto : espera);
+    }
+
+    public synchronized void registrarSucesso() {
+        if (estado != EstadoCircuito.FECHADO) {
+            System.out.println("-> Circuito da planilha fechado.");
+        }
+        estado = EstadoCircuito.FECHADO;
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+    }
+
+    public synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == EstadoCircuito.MEIO_ABERTO || falhasSeguidas >= limiteFalhas) {
+            if (estado != EstadoCircuito.ABERTO) {
+                System.err.println("-> Circuito da planilha aberto após " + falhasSeguidas + " falha(s) seguida(s).");
+            }
+            estado = EstadoCircuito.ABERTO;
+            abertoAte = clock.instant().plus(tempoAberto);
+            testeEmAndamento = false;
+        }
+    }
+
+    /**
+     * Devolve a chamada de teste sem resultado (ela não chegou a ser feita).
+     */
+    public synchronized void liberarTeste() {
+        testeEmAndamento = false;
+    }
+
+    public synchronized EstadoCircuito getEstado() {
+        return estado;
+    }
+
+    public synchronized int getFalhasSeguidas() {
+        return falhasSeguidas;
+    }
+
+    /**
+     * Até quando o circuito fica aberto (nulo se não estiver aberto).
+     */
+    public synchronized Instant getAbertoAte() {
+        return estado == EstadoCircuito.ABERTO ? abertoAte : null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converte a coluna de duração da planilha (texto livre) em segundos.
+ * <p>Formatos aceitos: "m:ss" e "h:mm:ss" (inclusive no meio de um texto, como
+ * "aprox. 4:30"), unidades por extenso ou abreviadas ("5 min", "4m30s",
+ * "1h 5min", "4'30\"", "90 seg") e um número sozinho, entendido como minutos
+ * ("5" ou "4,5"). O que não puder ser interpretado vira {@link #DESCONHECIDA}.
+ * <p>Células que a planilha guardou como hora chegam como número de série (veja
+ * {@link #deNumeroDeSerie}) e são convertidas para texto antes de chegar aqui.
+ */
+public final class Duracoes {
+
+    // Valor devolvido para durações vazias ou que não puderam ser interpretadas
+    public static final int DESCONHECIDA = -1;
+
+    // Nenhum hino dura um dia: valores maiores são erro de digitação
+    private static final int MAXIMO_SEGUNDOS = 24 * 60 * 60;
+
+    private static final Pattern RELOGIO = Pattern.compile("(\\d+):(\\d{1,2})(?::(\\d{1,2}))?");
+    private static final Pattern QUANTIDADE = Pattern.compile(
+        "(\\d+(?:[.,]\\d+)?)\\s*(horas|hora|hrs|hr|h|minutos|minuto|mins|min|m|segundos|segundo|segs|seg|s|''|'|\")?");
+
+    private Duracoes() {
+    }
+
+    /**
+     * Duração em segundos, ou {@link #DESCONHECIDA}.
+     */
+    public static int emSegundos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return DESCONHECIDA;
+        }
+        String valor = texto.trim().toLowerCase(Locale.ROOT);
+
+        Matcher relogio = RELOGIO.matcher(valor);
+        if (relogio.find()) {
+            long primeiro = Long.parseLong(relogio.group(1));
+            long segundo = Long.parseLong(relogio.group(2));
+            if (relogio.group(3) == null) {
+                return segundo < 60 ? limitar(primeiro * 60 + segundo) : DESCONHECIDA;
+            }
+            long terceiro = Long.parseLong(relogio.group(3));
+            return segundo < 60 && terceiro < 60 ? limitar(primeiro * 3600 + segundo * 60 + terceiro) : DESCONHECIDA;
+        }
+
+        Matcher quantidade = QUANTIDADE.matcher(valor);
+        double total = 0;
+        int encontrados = 0;
+        // Número sem unidade: minutos se for o primeiro ("5"), segundos depois de minutos ("4m30")
+        String unidadeAnterior = null;
+        while (quantidade.find()) {
+            double numero = Double.parseDouble(quantidade.group(1).replace(',', '.'));
+            String unidade = quantidade.group(2);
+            if (unidade == null) {
+                unidade = unidadeAnterior != null && unidadeAnterior.startsWith("m") ? "s" : "m";
+            }
+            total += numero * multiplicador(unidade);
+            unidadeAnterior = unidade;
+            encontrados++;
+        }
+        return encontrados == 0 ? DESCONHECIDA : limitar(Math.round(total));
+    }
+
+    /**
+     * Texto da duração de uma célula numérica, como a API devolve com
+     * {@code valueRenderOption=UNFORMATTED_VALUE} e {@code dateTimeRenderOption=SERIAL_NUMBER}.
+     * <p>Valores menores que 1 são horas, em fração de dia. Como as linhas são gravadas
+     * com USER_ENTERED, um "4:30" (minutos e segundos) digitado na planilha ou enviado
+     * pela API vira a hora 4:30:00: sem segundos, horas e minutos são lidos como
+     * minutos e segundos ("4:30"). Com segundos, a hora vale como está ("0:04:30").
+     * Valores a partir de 1 são números digitados (minutos, como "5"), devolvidos como texto.
+     */
+    public static String deNumeroDeSerie(double valor) {
+        if (valor <= 0 || valor >= 1) {
+            return BigDecimal.valueOf(valor).stripTrailingZeros().toPlainString();
+        }
+        int segundos = (int) Math.round(valor * 24 * 60 * 60);
+        int horas = segundos / 3600;
+        int minutos = segundos / 60 % 60;
+        if (segundos % 60 == 0) {
+            return horas + ":" + String.format("%02d", minutos);
+        }
+        return horas + ":" + String.format("%02d:%02d", minutos, segundos % 60);
+    }
+
+    private static int multiplicador(String unidade) {
+        if (unidade.startsWith("h")) {
+            return 3600;
+        }
+        if (unidade.startsWith("m") || unidade.equals("'")) {
+            return 60;
+        }
+        return 1;
+    }
+
+    private static int limitar(long segundos) {
+        return segundos > 0 && segundos <= MAXIMO_SEGUNDOS ? (int) segundos : DESCONHECIDA;
+    }
+}
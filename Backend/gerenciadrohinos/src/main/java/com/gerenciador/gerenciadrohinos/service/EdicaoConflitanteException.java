@@ -0,0 +1,13 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+/**
+ * A linha do hino não pode ser editada agora: ainda não foi gravada na planilha,
+ * ou a planilha mudou de um jeito que impede localizar a linha com segurança.
+ * Vira 409 (Conflict).
+ */
+public class EdicaoConflitanteException extends RuntimeException {
+
+    public EdicaoConflitanteException(String mensagem) {
+        super(mensagem);
+    }
+}
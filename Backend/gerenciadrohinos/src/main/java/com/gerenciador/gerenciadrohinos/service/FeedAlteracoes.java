@@ -0,0 +1,167 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.gerenciador.gerenciadrohinos.model.Model.AlteracaoCatalogo;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.TipoAlteracao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fluxo de alterações do catálogo (Server-Sent Events) para os clientes
+ * conectados em /musicas/eventos (ou /musicas/{grupo}/eventos).
+ * <p>Cada nova versão publicada vira um evento pequeno: os hinos acrescentados
+ * ao final, quando a diferença é só essa, ou um aviso de que o catálogo foi
+ * recarregado, com a nova versão. O id do evento é o número da versão. Cada
+ * cliente recebe só os eventos do grupo de hinos em que se conectou.
+ * <p>As conexões ficam abertas em modo assíncrono no Tomcat, sem ocupar uma
+ * thread cada. Uma única thread serializa o evento uma vez e o repassa a todas
+ * as conexões, e também envia um comentário periódico (heartbeat) que mantém a
+ * conexão viva em proxies e descobre os clientes que já foram embora.
+ */
+@Component
+public class FeedAlteracoes {
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maximoConexoes;
+    private final int maximoHinosPorEvento;
+
+    // Conexões abertas, por grupo de hinos
+    private final Map<String, Set<SseEmitter>> conexoes = new ConcurrentHashMap<>();
+    // Envio dos eventos e do heartbeat, sempre fora da thread que publicou a versão
+    private final ScheduledExecutorService envio = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "feed-alteracoes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FeedAlteracoes(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${hinos.eventos.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${hinos.eventos.heartbeat-ms:20000}") long heartbeatMs,
+                          @Value("${hinos.eventos.maximo-conexoes:1000}") int maximoConexoes,
+                          @Value("${hinos.eventos.maximo-hinos-por-evento:100}") int maximoHinosPorEvento) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maximoConexoes = maximoConexoes;
+        this.maximoHinosPorEvento = maximoHinosPorEvento;
+        envio.scheduleWithFixedDelay(this::enviarHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        Gauge.builder("hinos.eventos.conexoes", this, FeedAlteracoes::getConexoes)
+            .description("Clientes conectados ao fluxo de alterações do catálogo")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Abre uma nova conexão com o fluxo de um grupo.
+     * @return A conexão, ou nulo se o limite de conexões simultâneas foi atingido.
+     */
+    public SseEmitter conectar(String grupo) {
+        if (getConexoes() >= maximoConexoes) {
+            return null;
+        }
+        Set<SseEmitter> doGrupo = conexoes.computeIfAbsent(grupo, g -> new CopyOnWriteArraySet<>());
+        SseEmitter conexao = new SseEmitter(timeoutMs);
+        conexao.onCompletion(() -> doGrupo.remove(conexao));
+        conexao.onTimeout(conexao::complete);
+        conexao.onError(erro -> doGrupo.remove(conexao));
+        doGrupo.add(conexao);
+        return conexao;
+    }
+
+    /**
+     * Ouvinte de {@link CacheCatalogo#aoPublicar}: transforma a troca de versão do
+     * catálogo de um grupo em evento.
+     */
+    public void aoPublicar(String grupo, Catalogo anterior, Catalogo novo) {
+        Set<SseEmitter> doGrupo = conexoes.get(grupo);
+        if (anterior == null || doGrupo == null || doGrupo.isEmpty()) {
+            return;
+        }
+        List<Hino> adicionados = novo.adicionadosDesde(anterior);
+        AlteracaoCatalogo alteracao = adicionados != null && !adicionados.isEmpty()
+                && adicionados.size() <= maximoHinosPorEvento
+            ? new AlteracaoCatalogo(TipoAlteracao.HINOS_ADICIONADOS, novo.versao(), novo.hinos().size(), List.copyOf(adicionados))
+            : new AlteracaoCatalogo(TipoAlteracao.CATALOGO_RECARREGADO, novo.versao(), novo.hinos().size(), List.of());
+        envio.execute(() -> enviar(doGrupo, alteracao));
+    }
+
+    public int getConexoes() {
+        int total = 0;
+        for (Set<SseEmitter> doGrupo : conexoes.values()) {
+            total += doGrupo.size();
+        }
+        return total;
+    }
+
+    private void enviar(Set<SseEmitter> doGrupo, AlteracaoCatalogo alteracao) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(alteracao);
+        } catch (JsonProcessingException e) {
+            System.err.println("-> Falha ao serializar o evento do catálogo: " + e.getMessage());
+            return;
+        }
+        // O evento é montado uma única vez e repassado a todas as conexões
+        Set<DataWithMediaType> evento = SseEmitter.event()
+            .id(String.valueOf(alteracao.versao()))
+            .name(alteracao.tipo().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+            .data(json, MediaType.APPLICATION_JSON)
+            .build();
+        for (SseEmitter conexao : doGrupo) {
+            enviar(doGrupo, conexao, evento);
+        }
+    }
+
+    private void enviarHeartbeat() {
+        if (getConexoes() == 0) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+        for (Set<SseEmitter> doGrupo : conexoes.values()) {
+            for (SseEmitter conexao : doGrupo) {
+                enviar(doGrupo, conexao, heartbeat);
+            }
+        }
+    }
+
+    private void enviar(Set<SseEmitter> doGrupo, SseEmitter conexao, Set<DataWithMediaType> evento) {
+        try {
+            conexao.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: a conexão é descartada
+            doGrupo.remove(conexao);
+            conexao.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+        for (Set<SseEmitter> doGrupo : conexoes.values()) {
+            doGrupo.forEach(SseEmitter::complete);
+        }
+        conexoes.clear();
+    }
+}
@@ -0,0 +1,364 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.SituacaoEscrita;
+import com.gerenciador.gerenciadrohinos.model.Model.StatusEscrita;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fila de escrita "write-behind" para os hinos adicionados pela API.
+ * <p>Os hinos recebidos dentro de uma janela curta são agrupados e gravados na
+ * planilha em uma única chamada de {@code append} com várias linhas. Cada escrita
+ * recebe um id de acompanhamento e um {@link CompletableFuture} que é concluído
+ * quando o lote é gravado (ou quando todas as tentativas falham).
+ * <p>Se um lote falhar, ele é tentado novamente com espera exponencial. Antes de
+ * cada nova tentativa a planilha é consultada: se as linhas já estiverem lá (a
+ * falha ocorreu depois de a API ter aplicado a escrita), o lote é dado como
+ * gravado, evitando linhas duplicadas.
+ * <p>Cada hino aceito recebe um id novo ({@link IdentidadeHinos#novoId()}),
+ * gravado na coluna F; um id enviado pelo cliente é descartado.
+ * <p>Um bloco de hinos enfileirado de uma vez (veja {@link #enfileirarTodos}) é
+ * gravado em um único 'append', mesmo que passe do tamanho máximo do lote.
+ */
+public class FilaEscrita {
+
+    // Quantas linhas antes do fim conhecido da aba são examinadas ao procurar um lote já gravado
+    private static final int MARGEM_VERIFICACAO = 50;
+    // Quantidade de escritas concluídas mantidas para consulta pelo id
+    private static final int HISTORICO_MAXIMO = 10_000;
+
+    /**
+     * Uma escrita aguardando (ou já processada pela) fila.
+     */
+    public static final class Escrita {
+        private final String id = UUID.randomUUID().toString();
+        private final Hino hino;
+        // Escritas do mesmo bloco a partir desta (inclusive), que devem ir no mesmo 'append'
+        private final int restantesNoBloco;
+        private final CompletableFuture<Hino> futuro = new CompletableFuture<>();
+        private volatile StatusEscrita status = StatusEscrita.PENDENTE;
+        private volatile int tentativas;
+        private volatile String erro;
+
+        private Escrita(Hino hino, int restantesNoBloco) {
+            this.hino = IdentidadeHinos.comId(hino, IdentidadeHinos.novoId());
+            this.restantesNoBloco = restantesNoBloco;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public Hino hino() {
+            return hino;
+        }
+
+        public CompletableFuture<Hino> futuro() {
+            return futuro;
+        }
+
+        public SituacaoEscrita situacao() {
+            return new SituacaoEscrita(id, status, hino, tentativas, erro);
+        }
+    }
+
+    /**
+     * Recebe os eventos da fila, para manter o catálogo em memória coerente.
+     */
+    public interface Ouvinte {
+        /**
+         * Chamado ao aceitar hinos, enquanto a fila ainda está bloqueada: assim
+         * nenhuma leitura de {@link #hinosPendentes()} acontece entre as duas coisas.
+         */
+        void aoEnfileirar(List<Hino> hinos);
+
+        void aoGravar(List<Hino> hinos);
+
+        void aoFalhar(List<Hino> hinos);
+    }
+
+    private final HinoSource hinoSource;
+    private final String aba;
+    private final IntSupplier linhasConhecidas;
+    private final Duration janela;
+    private final int tamanhoMaximoLote;
+    private final int maximoTentativas;
+    private final Duration esperaInicial;
+    private final Ouvinte ouvinte;
+
+    // Escritas ainda não gravadas, na ordem de chegada
+    private final List<Escrita> pendentes = new ArrayList<>();
+    // Lote em gravação (continua visível como pendente até o ouvinte ser avisado do resultado)
+    private List<Escrita> emGravacao = List.of();
+    private boolean gravacaoAgendada;
+
+    private final Map<String, Escrita> historico = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Escrita> maisAntiga) {
+            return size() > HISTORICO_MAXIMO;
+        }
+    };
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "escrita-lote");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param linhasConhecidas Quantidade de linhas de dados da aba na última leitura; a
+     *                         conferência antes de repetir um lote lê só a partir dali.
+     */
+    public FilaEscrita(HinoSource hinoSource, String aba, IntSupplier linhasConhecidas, Duration janela,
+                       int tamanhoMaximoLote, int maximoTentativas, Duration esperaInicial, Ouvinte ouvinte) {
+        this.hinoSource = hinoSource;
+        this.aba = aba;
+        this.linhasConhecidas = linhasConhecidas;
+        this.janela = janela;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicial = esperaInicial;
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Enfileira um hino para gravação no próximo lote.
+     */
+    public synchronized Escrita enfileirar(Hino hino) {
+        Escrita escrita = new Escrita(hino, 1);
+        pendentes.add(escrita);
+        historico.put(escrita.id, escrita);
+        ouvinte.aoEnfileirar(List.of(escrita.hino));
+
+        if (pendentes.size() >= tamanhoMaximoLote) {
+            agendarGravacao(0);
+        } else {
+            agendarGravacao(janela.toMillis());
+        }
+        return escrita;
+    }
+
+    /**
+     * Enfileira um hino, a menos que já exista um igual.
+     * <p>A consulta acontece sob o mesmo bloqueio que aceita o hino (e que avisa o
+     * {@link Ouvinte}), então dois pedidos iguais ao mesmo tempo não passam os dois.
+     * @param existente Devolve o hino igual já aceito, ou nulo se não houver.
+     * @throws HinoDuplicadoException Se já existir um hino igual.
+     */
+    public synchronized Escrita enfileirarSeNovo(Hino hino, UnaryOperator<Hino> existente) {
+        Hino igual = existente.apply(hino);
+        if (igual != null) {
+            throw new HinoDuplicadoException(igual);
+        }
+        return enfileirar(hino);
+    }
+
+    /**
+     * Enfileira um bloco de hinos para gravação imediata em um único 'append'
+     * (usado pela importação em massa, que já agrupa as linhas).
+     * @return Uma escrita por hino, na mesma ordem.
+     */
+    public synchronized List<Escrita> enfileirarTodos(List<Hino> hinos) {
+        List<Escrita> escritas = new ArrayList<>(hinos.size());
+        for (int i = 0; i < hinos.size(); i++) {
+            Escrita escrita = new Escrita(hinos.get(i), hinos.size() - i);
+            pendentes.add(escrita);
+            escritas.add(escrita);
+        }
+        // O bloco não fica no histórico de consulta por id: o resultado vai no relatório da importação
+        ouvinte.aoEnfileirar(escritas.stream().map(Escrita::hino).toList());
+        agendarGravacao(0);
+        return escritas;
+    }
+
+    /**
+     * Hinos aceitos pela fila que ainda não foram confirmados na planilha.
+     */
+    public synchronized List<Hino> hinosPendentes() {
+        List<Hino> hinos = new ArrayList<>(emGravacao.size() + pendentes.size());
+        emGravacao.forEach(escrita -> hinos.add(escrita.hino));
+        pendentes.forEach(escrita -> hinos.add(escrita.hino));
+        return hinos;
+    }
+
+    /**
+     * Situação de uma escrita pelo id de acompanhamento (nulo se desconhecido).
+     */
+    public synchronized SituacaoEscrita situacao(String id) {
+        Escrita escrita = historico.get(id);
+        return escrita == null ? null : escrita.situacao();
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void agendarGravacao(long atrasoMs) {
+        if (gravacaoAgendada && atrasoMs > 0) {
+            return;
+        }
+        gravacaoAgendada = true;
+        executor.schedule(this::gravarProximoLote, atrasoMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void gravarProximoLote() {
+        List<Escrita> lote;
+        synchronized (this) {
+            gravacaoAgendada = false;
+            if (pendentes.isEmpty() || !emGravacao.isEmpty()) {
+                return;
+            }
+            int tamanho = Math.min(pendentes.size(), Math.max(tamanhoMaximoLote, pendentes.get(0).restantesNoBloco));
+            lote = List.copyOf(pendentes.subList(0, tamanho));
+            pendentes.subList(0, tamanho).clear();
+            emGravacao = lote;
+        }
+
+        List<Hino> hinos = lote.stream().map(Escrita::hino).toList();
+        Exception erro;
+        try {
+            erro = gravar(lote, hinos);
+        } catch (RuntimeException e) {
+            erro = e;
+        }
+
+        try {
+            if (erro == null) {
+                ouvinte.aoGravar(hinos);
+            } else {
+                ouvinte.aoFalhar(hinos);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("-> Falha ao publicar o resultado do lote no catálogo: " + e.getMessage());
+        } finally {
+            // O lote só deixa de ser pendente depois de o ouvinte invalidar o catálogo: uma
+            // leitura feita antes do 'append' não pode ser publicada sem ele. E sempre libera
+            // a fila, senão nenhum outro lote seria gravado
+            synchronized (this) {
+                emGravacao = List.of();
+            }
+            // Quem espera pela gravação (POST síncrono, importação) sempre recebe uma resposta
+            for (Escrita escrita : lote) {
+                if (erro == null) {
+                    escrita.status = StatusEscrita.GRAVADA;
+                    escrita.futuro.complete(escrita.hino);
+                } else {
+                    escrita.status = StatusEscrita.FALHOU;
+                    escrita.erro = erro.getMessage() == null ? erro.getClass().getSimpleName() : erro.getMessage();
+                    escrita.futuro.completeExceptionally(erro);
+                }
+            }
+            synchronized (this) {
+                if (!pendentes.isEmpty()) {
+                    agendarGravacao(pendentes.size() >= tamanhoMaximoLote ? 0 : janela.toMillis());
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em um único 'append', repetindo em caso de falha.
+     * @return Nulo se o lote foi gravado, ou o erro da última tentativa.
+     */
+    private Exception gravar(List<Escrita> lote, List<Hino> hinos) {
+        IOException ultimoErro = new IOException("Falha desconhecida");
+        for (int tentativa = 1; tentativa <= maximoTentativas; tentativa++) {
+            for (Escrita escrita : lote) {
+                escrita.tentativas = tentativa;
+            }
+            try {
+                if (tentativa > 1) {
+                    esperar(tentativa, ultimoErro);
+                    // A tentativa anterior pode ter falhado depois de a planilha aplicar a escrita
+                    if (loteJaGravado(hinos)) {
+                        return null;
+                    }
+                }
+                hinoSource.anexarLinhas(aba, hinos.stream().map(FilaEscrita::paraLinha).toList());
+                return null;
+            } catch (IOException e) {
+                ultimoErro = e;
+                System.err.println("-> Falha ao gravar lote de " + lote.size() + " hino(s) (tentativa "
+                    + tentativa + " de " + maximoTentativas + "): " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new IOException("Gravação interrompida", e);
+            } catch (RuntimeException e) {
+                // Erro inesperado (não de rede): repetir não adianta
+                System.err.println("-> Erro inesperado ao gravar lote de " + lote.size() + " hino(s): " + e);
+                return e;
+            }
+        }
+        return ultimoErro;
+    }
+
+    /**
+     * Verifica se o lote já aparece, em sequência, entre as últimas linhas da aba: lê
+     * apenas a partir de pouco antes do fim conhecido, não a aba inteira.
+     * A comparação usa o id (coluna F) ou, se a linha não tiver id, apenas título e
+     * artista, que a planilha não reformata.
+     */
+    private boolean loteJaGravado(List<Hino> hinos) throws IOException {
+        // Linha 1 é o cabeçalho
+        int primeiraLinha = Math.max(2, linhasConhecidas.getAsInt() + 2 - MARGEM_VERIFICACAO);
+        List<Hino> linhas = hinoSource.lerHinos(aba, primeiraLinha);
+        for (int i = 0; i + hinos.size() <= linhas.size(); i++) {
+            boolean igual = true;
+            for (int j = 0; j < hinos.size() && igual; j++) {
+                igual = mesmaLinha(linhas.get(i + j), hinos.get(j));
+            }
+            if (igual) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mesmaLinha(Hino linha, Hino hino) {
+        if (linha.id() != null) {
+            return linha.id().equals(hino.id());
+        }
+        return Normalizador.normalizar(linha.titulo()).equals(Normalizador.normalizar(hino.titulo()))
+            && Normalizador.normalizar(linha.artista()).equals(Normalizador.normalizar(hino.artista()));
+    }
+
+    // Espera exponencial com variação aleatória ("jitter") entre as tentativas; se a
+    // planilha estiver indisponível (circuito aberto, quota esgotada), espera pelo menos o indicado
+    private void esperar(int tentativa, IOException ultimoErro) throws InterruptedException {
+        long base = esperaInicial.toMillis() << Math.min(tentativa - 2, 10);
+        long espera = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+        if (ultimoErro instanceof PlanilhaIndisponivelException indisponivel) {
+            espera = Math.max(espera, indisponivel.getTentarApos().toMillis());
+        }
+        Thread.sleep(espera);
+    }
+
+    /**
+     * Converte o objeto Hino em uma lista de objetos (formato Sheets API).
+     */
+    static List<Object> paraLinha(Hino hino) {
+        return Arrays.asList(
+            hino.titulo(),
+            hino.artista(),
+            hino.duracao(),
+            hino.link(),
+            hino.adicionadoPor(),
+            hino.id() == null ? LeitorValores.VAZIO : hino.id()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+/**
+ * O grupo de hinos pedido na rota (/musicas/{grupo}/...) não está configurado em
+ * {@code hinos.grupos}.
+ */
+public class GrupoNaoEncontradoException extends RuntimeException {
+
+    private final String grupo;
+
+    public GrupoNaoEncontradoException(String grupo) {
+        super("Grupo de hinos desconhecido: " + grupo);
+        this.grupo = grupo;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+}
@@ -0,0 +1,21 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+/**
+ * Já existe no grupo um hino com o mesmo título e artista (sem acentos, maiúsculas
+ * nem espaços extras). Vira 409 (Conflict) com o hino existente.
+ */
+public class HinoDuplicadoException extends RuntimeException {
+
+    private final Hino existente;
+
+    public HinoDuplicadoException(Hino existente) {
+        super("Já existe um hino com este título e artista: " + existente.titulo());
+        this.existente = existente;
+    }
+
+    public Hino getExistente() {
+        return existente;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+/**
+ * Nenhum hino do grupo tem o id pedido em /musicas/hino/{id}.
+ */
+public class HinoNaoEncontradoException extends RuntimeException {
+
+    private final String id;
+
+    public HinoNaoEncontradoException(String id) {
+        super("Hino não encontrado: " + id);
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
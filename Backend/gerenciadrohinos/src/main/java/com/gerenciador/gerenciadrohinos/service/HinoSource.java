@@ -0,0 +1,77 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fonte de dados das linhas de hinos.
+ * <p>Abstrai as operações {@code values.get}, {@code values.append} e
+ * {@code values.update} (e a remoção de linhas) da Google Sheets API para que o {@link Service} não dependa diretamente do cliente do Google.
+ * As linhas lidas chegam já convertidas em hinos (veja {@link LeitorValores}); as
+ * escritas seguem o formato da API: uma lista de células por linha, na ordem das
+ * colunas A a F.
+ */
+public interface HinoSource {
+
+    /**
+     * Lê todas as linhas de uma aba, a partir de uma linha da planilha.
+     * @param aba Nome da aba (ex: "Planilha1").
+     * @param primeiraLinha Número da primeira linha a ler, contando a partir de 1
+     *                      (a linha 1 é o cabeçalho).
+     * @return Um hino por linha lida, na ordem da aba (células ausentes vêm vazias);
+     *         lista vazia se não houver dados.
+     * @throws IOException Se a leitura falhar.
+     */
+    List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException;
+
+    /**
+     * Lê várias abas de uma vez, cada uma a partir da sua primeira linha.
+     * <p>A implementação padrão faz uma leitura por aba, em sequência; a fonte do
+     * Google junta tudo em um único {@code values.batchGet} por planilha.
+     * @param primeiraLinhaPorAba Primeira linha a ler de cada aba (veja {@link #lerHinos(String, int)}).
+     * @return Os hinos lidos de cada aba, na ordem do mapa recebido.
+     * @throws IOException Se a leitura falhar.
+     */
+    default Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        Map<String, List<Hino>> hinosPorAba = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> aba : primeiraLinhaPorAba.entrySet()) {
+            hinosPorAba.put(aba.getKey(), lerHinos(aba.getKey(), aba.getValue()));
+        }
+        return hinosPorAba;
+    }
+
+    /**
+     * Adiciona linhas ao final de uma aba.
+     * @param aba Nome da aba.
+     * @param linhas Linhas a adicionar, cada uma com as colunas A a F.
+     * @throws IOException Se a escrita falhar.
+     */
+    void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException;
+
+    /**
+     * Lê uma única linha da aba (usada para conferir a linha antes de editá-la).
+     * @param linha Número da linha na planilha (a linha 1 é o cabeçalho).
+     * @return O hino da linha (células ausentes vêm vazias).
+     * @throws IOException Se a leitura falhar.
+     */
+    Hino lerLinha(String aba, int linha) throws IOException;
+
+    /**
+     * Regrava uma linha da aba.
+     * @param linha Número da linha na planilha.
+     * @param valores Células da linha, colunas A a F.
+     * @throws IOException Se a escrita falhar.
+     */
+    void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException;
+
+    /**
+     * Apaga uma linha da aba; as linhas de baixo sobem uma posição.
+     * @param linha Número da linha na planilha.
+     * @throws IOException Se a escrita falhar.
+     */
+    void removerLinha(String aba, int linha) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Bulkhead" para a fonte de hinos: limita quantas chamadas à planilha podem
+ * estar em andamento ao mesmo tempo.
+ * <p>Quem chega com o limite atingido espera por uma vaga até o tempo
+ * configurado e, depois disso, recebe uma {@link VagasEsgotadasException}, em vez de
+ * acumular conexões abertas com a Google Sheets API.
+ */
+public class HinoSourceLimitado implements HinoSource {
+
+    private final HinoSource delegado;
+    private final Semaphore vagas;
+    private final Duration esperaMaxima;
+
+    /**
+     * @param maximoSimultaneas Número máximo de chamadas simultâneas.
+     * @param esperaMaxima Quanto tempo esperar por uma vaga.
+     */
+    public HinoSourceLimitado(HinoSource delegado, int maximoSimultaneas, Duration esperaMaxima) {
+        this.delegado = delegado;
+        this.vagas = new Semaphore(maximoSimultaneas, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        ocuparVaga();
+        try {
+            return delegado.lerHinos(aba, primeiraLinha);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    @Override
+    public Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        ocuparVaga();
+        try {
+            return delegado.lerHinos(primeiraLinhaPorAba);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    @Override
+    public void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException {
+        ocuparVaga();
+        try {
+            delegado.anexarLinhas(aba, linhas);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    @Override
+    public Hino lerLinha(String aba, int linha) throws IOException {
+        ocuparVaga();
+        try {
+            return delegado.lerLinha(aba, linha);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    @Override
+    public void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        ocuparVaga();
+        try {
+            delegado.atualizarLinha(aba, linha, valores);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    @Override
+    public void removerLinha(String aba, int linha) throws IOException {
+        ocuparVaga();
+        try {
+            delegado.removerLinha(aba, linha);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    /**
+     * Vagas livres no momento.
+     */
+    public int getVagasLivres() {
+        return vagas.availablePermits();
+    }
+
+    private void ocuparVaga() throws IOException {
+        try {
+            if (!vagas.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new VagasEsgotadasException("Limite de chamadas simultâneas à planilha atingido.", esperaMaxima);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera por uma vaga de chamada à planilha interrompida.");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mede as chamadas feitas à fonte de hinos (Google Sheets).
+ * <p>Registra a latência de cada chamada por operação ("get", "batchGet", "append",
+ * "update" ou "deleteDimension") e
+ * resultado, com histograma para os percentis, e quantas linhas cada leitura
+ * devolveu. Fica na camada mais interna: só mede chamadas que de fato chegaram
+ * à API (não as recusadas pelo disjuntor ou pela quota).
+ */
+public class HinoSourceMedido implements HinoSource {
+
+    private final HinoSource delegado;
+    private final MeterRegistry registro;
+    private final DistributionSummary linhasLidas;
+
+    public HinoSourceMedido(HinoSource delegado, MeterRegistry registro) {
+        this.delegado = delegado;
+        this.registro = registro;
+        this.linhasLidas = DistributionSummary.builder("hinos.sheets.linhas.lidas")
+            .description("Linhas devolvidas por leitura da planilha")
+            .baseUnit("linhas")
+            .register(registro);
+    }
+
+    @Override
+    public List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            List<Hino> hinos = delegado.lerHinos(aba, primeiraLinha);
+            resultado = "sucesso";
+            linhasLidas.record(hinos.size());
+            return hinos;
+        } finally {
+            amostra.stop(timer("get", resultado));
+        }
+    }
+
+    @Override
+    public Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            Map<String, List<Hino>> hinosPorAba = delegado.lerHinos(primeiraLinhaPorAba);
+            resultado = "sucesso";
+            hinosPorAba.values().forEach(hinos -> linhasLidas.record(hinos.size()));
+            return hinosPorAba;
+        } finally {
+            amostra.stop(timer("batchGet", resultado));
+        }
+    }
+
+    @Override
+    public void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            delegado.anexarLinhas(aba, linhas);
+            resultado = "sucesso";
+        } finally {
+            amostra.stop(timer("append", resultado));
+        }
+    }
+
+    @Override
+    public Hino lerLinha(String aba, int linha) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            Hino hino = delegado.lerLinha(aba, linha);
+            resultado = "sucesso";
+            return hino;
+        } finally {
+            amostra.stop(timer("get", resultado));
+        }
+    }
+
+    @Override
+    public void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            delegado.atualizarLinha(aba, linha, valores);
+            resultado = "sucesso";
+        } finally {
+            amostra.stop(timer("update", resultado));
+        }
+    }
+
+    @Override
+    public void removerLinha(String aba, int linha) throws IOException {
+        Timer.Sample amostra = Timer.start(registro);
+        String resultado = "erro";
+        try {
+            delegado.removerLinha(aba, linha);
+            resultado = "sucesso";
+        } finally {
+            amostra.stop(timer("deleteDimension", resultado));
+        }
+    }
+
+    private Timer timer(String operacao, String resultado) {
+        return Timer.builder("hinos.sheets.chamadas")
+            .description("Latência das chamadas à Google Sheets API")
+            .tag("operacao", operacao)
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(registro);
+    }
+}
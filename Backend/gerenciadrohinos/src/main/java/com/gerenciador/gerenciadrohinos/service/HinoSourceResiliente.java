@@ -0,0 +1,169 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.google.api.client.http.HttpResponseException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Protege as chamadas à planilha contra os limites da Google Sheets API.
+ * <p>Cada chamada passa pelo {@link Disjuntor} (recusada de imediato se o
+ * circuito estiver aberto) e pelo {@link LimitadorTaxa} de leitura ou de
+ * escrita, para não ultrapassar a quota por minuto. Leituras que falham com 429,
+ * 5xx ou erro de rede são repetidas com espera exponencial e variação aleatória.
+ * <p>Escritas não são repetidas aqui: um 'append' que falhou pode ter sido
+ * aplicado, e a {@link FilaEscrita} já repete os lotes conferindo antes se as
+ * linhas foram gravadas. Uma remoção repetida apagaria a linha de baixo.
+ */
+public class HinoSourceResiliente implements HinoSource {
+
+    private final HinoSource delegado;
+    private final LimitadorTaxa limitadorLeitura;
+    private final LimitadorTaxa limitadorEscrita;
+    private final Disjuntor disjuntor;
+    private final int tentativasLeitura;
+    private final Duration esperaInicial;
+
+    public HinoSourceResiliente(HinoSource delegado, LimitadorTaxa limitadorLeitura, LimitadorTaxa limitadorEscrita,
+                                Disjuntor disjuntor, int tentativasLeitura, Duration esperaInicial) {
+        this.delegado = delegado;
+        this.limitadorLeitura = limitadorLeitura;
+        this.limitadorEscrita = limitadorEscrita;
+        this.disjuntor = disjuntor;
+        this.tentativasLeitura = tentativasLeitura;
+        this.esperaInicial = esperaInicial;
+    }
+
+    @Override
+    public List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        return lerComRepeticao(() -> delegado.lerHinos(aba, primeiraLinha));
+    }
+
+    /**
+     * Uma leitura em lote consome um único token da quota, como uma chamada
+     * {@code values.batchGet}, e é repetida inteira em caso de falha temporária.
+     */
+    @Override
+    public Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        return lerComRepeticao(() -> delegado.lerHinos(primeiraLinhaPorAba));
+    }
+
+    private <T> T lerComRepeticao(Chamada<T> leitura) throws IOException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return chamar(limitadorLeitura, leitura);
+            } catch (PlanilhaIndisponivelException e) {
+                throw e;
+            } catch (IOException e) {
+                if (tentativa >= tentativasLeitura || !temporaria(e)) {
+                    throw e;
+                }
+                System.err.println("-> Leitura da planilha falhou (tentativa " + tentativa + " de "
+                    + tentativasLeitura + "): "
+                    + (e instanceof HttpResponseException resposta ? "HTTP " + resposta.getStatusCode() : e.getMessage()));
+                esperar(tentativa);
+            }
+        }
+    }
+
+    @Override
+    public void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException {
+        chamar(limitadorEscrita, () -> {
+            delegado.anexarLinhas(aba, linhas);
+            return null;
+        });
+    }
+
+    @Override
+    public Hino lerLinha(String aba, int linha) throws IOException {
+        return lerComRepeticao(() -> delegado.lerLinha(aba, linha));
+    }
+
+    @Override
+    public void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        chamar(limitadorEscrita, () -> {
+            delegado.atualizarLinha(aba, linha, valores);
+            return null;
+        });
+    }
+
+    @Override
+    public void removerLinha(String aba, int linha) throws IOException {
+        chamar(limitadorEscrita, () -> {
+            delegado.removerLinha(aba, linha);
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Chamada<T> {
+        T executar() throws IOException;
+    }
+
+    private <T> T chamar(LimitadorTaxa limitador, Chamada<T> chamada) throws IOException {
+        disjuntor.verificar();
+        try {
+            limitador.adquirir();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera pela quota da planilha interrompida.");
+        } catch (PlanilhaIndisponivelException e) {
+            // Quota esgotada não é falha da API; só devolve a chamada de teste, se era uma
+            disjuntor.liberarTeste();
+            throw e;
+        }
+        try {
+            T resultado = chamada.executar();
+            disjuntor.registrarSucesso();
+            return resultado;
+        } catch (PlanilhaIndisponivelException e) {
+            // Recusada antes de chegar à API (vagas simultâneas esgotadas): não é falha nem sucesso
+            disjuntor.liberarTeste();
+            throw e;
+        } catch (IOException e) {
+            if (temporaria(e)) {
+                disjuntor.registrarFalha();
+            } else {
+                // A API respondeu (400, 403, 404...): o serviço está no ar
+                disjuntor.registrarSucesso();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Resposta que não pôde ser lida (corpo inesperado): conta como falha e
+            // devolve a chamada de teste, para o circuito não ficar preso em meio aberto
+            disjuntor.registrarFalha();
+            throw e;
+        }
+    }
+
+    /**
+     * Falhas que indicam indisponibilidade ou excesso de chamadas: 429, 5xx e erros de rede.
+     */
+    static boolean temporaria(IOException e) {
+        if (e instanceof PlanilhaIndisponivelException) {
+            return false;
+        }
+        if (e instanceof HttpResponseException resposta) {
+            return resposta.getStatusCode() == 429 || resposta.getStatusCode() >= 500;
+        }
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException;
+    }
+
+    // Espera exponencial com variação aleatória ("jitter") entre as tentativas
+    private void esperar(int tentativa) throws InterruptedIOException {
+        long base = esperaInicial.toMillis() << Math.min(tentativa - 1, 10);
+        try {
+            Thread.sleep(base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera entre tentativas de leitura interrompida.");
+        }
+    }
+}
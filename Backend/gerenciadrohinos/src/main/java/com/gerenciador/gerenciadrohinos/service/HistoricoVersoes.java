@@ -0,0 +1,99 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.AlteracaoVersao;
+import com.gerenciador.gerenciadrohinos.model.Model.AlteracoesDesde;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Histórico limitado das últimas versões do catálogo, para que os clientes que
+ * guardam uma cópia local busquem só o que mudou desde a versão que já têm.
+ * <p>Cada versão é descrita como um único trecho substituído da lista, calculado
+ * a partir do prefixo e do sufixo em comum com a versão anterior: a partir da
+ * posição {@code inicio}, {@code removidos} hinos saem e {@code inseridos} entram
+ * no lugar (o equivalente a {@code Array.prototype.splice} no navegador). Um
+ * acréscimo no final, uma linha alterada ou uma linha apagada geram um trecho
+ * pequeno, mesmo em uma planilha grande.
+ * <p>Só as últimas {@code maximoVersoes} versões são guardadas. Um cliente com uma
+ * versão mais antiga (ou de antes de um reinício) recebe o aviso de que precisa
+ * baixar a lista completa de novo.
+ */
+public class HistoricoVersoes {
+
+    private final int maximoVersoes;
+    private final Deque<AlteracaoVersao> alteracoes = new ArrayDeque<>();
+    // Última versão registrada e a quantidade de hinos que ela tem (0 = nenhuma ainda)
+    private long ultimaVersao;
+    private int quantidade;
+
+    public HistoricoVersoes(int maximoVersoes) {
+        this.maximoVersoes = maximoVersoes;
+    }
+
+    /**
+     * Registra a troca de versão (ouvinte de {@link CacheCatalogo#aoPublicar}).
+     * <p>Se a versão anterior não for a última registrada, a sequência foi
+     * interrompida e o histórico recomeça a partir da nova versão.
+     */
+    public void registrar(Catalogo anterior, Catalogo novo) {
+        // A diferença é calculada fora do bloqueio; são só comparações de referência e equals
+        AlteracaoVersao alteracao = anterior == null ? null : diferenca(anterior, novo);
+        synchronized (this) {
+            if (novo.versao() <= ultimaVersao) {
+                return;
+            }
+            if (alteracao == null || anterior.versao() != ultimaVersao) {
+                alteracoes.clear();
+            } else {
+                alteracoes.addLast(alteracao);
+                if (alteracoes.size() > maximoVersoes) {
+                    alteracoes.removeFirst();
+                }
+            }
+            ultimaVersao = novo.versao();
+            quantidade = novo.hinos().size();
+        }
+    }
+
+    /**
+     * Alterações feitas depois da versão {@code desde}, na ordem em que aconteceram.
+     */
+    public synchronized AlteracoesDesde desde(long desde) {
+        if (desde == ultimaVersao) {
+            return new AlteracoesDesde(desde, ultimaVersao, quantidade, false, List.of());
+        }
+        AlteracaoVersao primeira = alteracoes.peekFirst();
+        if (desde > ultimaVersao || primeira == null || desde < primeira.versao() - 1) {
+            return new AlteracoesDesde(desde, ultimaVersao, quantidade, true, List.of());
+        }
+        List<AlteracaoVersao> resultado = new ArrayList<>();
+        for (AlteracaoVersao alteracao : alteracoes) {
+            if (alteracao.versao() > desde) {
+                resultado.add(alteracao);
+            }
+        }
+        return new AlteracoesDesde(desde, ultimaVersao, quantidade, false, resultado);
+    }
+
+    static AlteracaoVersao diferenca(Catalogo anterior, Catalogo novo) {
+        List<Hino> antes = anterior.hinos();
+        List<Hino> depois = novo.hinos();
+        int limite = Math.min(antes.size(), depois.size());
+        int inicio = 0;
+        while (inicio < limite && antes.get(inicio).equals(depois.get(inicio))) {
+            inicio++;
+        }
+        // O sufixo em comum não pode avançar sobre o prefixo já contado
+        int fim = 0;
+        while (fim < limite - inicio
+                && antes.get(antes.size() - 1 - fim).equals(depois.get(depois.size() - 1 - fim))) {
+            fim++;
+        }
+        return new AlteracaoVersao(novo.versao(), inicio, antes.size() - inicio - fim,
+            List.copyOf(depois.subList(inicio, depois.size() - fim)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identidade estável dos hinos, usada por PUT e DELETE /musicas/hino/{id}.
+ * <p>Cada hino aceito pela {@link FilaEscrita} recebe um id aleatório, gravado na
+ * coluna F junto com a linha. Linhas antigas, sem a coluna F, recebem ao serem
+ * lidas um id derivado do conteúdo (prefixo "l"), com um sufixo "-n" quando há
+ * linhas idênticas; esse id fica na coluna F na primeira vez que o hino é editado
+ * pela API. Até lá, uma edição feita à mão na planilha muda o id da linha.
+ * <p>A ETag de um hino resume todos os campos, inclusive o id: é o valor esperado
+ * no If-Match das edições.
+ */
+public final class IdentidadeHinos {
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private IdentidadeHinos() {
+    }
+
+    /**
+     * Id para um hino novo: "h" e 16 dígitos hexadecimais.
+     * <p>O prefixo não é opcional: a linha é gravada com USER_ENTERED, e só dígitos
+     * (ou algo como "12e45") viraria número na planilha, perdendo zeros à esquerda;
+     * o id lido de volta não seria mais o mesmo.
+     */
+    public static String novoId() {
+        return "h" + String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Id de uma linha antiga, sem a coluna F.
+     * @param ocorrencia Quantas linhas idênticas aparecem antes desta na aba.
+     */
+    public static String idLegado(Hino linha, int ocorrencia) {
+        String id = "l" + String.format("%016x", resumoConteudo(linha));
+        return ocorrencia == 0 ? id : id + "-" + ocorrencia;
+    }
+
+    /**
+     * Resumo (FNV-1a de 64 bits) dos cinco campos da linha, sem o id.
+     */
+    public static long resumoConteudo(Hino linha) {
+        long resumo = FNV_BASE;
+        resumo = resumir(resumo, linha.titulo());
+        resumo = resumir(resumo, linha.artista());
+        resumo = resumir(resumo, linha.duracao());
+        resumo = resumir(resumo, linha.link());
+        return resumir(resumo, linha.adicionadoPor());
+    }
+
+    /**
+     * ETag forte de um hino: muda se qualquer campo mudar.
+     */
+    public static String etag(Hino hino) {
+        return "\"" + String.format("%016x", resumir(resumoConteudo(hino), hino.id())) + "\"";
+    }
+
+    public static Hino comId(Hino hino, String id) {
+        return new Hino(hino.titulo(), hino.artista(), hino.duracao(), hino.link(), hino.adicionadoPor(), id);
+    }
+
+    /**
+     * Indica se a linha lida da planilha é o hino do catálogo, sem alterações.
+     * Uma linha sem a coluna F é comparada só pelo conteúdo.
+     */
+    public static boolean mesmaLinha(Hino naPlanilha, Hino doCatalogo) {
+        Hino comparada = naPlanilha.id() == null ? comId(naPlanilha, doCatalogo.id()) : naPlanilha;
+        return comparada.equals(doCatalogo);
+    }
+
+    // Cada campo termina com um separador, para que ("ab", "c") e ("a", "bc") sejam diferentes
+    private static long resumir(long resumo, String campo) {
+        if (campo != null) {
+            for (byte b : campo.getBytes(StandardCharsets.UTF_8)) {
+                resumo = (resumo ^ (b & 0xff)) * FNV_PRIMO;
+            }
+        }
+        return (resumo ^ 0xff) * FNV_PRIMO;
+    }
+}
@@ -0,0 +1,218 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.ResultadoImportacao;
+import com.gerenciador.gerenciadrohinos.model.Model.ResumoImportacao;
+import com.gerenciador.gerenciadrohinos.model.Model.StatusImportacao;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Importação em massa de hinos para a aba de um grupo.
+ * <p>As linhas são lidas uma a uma ({@link LeitorImportacao}), validadas e
+ * comparadas com o catálogo e com as linhas anteriores do mesmo arquivo
+ * (mesmo título e artista, sem acentos nem maiúsculas). As aceitas são juntadas
+ * em blocos e cada bloco vai para a {@link FilaEscrita} como um único 'append'
+ * de várias linhas, que respeita a quota e é repetido em caso de falha.
+ * <p>Enquanto um bloco é gravado, o seguinte é lido do arquivo; antes de enviar
+ * o próximo, a importação espera o anterior terminar. Assim nunca há mais de
+ * dois blocos na memória, qualquer que seja o tamanho do arquivo.
+ * <p>O resultado de cada linha vai para o relatório assim que é conhecido: as
+ * rejeitadas e duplicadas na hora, as aceitas quando o bloco delas é gravado.
+ */
+public class ImportacaoHinos {
+
+    // Tamanho máximo de cada campo, em caracteres
+    private static final int TAMANHO_MAXIMO_CAMPO = 500;
+    private static final String[] NOMES_CAMPOS = {"título", "artista", "duração", "link", "adicionado por"};
+    // Primeiros caracteres que a planilha interpreta como início de fórmula
+    private static final String PREFIXOS_FORMULA = "=+-@";
+
+    private final String grupo;
+    private final Function<List<Hino>, List<FilaEscrita.Escrita>> enfileirar;
+    private final Set<String> chaves;
+    private final int linhasPorAppend;
+    private final int maximoLinhas;
+    private final String adicionadoPorPadrao;
+    private final Consumer<ResultadoImportacao> relatorio;
+
+    // Bloco sendo montado e bloco em gravação (nulo se não houver)
+    private List<Aceita> bloco = new ArrayList<>();
+    private List<Aceita> emGravacao;
+
+    private int linhas;
+    private int gravadas;
+    private int duplicadas;
+    private int rejeitadas;
+    private int falhas;
+
+    /**
+     * @param grupo Nome do grupo de hinos (só para o log).
+     * @param enfileirar Grava um bloco em um único 'append' ({@link FilaEscrita#enfileirarTodos}).
+     * @param chaves Chaves ({@link #chave}) dos hinos já existentes; recebe também as das linhas aceitas.
+     * @param linhasPorAppend Linhas por bloco.
+     * @param maximoLinhas Linhas lidas do arquivo, no máximo; o restante é ignorado.
+     * @param adicionadoPorPadrao Valor de "adicionado por" para as linhas que não o informam.
+     * @param relatorio Recebe o resultado de cada linha.
+     */
+    public ImportacaoHinos(String grupo, Function<List<Hino>, List<FilaEscrita.Escrita>> enfileirar, Set<String> chaves,
+                           int linhasPorAppend, int maximoLinhas, String adicionadoPorPadrao,
+                           Consumer<ResultadoImportacao> relatorio) {
+        this.grupo = grupo;
+        this.enfileirar = enfileirar;
+        this.chaves = chaves;
+        this.linhasPorAppend = linhasPorAppend;
+        this.maximoLinhas = maximoLinhas;
+        this.adicionadoPorPadrao = adicionadoPorPadrao == null ? LeitorValores.VAZIO : adicionadoPorPadrao;
+        this.relatorio = relatorio;
+    }
+
+    /**
+     * Chave usada para reconhecer um hino repetido: título e artista normalizados.
+     */
+    public static String chave(Hino hino) {
+        return Normalizador.normalizar(hino.titulo()) + '\u0000' + Normalizador.normalizar(hino.artista());
+    }
+
+    /**
+     * Lê o arquivo inteiro e espera a gravação das linhas aceitas.
+     * <p>Se o arquivo estiver malformado no meio, as linhas aceitas até ali são
+     * gravadas e o motivo da parada vai no resumo.
+     */
+    public ResumoImportacao importar(LeitorImportacao leitor) throws IOException {
+        String erro = null;
+        try {
+            LeitorImportacao.Linha linha;
+            while ((linha = leitor.proxima()) != null) {
+                if (linha.numero() > maximoLinhas) {
+                    erro = "Limite de " + maximoLinhas + " linhas por importação atingido; o restante não foi lido.";
+                    break;
+                }
+                linhas++;
+                processar(linha);
+            }
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException | IllegalStateException e) {
+            // IllegalStateException: estrutura JSON inesperada (por exemplo, um objeto onde cabia um nome)
+            erro = "Leitura do arquivo interrompida depois da linha " + linhas + ": " + e.getMessage();
+        }
+        enviarBloco();
+        aguardarGravacao();
+        System.out.println("-> Importação no grupo '" + grupo + "': " + gravadas + " gravada(s), " + duplicadas
+            + " duplicada(s), " + rejeitadas + " rejeitada(s), " + falhas + " com falha.");
+        return new ResumoImportacao(linhas, gravadas, duplicadas, rejeitadas, falhas, erro);
+    }
+
+    private void processar(LeitorImportacao.Linha linha) throws IOException {
+        if (linha.erro() != null) {
+            rejeitar(linha.numero(), null, linha.erro());
+            return;
+        }
+        Hino hino = limpar(linha.hino());
+        String motivo = validar(hino);
+        if (motivo != null) {
+            rejeitar(linha.numero(), hino.titulo(), motivo);
+            return;
+        }
+        if (!chaves.add(chave(hino))) {
+            duplicadas++;
+            relatorio.accept(new ResultadoImportacao(linha.numero(), StatusImportacao.DUPLICADA, hino.titulo(),
+                "Já existe um hino com este título e artista."));
+            return;
+        }
+        bloco.add(new Aceita(linha.numero(), hino, null));
+        if (bloco.size() >= linhasPorAppend) {
+            enviarBloco();
+        }
+    }
+
+    private void rejeitar(int numero, String titulo, String motivo) {
+        rejeitadas++;
+        relatorio.accept(new ResultadoImportacao(numero, StatusImportacao.REJEITADA, titulo, motivo));
+    }
+
+    private Hino limpar(Hino hino) {
+        String adicionadoPor = hino.adicionadoPor().trim();
+        return new Hino(hino.titulo().trim(), hino.artista().trim(), hino.duracao().trim(), hino.link().trim(),
+            adicionadoPor.isEmpty() ? adicionadoPorPadrao : adicionadoPor);
+    }
+
+    // Motivo da rejeição, ou nulo se a linha for válida (também usado pelo POST e
+    // pela edição de hinos, em que campos ausentes chegam nulos)
+    static String validar(Hino hino) {
+        String[] campos = {hino.titulo(), hino.artista(), hino.duracao(), hino.link(), hino.adicionadoPor()};
+        for (int i = 0; i < campos.length; i++) {
+            campos[i] = campos[i] == null ? "" : campos[i];
+        }
+        if (campos[0].isBlank()) {
+            return "Título obrigatório.";
+        }
+        for (int i = 0; i < campos.length; i++) {
+            if (campos[i].length() > TAMANHO_MAXIMO_CAMPO) {
+                return "Campo " + NOMES_CAMPOS[i] + " maior que " + TAMANHO_MAXIMO_CAMPO + " caracteres.";
+            }
+            // A planilha grava como se fosse digitado (USER_ENTERED): "=", "+", "-" e "@" virariam fórmula
+            String inicio = campos[i].strip();
+            if (!inicio.isEmpty() && PREFIXOS_FORMULA.indexOf(inicio.charAt(0)) >= 0) {
+                return "Campo " + NOMES_CAMPOS[i] + " não pode começar com '" + inicio.charAt(0) + "' (fórmula).";
+            }
+        }
+        String link = campos[3];
+        if (!link.isEmpty() && !link.startsWith("http://") && !link.startsWith("https://")) {
+            return "Link deve começar com http:// ou https://.";
+        }
+        return null;
+    }
+
+    // Espera o bloco anterior e entrega o atual à fila de escrita
+    private void enviarBloco() throws IOException {
+        aguardarGravacao();
+        if (bloco.isEmpty()) {
+            return;
+        }
+        List<FilaEscrita.Escrita> escritas = enfileirar.apply(bloco.stream().map(Aceita::hino).toList());
+        List<Aceita> enviado = new ArrayList<>(bloco.size());
+        for (int i = 0; i < bloco.size(); i++) {
+            enviado.add(new Aceita(bloco.get(i).numero(), bloco.get(i).hino(), escritas.get(i)));
+        }
+        emGravacao = enviado;
+        bloco = new ArrayList<>();
+    }
+
+    private void aguardarGravacao() throws IOException {
+        if (emGravacao == null) {
+            return;
+        }
+        for (Aceita aceita : emGravacao) {
+            try {
+                aceita.escrita().futuro().get();
+                gravadas++;
+                relatorio.accept(new ResultadoImportacao(aceita.numero(), StatusImportacao.GRAVADA,
+                    aceita.hino().titulo(), null));
+            } catch (ExecutionException e) {
+                falhas++;
+                relatorio.accept(new ResultadoImportacao(aceita.numero(), StatusImportacao.FALHOU,
+                    aceita.hino().titulo(), e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Espera pela gravação da importação interrompida.");
+            }
+        }
+        emGravacao = null;
+    }
+
+    // Linha aceita, com a escrita correspondente depois de enviada à fila
+    private record Aceita(
+        int numero,
+        Hino hino,
+        FilaEscrita.Escrita escrita
+    ){}
+}
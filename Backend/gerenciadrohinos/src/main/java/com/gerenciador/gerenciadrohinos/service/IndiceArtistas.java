@@ -0,0 +1,113 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.ArtistaResumo;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice imutável artista → hinos, construído uma única vez por versão do catálogo.
+ * <p>A chave é o nome do artista normalizado ({@link Normalizador}), de modo que
+ * a busca por artista seja uma única consulta ao mapa, devolvendo sempre a mesma
+ * lista imutável para todas as requisições. Guarda também a posição no catálogo
+ * de cada hino do artista, para os cálculos que trabalham com os índices por posição
+ * (como o de durações).
+ */
+public final class IndiceArtistas {
+
+    private static final int[] NENHUMA = new int[0];
+
+    private final Map<String, List<Hino>> hinosPorArtista;
+    private final Map<String, int[]> posicoesPorArtista;
+    private final List<ArtistaResumo> resumos;
+    // Hinos indexados, inclusive os sem artista: a posição do próximo hino acrescentado
+    private final int quantidade;
+
+    private IndiceArtistas(Map<String, List<Hino>> hinosPorArtista, Map<String, int[]> posicoesPorArtista,
+                           List<ArtistaResumo> resumos, int quantidade) {
+        this.hinosPorArtista = hinosPorArtista;
+        this.posicoesPorArtista = posicoesPorArtista;
+        this.resumos = resumos;
+        this.quantidade = quantidade;
+    }
+
+    public static IndiceArtistas de(List<Hino> hinos) {
+        return new IndiceArtistas(Map.of(), Map.of(), List.of(), 0).comAdicionados(hinos);
+    }
+
+    /**
+     * Deriva um novo índice acrescentando hinos adicionados ao final do catálogo.
+     * As listas dos artistas não afetados são compartilhadas com este índice.
+     */
+    public IndiceArtistas comAdicionados(List<Hino> novos) {
+        // Preserva a ordem de inserção: o primeiro hino de cada artista define o nome exibido
+        Map<String, List<Hino>> agrupados = new LinkedHashMap<>();
+        Map<String, List<Integer>> posicoesNovas = new HashMap<>();
+        for (int i = 0; i < novos.size(); i++) {
+            Hino hino = novos.get(i);
+            if (hino.artista() == null) {
+                continue;
+            }
+            String chave = Normalizador.normalizar(hino.artista());
+            agrupados.computeIfAbsent(chave, c -> new ArrayList<>()).add(hino);
+            posicoesNovas.computeIfAbsent(chave, c -> new ArrayList<>()).add(quantidade + i);
+        }
+        if (agrupados.isEmpty()) {
+            return novos.isEmpty() ? this
+                : new IndiceArtistas(hinosPorArtista, posicoesPorArtista, resumos, quantidade + novos.size());
+        }
+
+        Map<String, List<Hino>> indice = new HashMap<>(hinosPorArtista);
+        Map<String, int[]> posicoes = new HashMap<>(posicoesPorArtista);
+        agrupados.forEach((chave, lista) -> {
+            List<Hino> existentes = indice.getOrDefault(chave, List.of());
+            List<Hino> combinados = new ArrayList<>(existentes.size() + lista.size());
+            combinados.addAll(existentes);
+            combinados.addAll(lista);
+            indice.put(chave, List.copyOf(combinados));
+
+            int[] anteriores = posicoes.getOrDefault(chave, NENHUMA);
+            List<Integer> acrescentadas = posicoesNovas.get(chave);
+            int[] todas = Arrays.copyOf(anteriores, anteriores.length + acrescentadas.size());
+            for (int j = 0; j < acrescentadas.size(); j++) {
+                todas[anteriores.length + j] = acrescentadas.get(j);
+            }
+            posicoes.put(chave, todas);
+        });
+
+        List<ArtistaResumo> novosResumos = new ArrayList<>(indice.size());
+        indice.values().forEach(lista -> novosResumos.add(new ArtistaResumo(lista.get(0).artista().trim(), lista.size())));
+        novosResumos.sort(Comparator.comparing((ArtistaResumo resumo) -> Normalizador.normalizar(resumo.nome())));
+
+        return new IndiceArtistas(Map.copyOf(indice), Map.copyOf(posicoes), List.copyOf(novosResumos),
+            quantidade + novos.size());
+    }
+
+    /**
+     * Hinos do artista informado (comparação sem acentos, maiúsculas ou espaços extras).
+     */
+    public List<Hino> hinosDoArtista(String nomeArtista) {
+        return hinosPorArtista.getOrDefault(Normalizador.normalizar(nomeArtista), List.of());
+    }
+
+    /**
+     * Posições no catálogo dos hinos do artista informado, em ordem crescente.
+     * @return O array guardado no índice: não deve ser alterado por quem o recebe.
+     */
+    public int[] posicoesDoArtista(String nomeArtista) {
+        return posicoesPorArtista.getOrDefault(Normalizador.normalizar(nomeArtista), NENHUMA);
+    }
+
+    /**
+     * Artistas distintos do catálogo, em ordem alfabética, com a quantidade de hinos.
+     */
+    public List<ArtistaResumo> resumos() {
+        return resumos;
+    }
+}
@@ -0,0 +1,251 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido imutável sobre título, artista e "adicionado por" dos hinos.
+ * <p>Cada termo normalizado (sem acentos, minúsculo) aponta para as posições dos
+ * hinos no catálogo em que aparece, junto com o campo de origem. As consultas
+ * aceitam prefixos (para busca enquanto se digita) e pequenos erros de digitação,
+ * e os resultados são ordenados por relevância.
+ * <p>Quando linhas são adicionadas ao final do catálogo, {@link #comAdicionados}
+ * deriva um novo índice processando apenas os hinos novos.
+ */
+public final class IndiceBusca {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    // Campos indexados, na ordem usada nas postagens, e o peso de cada um na pontuação
+    private static final List<Function<Hino, String>> CAMPOS = List.of(Hino::titulo, Hino::artista, Hino::adicionadoPor);
+    private static final double[] PESO_CAMPO = {3.0, 2.0, 1.0};
+    private static final int BITS_CAMPO = 2;
+
+    // Peso do tipo de correspondência entre o termo da consulta e o termo indexado
+    private static final double PESO_EXATO = 1.0;
+    private static final double PESO_PREFIXO = 0.7;
+    private static final double PESO_APROXIMADO = 0.5;
+
+    private static final int TAMANHO_MINIMO_PREFIXO = 2;
+    private static final int TAMANHO_MINIMO_APROXIMADO = 4;
+
+    // Postagens: (posição do hino << BITS_CAMPO) | campo, em ordem crescente
+    private final Map<String, int[]> postagens;
+    // Vocabulário ordenado, para localizar prefixos por busca binária
+    private final String[] termos;
+    private final int quantidadeHinos;
+
+    private IndiceBusca(Map<String, int[]> postagens, String[] termos, int quantidadeHinos) {
+        this.postagens = postagens;
+        this.termos = termos;
+        this.quantidadeHinos = quantidadeHinos;
+    }
+
+    public static IndiceBusca de(List<Hino> hinos) {
+        return new IndiceBusca(Map.of(), new String[0], 0).comAdicionados(hinos);
+    }
+
+    /**
+     * Deriva um novo índice acrescentando hinos que foram adicionados ao final do
+     * catálogo. As postagens dos termos não afetados são compartilhadas com este índice.
+     */
+    public IndiceBusca comAdicionados(List<Hino> novos) {
+        if (novos.isEmpty()) {
+            return this;
+        }
+        Map<String, List<Integer>> acrescimos = new HashMap<>();
+        int posicao = quantidadeHinos;
+        for (Hino hino : novos) {
+            for (int campo = 0; campo < CAMPOS.size(); campo++) {
+                // Um termo repetido no mesmo campo gera uma única postagem
+                for (String termo : new LinkedHashSet<>(tokenizar(CAMPOS.get(campo).apply(hino)))) {
+                    acrescimos.computeIfAbsent(termo, t -> new ArrayList<>()).add((posicao << BITS_CAMPO) | campo);
+                }
+            }
+            posicao++;
+        }
+
+        Map<String, int[]> novasPostagens = new HashMap<>(postagens);
+        Set<String> termosNovos = new TreeSet<>();
+        acrescimos.forEach((termo, lista) -> {
+            int[] existentes = novasPostagens.get(termo);
+            if (existentes == null) {
+                existentes = new int[0];
+                termosNovos.add(termo);
+            }
+            int[] combinadas = Arrays.copyOf(existentes, existentes.length + lista.size());
+            for (int i = 0; i < lista.size(); i++) {
+                combinadas[existentes.length + i] = lista.get(i);
+            }
+            novasPostagens.put(termo, combinadas);
+        });
+
+        return new IndiceBusca(novasPostagens, intercalar(termos, termosNovos), posicao);
+    }
+
+    /**
+     * Busca hinos que contenham todos os termos da consulta (exatos, como prefixo ou
+     * com pequenos erros de digitação), ordenados por relevância.
+     * @param hinos Lista de hinos do catálogo a que este índice corresponde.
+     * @param consulta Texto digitado pelo usuário.
+     * @param limite Número máximo de resultados.
+     * @return Hinos encontrados, do mais para o menos relevante.
+     */
+    public List<Hino> buscar(List<Hino> hinos, String consulta, int limite) {
+        List<String> termosConsulta = new ArrayList<>(new LinkedHashSet<>(tokenizar(consulta)));
+        if (termosConsulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        double[] pontuacao = new double[quantidadeHinos];
+        int[] termosEncontrados = new int[quantidadeHinos];
+        for (String termoConsulta : termosConsulta) {
+            // Melhor pontuação obtida por este termo em cada hino
+            double[] melhor = new double[quantidadeHinos];
+            for (Map.Entry<String, Double> correspondencia : correspondencias(termoConsulta).entrySet()) {
+                for (int postagem : postagens.get(correspondencia.getKey())) {
+                    int hino = postagem >>> BITS_CAMPO;
+                    double valor = correspondencia.getValue() * PESO_CAMPO[postagem & ((1 << BITS_CAMPO) - 1)];
+                    melhor[hino] = Math.max(melhor[hino], valor);
+                }
+            }
+            for (int hino = 0; hino < quantidadeHinos; hino++) {
+                if (melhor[hino] > 0) {
+                    pontuacao[hino] += melhor[hino];
+                    termosEncontrados[hino]++;
+                }
+            }
+        }
+
+        List<Integer> encontrados = new ArrayList<>();
+        for (int hino = 0; hino < quantidadeHinos; hino++) {
+            if (termosEncontrados[hino] == termosConsulta.size()) {
+                encontrados.add(hino);
+            }
+        }
+        // Maior pontuação primeiro; em caso de empate, a ordem da planilha
+        encontrados.sort((a, b) -> {
+            int comparacao = Double.compare(pontuacao[b], pontuacao[a]);
+            return comparacao != 0 ? comparacao : Integer.compare(a, b);
+        });
+
+        List<Hino> resultado = new ArrayList<>(Math.min(limite, encontrados.size()));
+        for (int i = 0; i < encontrados.size() && i < limite; i++) {
+            resultado.add(hinos.get(encontrados.get(i)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Termos indexados que correspondem ao termo da consulta, com o peso de cada correspondência.
+     */
+    private Map<String, Double> correspondencias(String termoConsulta) {
+        Map<String, Double> encontrados = new HashMap<>();
+
+        if (termoConsulta.length() >= TAMANHO_MINIMO_APROXIMADO) {
+            int distanciaMaxima = termoConsulta.length() >= 8 ? 2 : 1;
+            for (String termo : termos) {
+                if (Math.abs(termo.length() - termoConsulta.length()) <= distanciaMaxima
+                        && distancia(termoConsulta, termo, distanciaMaxima) <= distanciaMaxima) {
+                    encontrados.put(termo, PESO_APROXIMADO);
+                }
+            }
+        }
+
+        if (termoConsulta.length() >= TAMANHO_MINIMO_PREFIXO) {
+            int inicio = Arrays.binarySearch(termos, termoConsulta);
+            for (int i = inicio >= 0 ? inicio : -inicio - 1; i < termos.length && termos[i].startsWith(termoConsulta); i++) {
+                encontrados.put(termos[i], PESO_PREFIXO);
+            }
+        }
+
+        if (postagens.containsKey(termoConsulta)) {
+            encontrados.put(termoConsulta, PESO_EXATO);
+        }
+        return encontrados;
+    }
+
+    /**
+     * Divide o texto em termos normalizados (sem acentos e em minúsculas).
+     */
+    static List<String> tokenizar(String texto) {
+        String normalizado = Normalizador.normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Distância de edição (com transposição de letras vizinhas) entre dois termos,
+     * interrompida assim que ultrapassa o máximo informado.
+     */
+    static int distancia(String a, String b, int maximo) {
+        int[] anterior2 = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        int menorDaLinhaAnterior = 0;
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + custo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                atual[j] = valor;
+                menorDaLinha = Math.min(menorDaLinha, valor);
+            }
+            // A transposição olha duas linhas para trás, por isso as duas precisam ter estourado
+            if (menorDaLinha > maximo && menorDaLinhaAnterior > maximo) {
+                return maximo + 1;
+            }
+            menorDaLinhaAnterior = menorDaLinha;
+            int[] reciclado = anterior2;
+            anterior2 = anterior;
+            anterior = atual;
+            atual = reciclado;
+        }
+        return anterior[b.length()];
+    }
+
+    // Intercala o vocabulário existente (já ordenado) com os termos novos (ordenados)
+    private static String[] intercalar(String[] existentes, Set<String> novos) {
+        if (novos.isEmpty()) {
+            return existentes;
+        }
+        String[] resultado = new String[existentes.length + novos.size()];
+        int i = 0;
+        int k = 0;
+        for (String novo : novos) {
+            while (i < existentes.length && existentes[i].compareTo(novo) < 0) {
+                resultado[k++] = existentes[i++];
+            }
+            resultado[k++] = novo;
+        }
+        while (i < existentes.length) {
+            resultado[k++] = existentes[i++];
+        }
+        return resultado;
+    }
+}
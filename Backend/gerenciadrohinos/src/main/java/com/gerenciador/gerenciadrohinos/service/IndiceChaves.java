@@ -0,0 +1,47 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chaves (título e artista normalizados, veja {@link ImportacaoHinos#chave}) dos hinos
+ * do catálogo de um grupo, para recusar um POST duplicado sem ler a planilha.
+ * <p>O índice acompanha o catálogo sob demanda: na consulta, se o catálogo só
+ * ganhou hinos no final desde a versão indexada, apenas as chaves novas entram;
+ * se mudou de outra forma (leitura da planilha com linhas alteradas ou removidas),
+ * o índice é refeito.
+ */
+public class IndiceChaves {
+
+    private final Map<String, Hino> hinosPorChave = new HashMap<>();
+    // Versão do catálogo refletida no índice (nula antes da primeira consulta)
+    private Catalogo indexado;
+
+    /**
+     * Hino do catálogo com a mesma chave, ou nulo se não houver.
+     */
+    public synchronized Hino existente(Hino hino, Catalogo atual) {
+        if (atual == null) {
+            return null;
+        }
+        if (atual != indexado) {
+            acompanhar(atual);
+        }
+        return hinosPorChave.get(ImportacaoHinos.chave(hino));
+    }
+
+    private void acompanhar(Catalogo atual) {
+        List<Hino> adicionados = indexado == null ? null : atual.adicionadosDesde(indexado);
+        if (adicionados == null) {
+            hinosPorChave.clear();
+            adicionados = atual.hinos();
+        }
+        for (Hino hino : adicionados) {
+            hinosPorChave.putIfAbsent(ImportacaoHinos.chave(hino), hino);
+        }
+        indexado = atual;
+    }
+}
@@ -0,0 +1,100 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Duração de cada hino em segundos e a ordenação do catálogo por duração,
+ * calculadas uma única vez por versão.
+ * <p>Tudo fica em arrays de int: a consulta por faixa de duração é uma busca
+ * binária nas durações ordenadas, sem percorrer o catálogo. Hinos com duração
+ * desconhecida ficam fora da ordenação.
+ */
+public final class IndiceDuracao {
+
+    // Duração de cada hino, indexada pela posição no catálogo (-1 se desconhecida)
+    private final int[] segundos;
+    // Durações conhecidas em ordem crescente, e a posição no catálogo de cada uma
+    private final int[] ordenadas;
+    private final int[] posicoes;
+
+    private IndiceDuracao(int[] segundos, int[] ordenadas, int[] posicoes) {
+        this.segundos = segundos;
+        this.ordenadas = ordenadas;
+        this.posicoes = posicoes;
+    }
+
+    public static IndiceDuracao de(List<Hino> hinos) {
+        int[] segundos = new int[hinos.size()];
+        int conhecidas = 0;
+        for (int i = 0; i < segundos.length; i++) {
+            segundos[i] = Duracoes.emSegundos(hinos.get(i).duracao());
+            if (segundos[i] != Duracoes.DESCONHECIDA) {
+                conhecidas++;
+            }
+        }
+        // Duração e posição no mesmo long: uma ordenação primitiva, estável pela posição
+        long[] chaves = new long[conhecidas];
+        int n = 0;
+        for (int i = 0; i < segundos.length; i++) {
+            if (segundos[i] != Duracoes.DESCONHECIDA) {
+                chaves[n++] = ((long) segundos[i] << 32) | i;
+            }
+        }
+        Arrays.sort(chaves);
+        int[] ordenadas = new int[conhecidas];
+        int[] posicoes = new int[conhecidas];
+        for (int i = 0; i < conhecidas; i++) {
+            ordenadas[i] = (int) (chaves[i] >>> 32);
+            posicoes[i] = (int) chaves[i];
+        }
+        return new IndiceDuracao(segundos, ordenadas, posicoes);
+    }
+
+    /**
+     * Duração do hino na posição informada do catálogo, ou {@link Duracoes#DESCONHECIDA}.
+     */
+    public int segundos(int posicao) {
+        return segundos[posicao];
+    }
+
+    /**
+     * Quantidade de hinos com duração conhecida.
+     */
+    public int tamanho() {
+        return posicoes.length;
+    }
+
+    /**
+     * Posição no catálogo do i-ésimo hino em ordem de duração.
+     */
+    public int posicao(int i) {
+        return posicoes[i];
+    }
+
+    /**
+     * Primeiro índice (na ordem de duração) com duração maior ou igual a {@code segundos}.
+     */
+    public int primeiroAPartirDe(int segundos) {
+        int baixo = 0;
+        int alto = ordenadas.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ordenadas[meio] < segundos) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Índice (na ordem de duração) logo depois do último com duração até {@code segundos}.
+     */
+    public int fimAte(int segundos) {
+        return segundos == Integer.MAX_VALUE ? ordenadas.length : primeiroAPartirDe(segundos + 1);
+    }
+}
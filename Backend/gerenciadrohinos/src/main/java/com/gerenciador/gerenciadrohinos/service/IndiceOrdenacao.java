@@ -0,0 +1,95 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.Ordem;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Ordenação do catálogo por um critério ({@link Ordem}), calculada uma única vez
+ * por versão.
+ * <p>Guarda apenas as posições dos hinos na ordem desejada e a chave normalizada
+ * usada na comparação. A ordem é total (chave e, em caso de empate, posição na
+ * planilha), o que permite retomar uma listagem a partir do último item visto,
+ * mesmo que o catálogo tenha mudado entre uma página e outra.
+ */
+public final class IndiceOrdenacao {
+
+    private final Ordem ordem;
+    // Posições dos hinos no catálogo, na ordem desejada
+    private final int[] posicoes;
+    // Chave de ordenação de cada hino, indexada pela posição no catálogo
+    private final String[] chaves;
+
+    private IndiceOrdenacao(Ordem ordem, int[] posicoes, String[] chaves) {
+        this.ordem = ordem;
+        this.posicoes = posicoes;
+        this.chaves = chaves;
+    }
+
+    public static IndiceOrdenacao de(List<Hino> hinos, Ordem ordem) {
+        String[] chaves = new String[hinos.size()];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = chave(hinos.get(i), ordem);
+        }
+        int[] posicoes = IntStream.range(0, hinos.size())
+            .boxed()
+            .sorted(Comparator.<Integer, String>comparing(i -> chaves[i]).thenComparingInt(i -> i))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        return new IndiceOrdenacao(ordem, posicoes, chaves);
+    }
+
+    /**
+     * Chave de ordenação de um hino para o critério informado.
+     */
+    public static String chave(Hino hino, Ordem ordem) {
+        return switch (ordem) {
+            case INSERCAO -> "";
+            case TITULO -> Normalizador.normalizar(hino.titulo());
+            // O separador \u0000 garante que "ana" venha antes de "ana maria"
+            case ARTISTA -> Normalizador.normalizar(hino.artista()) + '\u0000' + Normalizador.normalizar(hino.titulo());
+        };
+    }
+
+    public int tamanho() {
+        return posicoes.length;
+    }
+
+    /**
+     * Posição no catálogo do i-ésimo hino nesta ordenação.
+     */
+    public int posicao(int i) {
+        return posicoes[i];
+    }
+
+    public String chaveDaPosicao(int posicao) {
+        return chaves[posicao];
+    }
+
+    /**
+     * Índice (nesta ordenação) do primeiro hino que vem depois do item
+     * identificado por sua chave e posição no catálogo.
+     */
+    public int inicioApos(String chave, int posicao) {
+        int baixo = 0;
+        int alto = posicoes.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            int candidato = posicoes[meio];
+            int comparacao = chaves[candidato].compareTo(chave);
+            if (comparacao < 0 || (comparacao == 0 && candidato <= posicao)) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    public Ordem ordem() {
+        return ordem;
+    }
+}
@@ -0,0 +1,157 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê um CSV em fluxo, um registro de cada vez (RFC 4180).
+ * <p>Aceita campos entre aspas (com aspas duplicadas e quebras de linha dentro
+ * deles), finais de linha CRLF ou LF e o BOM do UTF-8 que o Excel grava no
+ * início do arquivo. O separador é vírgula ou ponto e vírgula (como o Excel em
+ * português exporta), escolhido pelo que mais aparece na primeira linha.
+ */
+public final class LeitorCsv {
+
+    // Limite por campo, para que um arquivo sem aspas de fechamento não ocupe toda a memória
+    private static final int TAMANHO_MAXIMO_CAMPO = 64 * 1024;
+
+    // Quanto da primeira linha é examinado para escolher o separador
+    private static final int TAMANHO_AMOSTRA = 8 * 1024;
+
+    private final Reader entrada;
+    private final char separador;
+    // Caractere lido além do fim do registro anterior (-2 se não houver)
+    private int adiantado = -2;
+    private boolean inicio = true;
+    private int registro;
+
+    public LeitorCsv(Reader entrada, char separador) {
+        this.entrada = entrada;
+        this.separador = separador;
+    }
+
+    /**
+     * Cria um leitor com o separador que mais aparece na primeira linha.
+     */
+    public static LeitorCsv detectandoSeparador(BufferedReader entrada) throws IOException {
+        entrada.mark(TAMANHO_AMOSTRA);
+        int virgulas = 0;
+        int pontosEVirgulas = 0;
+        for (int i = 0; i < TAMANHO_AMOSTRA; i++) {
+            int c = entrada.read();
+            if (c == -1 || c == '\n') {
+                break;
+            }
+            if (c == ',') {
+                virgulas++;
+            } else if (c == ';') {
+                pontosEVirgulas++;
+            }
+        }
+        entrada.reset();
+        return new LeitorCsv(entrada, pontosEVirgulas > virgulas ? ';' : ',');
+    }
+
+    /**
+     * Número do último registro devolvido, contando a partir de 1 (linhas em branco não contam).
+     */
+    public int getRegistro() {
+        return registro;
+    }
+
+    /**
+     * Próximo registro, ou nulo no fim do arquivo. Linhas em branco são ignoradas.
+     * @throws IOException Se a leitura falhar ou um campo passar do tamanho máximo.
+     */
+    public List<String> proximo() throws IOException {
+        while (true) {
+            int c = ler();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                continue;
+            }
+            adiantado = c;
+            registro++;
+            return lerRegistro();
+        }
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        boolean campoComAspas = false;
+        while (true) {
+            int c = ler();
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new IOException("Campo entre aspas sem fechamento no registro " + registro + ".");
+                }
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        adicionar(campo, '"');
+                        continue;
+                    }
+                    entreAspas = false;
+                    c = seguinte;
+                } else {
+                    adicionar(campo, (char) c);
+                    continue;
+                }
+            }
+            if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    pularLf();
+                }
+                campos.add(campo.toString());
+                return campos;
+            }
+            if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                campoComAspas = false;
+            } else if (c == '"' && campo.isEmpty() && !campoComAspas) {
+                entreAspas = true;
+                campoComAspas = true;
+            } else {
+                adicionar(campo, (char) c);
+            }
+        }
+    }
+
+    private void adicionar(StringBuilder campo, char c) throws IOException {
+        if (campo.length() >= TAMANHO_MAXIMO_CAMPO) {
+            throw new IOException("Campo maior que " + TAMANHO_MAXIMO_CAMPO + " caracteres no registro " + registro + ".");
+        }
+        campo.append(c);
+    }
+
+    private void pularLf() throws IOException {
+        int c = ler();
+        if (c != '\n') {
+            adiantado = c;
+        }
+    }
+
+    private int ler() throws IOException {
+        if (adiantado != -2) {
+            int c = adiantado;
+            adiantado = -2;
+            return c;
+        }
+        int c = entrada.read();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = entrada.read();
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,172 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Lê, em fluxo, as linhas de um arquivo de importação de hinos (veja {@link ImportacaoHinos}).
+ * <p>Cada chamada de {@link #proxima()} consome só uma linha da entrada: o arquivo
+ * nunca é carregado inteiro na memória.
+ */
+public interface LeitorImportacao {
+
+    /**
+     * Uma linha do arquivo, já convertida em hino, ou o motivo de não ter sido possível.
+     * @param numero Posição da linha entre as linhas de dados, contando a partir de 1.
+     */
+    record Linha(
+        int numero,
+        Hino hino,
+        String erro
+    ){}
+
+    /**
+     * Próxima linha, ou nulo no fim do arquivo.
+     * @throws IOException Se a leitura falhar ou o arquivo estiver malformado a ponto
+     *                     de não ser possível continuar.
+     */
+    Linha proxima() throws IOException;
+
+    /**
+     * CSV com as colunas na ordem da planilha (título, artista, duração, link e
+     * adicionado por) ou com um cabeçalho que indique a ordem; vírgula ou ponto e vírgula.
+     */
+    static LeitorImportacao csv(Reader entrada) throws IOException {
+        return new Csv(LeitorCsv.detectandoSeparador(new BufferedReader(entrada)));
+    }
+
+    /**
+     * Array JSON de objetos com os campos do hino, ou um objeto por linha (NDJSON).
+     */
+    static LeitorImportacao json(Reader entrada) {
+        return new Json(new JsonReader(entrada));
+    }
+
+    // Posição da coluna a partir do nome (sem acentos, maiúsculas ou espaços), ou -1
+    private static int coluna(String nome) {
+        return switch (Normalizador.normalizar(nome).replace(" ", "")) {
+            case "titulo" -> 0;
+            case "artista" -> 1;
+            case "duracao" -> 2;
+            case "link" -> 3;
+            case "adicionadopor" -> 4;
+            default -> -1;
+        };
+    }
+
+    private static Hino paraHino(String[] celulas) {
+        return new Hino(celulas[0], celulas[1], celulas[2], celulas[3], celulas[4]);
+    }
+
+    final class Csv implements LeitorImportacao {
+
+        private final LeitorCsv leitor;
+        // Coluna do hino para cada campo do CSV (-1: ignorada); nulo até ler a primeira linha
+        private int[] colunas;
+        private int numero;
+
+        private Csv(LeitorCsv leitor) {
+            this.leitor = leitor;
+        }
+
+        @Override
+        public Linha proxima() throws IOException {
+            List<String> campos = leitor.proximo();
+            if (campos != null && colunas == null) {
+                colunas = cabecalho(campos);
+                if (colunas != null) {
+                    campos = leitor.proximo();
+                } else {
+                    colunas = new int[] {0, 1, 2, 3, 4};
+                }
+            }
+            if (campos == null) {
+                return null;
+            }
+            numero++;
+            String[] celulas = {LeitorValores.VAZIO, LeitorValores.VAZIO, LeitorValores.VAZIO,
+                LeitorValores.VAZIO, LeitorValores.VAZIO};
+            for (int i = 0; i < campos.size() && i < colunas.length; i++) {
+                if (colunas[i] >= 0) {
+                    celulas[colunas[i]] = campos.get(i);
+                }
+            }
+            return new Linha(numero, paraHino(celulas), null);
+        }
+
+        // A primeira linha é cabeçalho se tiver a coluna "título"
+        private static int[] cabecalho(List<String> campos) {
+            int[] colunas = new int[campos.size()];
+            boolean temTitulo = false;
+            for (int i = 0; i < campos.size(); i++) {
+                colunas[i] = coluna(campos.get(i));
+                temTitulo |= colunas[i] == 0;
+            }
+            return temTitulo ? colunas : null;
+        }
+    }
+
+    final class Json implements LeitorImportacao {
+
+        private final JsonReader json;
+        private boolean iniciado;
+        // Array JSON (true) ou objetos soltos, um por linha (false)
+        private boolean emArray;
+        private int numero;
+
+        private Json(JsonReader json) {
+            this.json = json;
+            // Necessário para ler vários valores na raiz (NDJSON)
+            json.setStrictness(Strictness.LENIENT);
+        }
+
+        @Override
+        public Linha proxima() throws IOException {
+            if (!iniciado) {
+                iniciado = true;
+                if (json.peek() == JsonToken.BEGIN_ARRAY) {
+                    json.beginArray();
+                    emArray = true;
+                }
+            }
+            if (emArray ? !json.hasNext() : json.peek() == JsonToken.END_DOCUMENT) {
+                return null;
+            }
+            numero++;
+            if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                json.skipValue();
+                return new Linha(numero, null, "Esperado um objeto com os campos do hino.");
+            }
+            String[] celulas = {LeitorValores.VAZIO, LeitorValores.VAZIO, LeitorValores.VAZIO,
+                LeitorValores.VAZIO, LeitorValores.VAZIO};
+            String erro = null;
+            json.beginObject();
+            while (json.hasNext()) {
+                int coluna = coluna(json.nextName());
+                JsonToken token = json.peek();
+                if (coluna < 0) {
+                    json.skipValue();
+                } else if (token == JsonToken.NULL) {
+                    json.nextNull();
+                } else if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                    celulas[coluna] = json.nextString();
+                } else if (token == JsonToken.BOOLEAN) {
+                    celulas[coluna] = String.valueOf(json.nextBoolean());
+                } else {
+                    json.skipValue();
+                    erro = "Campos do hino devem ser textos ou números.";
+                }
+            }
+            json.endObject();
+            return new Linha(numero, erro == null ? paraHino(celulas) : null, erro);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lê uma aba da planilha de forma incremental.
+ * <p>O catálogo é, na prática, só de inclusão (o 'append' sempre grava no final),
+ * então cada sincronização busca apenas as linhas depois da última já conhecida.
+ * A leitura começa na própria última linha conhecida: se ela não for mais igual à
+ * que foi lida antes (ou tiver sumido), alguém editou ou apagou linhas à mão, e é
+ * feita uma reconciliação completa.
+ * <p>Como a API não fornece um checksum da planilha, edições no meio da aba só são
+ * percebidas pela reconciliação completa periódica, que compara uma impressão
+ * digital de todas as linhas e só monta uma nova lista se ela tiver mudado.
+ * <p>Linhas sem título (por exemplo, linhas em branco no meio da aba) contam para a
+ * posição das linhas, mas não entram no catálogo.
+ * <p>Cada hino do catálogo tem um id ({@link IdentidadeHinos}): o da coluna F ou,
+ * nas linhas antigas sem ela, um derivado do conteúdo. O leitor guarda a linha de
+ * cada id, para que as edições pela API ({@link #aplicarAlteracao},
+ * {@link #aplicarRemocao}) saibam onde escrever sem ler a aba inteira.
+ */
+public class LeitorIncremental implements CacheCatalogo.Carregador {
+
+    private final HinoSource hinoSource;
+    private final String aba;
+    private final Duration intervaloReconciliacao;
+    private final Clock clock;
+    // Tempo gasto montando a lista de hinos a cada sincronização (opcional)
+    private final Timer tempoMapeamento;
+
+    // Estado da última sincronização: as linhas como estão na aba (inclusive as sem título)
+    // e os hinos do catálogo, já com id
+    private final List<Hino> linhas = new ArrayList<>();
+    private List<Hino> hinos = List.of();
+    // Índice em 'linhas' de cada id (a linha na planilha é o índice + 2)
+    private final Map<String, Integer> posicaoPorId = new HashMap<>();
+    // Quantas linhas sem id com o mesmo conteúdo já apareceram (veja IdentidadeHinos#idLegado)
+    private final Map<Long, Integer> ocorrencias = new HashMap<>();
+    private long impressaoDigital;
+    private Instant ultimaReconciliacao = Instant.MIN;
+    // Edições aplicadas pela API: uma leitura iniciada antes de uma delas pode estar desatualizada
+    private long edicoes;
+    // Lock em vez de 'synchronized': a leitura bloqueia em I/O e pode rodar em uma thread virtual
+    private final ReentrantLock trava = new ReentrantLock();
+
+    /**
+     * @param intervaloReconciliacao Intervalo entre duas leituras completas da aba.
+     */
+    public LeitorIncremental(HinoSource hinoSource, String aba, Duration intervaloReconciliacao, Clock clock) {
+        this(hinoSource, aba, intervaloReconciliacao, clock, null);
+    }
+
+    /**
+     * @param tempoMapeamento Timer que recebe o tempo de montagem da lista de hinos de cada sincronização.
+     */
+    public LeitorIncremental(HinoSource hinoSource, String aba, Duration intervaloReconciliacao, Clock clock,
+                             Timer tempoMapeamento) {
+        this.hinoSource = hinoSource;
+        this.aba = aba;
+        this.intervaloReconciliacao = intervaloReconciliacao;
+        this.clock = clock;
+        this.tempoMapeamento = tempoMapeamento;
+    }
+
+    @Override
+    public List<Hino> carregar() throws IOException {
+        trava.lock();
+        try {
+            int primeiraLinha = primeiraLinha();
+            List<Hino> hinosLidos = aplicar(primeiraLinha, hinoSource.lerHinos(aba, primeiraLinha), edicoes);
+            return hinosLidos != null ? hinosLidos : aplicar(2, hinoSource.lerHinos(aba, 2), edicoes);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Linha da planilha a partir da qual a próxima sincronização deve ler: a
+     * última já conhecida, ou a linha 2 (aba inteira) quando é hora de reconciliar.
+     * <p>Junto com {@link #aplicar}, permite que a leitura seja feita por fora,
+     * por exemplo junto com a de outras abas (veja {@link LeituraEmLote}).
+     */
+    public int primeiraLinha() {
+        trava.lock();
+        try {
+            if (linhas.isEmpty()
+                    || Duration.between(ultimaReconciliacao, clock.instant()).compareTo(intervaloReconciliacao) >= 0) {
+                return 2;
+            }
+            // Dados começam na linha 2: a última linha conhecida está na linha linhas.size() + 1
+            return linhas.size() + 1;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Quantidade de edições aplicadas até agora. Quem lê a aba por fora guarda este
+     * valor junto com a {@link #primeiraLinha()} e o devolve em {@link #aplicar}.
+     */
+    public long getEdicoes() {
+        trava.lock();
+        try {
+            return edicoes;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Incorpora as linhas lidas a partir de {@code primeiraLinha}, sem verificar edições.
+     */
+    public List<Hino> aplicar(int primeiraLinha, List<Hino> lidas) {
+        trava.lock();
+        try {
+            return aplicar(primeiraLinha, lidas, edicoes);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Incorpora as linhas lidas a partir de {@code primeiraLinha}.
+     * @param edicoesNaLeitura Valor de {@link #getEdicoes()} antes da leitura: se uma
+     *        edição foi aplicada depois, as linhas lidas podem ser anteriores a ela e
+     *        são descartadas.
+     * @return Os hinos da aba, ou nulo se a leitura incremental mostrou que a aba
+     *         foi alterada fora do final: é preciso ler a aba inteira (linha 2) e
+     *         chamar este método de novo.
+     */
+    public List<Hino> aplicar(int primeiraLinha, List<Hino> lidas, long edicoesNaLeitura) {
+        trava.lock();
+        try {
+            if (edicoesNaLeitura != edicoes) {
+                return hinos;
+            }
+            return primeiraLinha <= 2 ? reconciliar(lidas) : aplicarIncremental(lidas);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private List<Hino> aplicarIncremental(List<Hino> lidas) {
+        if (lidas.isEmpty() || !Objects.equals(lidas.get(0), linhas.get(linhas.size() - 1))) {
+            System.out.println("-> Planilha '" + aba + "' alterada fora do final; fazendo reconciliação completa.");
+            return null;
+        }
+        if (lidas.size() == 1) {
+            return hinos;
+        }
+
+        List<Hino> novas = lidas.subList(1, lidas.size());
+        System.out.println("-> Planilha '" + aba + "': " + novas.size() + " linha(s) nova(s) sincronizada(s).");
+        List<Hino> atualizados = new ArrayList<>(hinos.size() + novas.size());
+        atualizados.addAll(hinos);
+        long inicio = System.nanoTime();
+        for (Hino linha : novas) {
+            impressaoDigital = combinar(impressaoDigital, linha);
+            linhas.add(linha);
+            adicionarComTitulo(atualizados, linha, linhas.size() - 1);
+        }
+        medirMapeamento(inicio);
+        hinos = List.copyOf(atualizados);
+        return hinos;
+    }
+
+    /**
+     * Linha da planilha do hino com este id, ou nulo se ele não estiver na última leitura
+     * (por exemplo, um hino ainda na fila de escrita).
+     */
+    public Integer linhaDe(String id) {
+        trava.lock();
+        try {
+            Integer posicao = posicaoPorId.get(id);
+            return posicao == null ? null : posicao + 2;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Registra que a linha {@code linha}, do hino {@code id}, foi regravada com {@code novo}
+     * (que deve ter o mesmo id).
+     * @return Os hinos da aba, ou nulo se a linha não era mais a do hino: é preciso
+     *         uma reconciliação ({@link #exigirReconciliacao()}).
+     */
+    public List<Hino> aplicarAlteracao(int linha, String id, Hino novo) {
+        trava.lock();
+        try {
+            if (!Objects.equals(posicaoPorId.get(id), linha - 2)) {
+                return null;
+            }
+            linhas.set(linha - 2, novo);
+            return aposEdicao();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Registra que a linha {@code linha}, do hino {@code id}, foi apagada da aba
+     * (as linhas de baixo sobem uma posição).
+     * @return Os hinos da aba, ou nulo se a linha não era mais a do hino.
+     */
+    public List<Hino> aplicarRemocao(int linha, String id) {
+        trava.lock();
+        try {
+            if (!Objects.equals(posicaoPorId.get(id), linha - 2)) {
+                return null;
+            }
+            linhas.remove(linha - 2);
+            return aposEdicao();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Faz a próxima sincronização ler a aba inteira.
+     */
+    public void exigirReconciliacao() {
+        trava.lock();
+        try {
+            ultimaReconciliacao = Instant.MIN;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Uma edição muda posições e ids no meio da aba: o índice é refeito por inteiro (O(n))
+    private List<Hino> aposEdicao() {
+        edicoes++;
+        long impressao = 0;
+        for (Hino linha : linhas) {
+            impressao = combinar(impressao, linha);
+        }
+        impressaoDigital = impressao;
+        indexar();
+        return hinos;
+    }
+
+    /**
+     * Quantidade de linhas de dados conhecidas na última sincronização.
+     */
+    public int getLinhasLidas() {
+        trava.lock();
+        try {
+            return linhas.size();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Incorpora a aba inteira. A lista só é montada de novo se o conteúdo tiver mudado.
+     */
+    private List<Hino> reconciliar(List<Hino> lidas) {
+        ultimaReconciliacao = clock.instant();
+
+        long impressao = 0;
+        for (Hino linha : lidas) {
+            impressao = combinar(impressao, linha);
+        }
+        if (!linhas.isEmpty() && impressao == impressaoDigital && lidas.size() == linhas.size()) {
+            return hinos;
+        }
+
+        long inicio = System.nanoTime();
+        linhas.clear();
+        linhas.addAll(lidas);
+        indexar();
+        medirMapeamento(inicio);
+        impressaoDigital = impressao;
+        return hinos;
+    }
+
+    // Monta os hinos e o índice de ids a partir de todas as linhas
+    private void indexar() {
+        posicaoPorId.clear();
+        ocorrencias.clear();
+        List<Hino> mapeados = new ArrayList<>(linhas.size());
+        for (int i = 0; i < linhas.size(); i++) {
+            adicionarComTitulo(mapeados, linhas.get(i), i);
+        }
+        hinos = List.copyOf(mapeados);
+    }
+
+    private void medirMapeamento(long inicio) {
+        if (tempoMapeamento != null) {
+            tempoMapeamento.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void adicionarComTitulo(List<Hino> destino, Hino linha, int posicao) {
+        if (linha.titulo().isBlank()) {
+            return;
+        }
+        // Um id repetido (linha copiada à mão, por exemplo) vale só para a primeira linha
+        Hino hino = linha;
+        if (linha.id() == null || posicaoPorId.containsKey(linha.id())) {
+            int ocorrencia = ocorrencias.merge(IdentidadeHinos.resumoConteudo(linha), 1, Integer::sum) - 1;
+            hino = IdentidadeHinos.comId(linha, IdentidadeHinos.idLegado(linha, ocorrencia));
+        }
+        posicaoPorId.put(hino.id(), posicao);
+        destino.add(hino);
+    }
+
+    // Impressão digital acumulada das linhas, na ordem em que aparecem
+    private static long combinar(long impressao, Hino linha) {
+        return impressao * 1_000_003L + linha.hashCode();
+    }
+}
@@ -0,0 +1,160 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte as linhas da planilha (colunas A a F) em {@link Hino}.
+ * <p>A resposta JSON do {@code values.get} (ou do {@code values.batchGet}) é lida em fluxo, com o {@link JsonReader}
+ * do Gson, direto para os hinos: sem montar o {@code ValueRange} do cliente do
+ * Google, a lista de listas de células e as cópias intermediárias. As colunas que
+ * mais se repetem (artista, duração e "adicionado por") passam a apontar para uma
+ * única String por valor, o que reduz a memória ocupada pelo catálogo.
+ * <p>Linhas curtas não são descartadas: a planilha omite as células vazias do
+ * final da linha, e elas viram {@link #VAZIO}. Cada linha da planilha gera
+ * exatamente um hino, para que a posição na lista continue sendo a posição na aba;
+ * linhas sem título são ignoradas por quem monta o catálogo. A coluna F (id) vazia
+ * vira {@code null}: o id dessas linhas é atribuído pelo {@link LeitorIncremental}.
+ * <p>As leituras pedem os valores sem formatação ({@code UNFORMATTED_VALUE}, datas e
+ * horas como número de série): uma duração que a planilha guardou como hora chega
+ * como fração de dia e é convertida por {@link Duracoes#deNumeroDeSerie}.
+ */
+public final class LeitorValores {
+
+    // Valor usado para as células ausentes
+    public static final String VAZIO = "";
+
+    private static final int COLUNAS = 6;
+    // Coluna C
+    private static final int COLUNA_DURACAO = 2;
+
+    private LeitorValores() {
+    }
+
+    /**
+     * Lê uma resposta do {@code values.get} ({@code {"range": ..., "values": [[...], ...]}}).
+     */
+    public static List<Hino> lerValueRange(Reader entrada) throws IOException {
+        try (JsonReader json = new JsonReader(entrada)) {
+            return lerValueRange(json);
+        }
+    }
+
+    /**
+     * Lê uma resposta do {@code values.batchGet} ({@code {"valueRanges": [{...}, ...]}}).
+     * @return Os hinos de cada intervalo, na ordem em que foram pedidos.
+     */
+    public static List<List<Hino>> lerValueRanges(Reader entrada) throws IOException {
+        try (JsonReader json = new JsonReader(entrada)) {
+            List<List<Hino>> intervalos = new ArrayList<>();
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("valueRanges")) {
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        intervalos.add(lerValueRange(json));
+                    }
+                    json.endArray();
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+            return intervalos;
+        }
+    }
+
+    private static List<Hino> lerValueRange(JsonReader json) throws IOException {
+        List<Hino> hinos = List.of();
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("values")) {
+                hinos = lerLinhas(json);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return hinos;
+    }
+
+    /**
+     * Lê um array de linhas ({@code [[...], ...]}) a partir da posição atual.
+     */
+    public static List<Hino> lerLinhas(JsonReader json) throws IOException {
+        List<Hino> hinos = new ArrayList<>();
+        Map<String, String> repetidos = new HashMap<>();
+        String[] celulas = new String[COLUNAS];
+        json.beginArray();
+        while (json.hasNext()) {
+            json.beginArray();
+            int coluna = 0;
+            while (json.hasNext()) {
+                if (coluna == COLUNA_DURACAO && json.peek() == JsonToken.NUMBER) {
+                    celulas[coluna++] = Duracoes.deNumeroDeSerie(json.nextDouble());
+                } else if (coluna < COLUNAS) {
+                    celulas[coluna++] = lerCelula(json);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endArray();
+            while (coluna < COLUNAS) {
+                celulas[coluna++] = VAZIO;
+            }
+            hinos.add(new Hino(celulas[0], unica(repetidos, celulas[1]), unica(repetidos, celulas[2]),
+                celulas[3], unica(repetidos, celulas[4]), id(celulas[5])));
+        }
+        json.endArray();
+        return hinos;
+    }
+
+    /**
+     * Converte uma linha já lida (lista de células), com as mesmas regras da leitura em fluxo.
+     */
+    public static Hino paraHino(List<Object> linha) {
+        return new Hino(celula(linha, 0), celula(linha, 1), celula(linha, 2), celula(linha, 3), celula(linha, 4),
+            id(celula(linha, 5)));
+    }
+
+    private static String id(String celula) {
+        return celula.isEmpty() ? null : celula;
+    }
+
+    private static String celula(List<Object> linha, int coluna) {
+        if (coluna >= linha.size() || linha.get(coluna) == null) {
+            return VAZIO;
+        }
+        if (coluna == COLUNA_DURACAO && linha.get(coluna) instanceof Number numero) {
+            return Duracoes.deNumeroDeSerie(numero.doubleValue());
+        }
+        return linha.get(coluna).toString();
+    }
+
+    private static String lerCelula(JsonReader json) throws IOException {
+        JsonToken token = json.peek();
+        if (token == JsonToken.NULL) {
+            json.nextNull();
+            return VAZIO;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(json.nextBoolean());
+        }
+        // Números das outras colunas (um título "1984", por exemplo) viram texto
+        return json.nextString();
+    }
+
+    private static String unica(Map<String, String> repetidos, String valor) {
+        String existente = repetidos.putIfAbsent(valor, valor);
+        return existente == null ? valor : existente;
+    }
+}
@@ -0,0 +1,163 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Lê todas as abas do catálogo (uma por grupo de hinos) em uma única chamada à fonte.
+ * <p>Cada grupo tem o seu {@link CacheCatalogo}, mas o carregador de todos eles é
+ * esta mesma leitura: o cache que vencer primeiro dispara a leitura de todas as abas
+ * (um {@code values.batchGet}) e os que vencerem enquanto ela estiver em andamento
+ * aguardam o mesmo resultado ("single-flight"). As abas que não pediram a leitura
+ * recebem a sua parte pelo ouvinte de {@link #aoLer}. Assim, acrescentar grupos não
+ * multiplica as chamadas à planilha nem a latência da atualização.
+ * <p>Uma aba invalidada (depois de uma gravação, por exemplo) não aproveita uma
+ * leitura que começou antes da invalidação: espera ela terminar e pede a próxima.
+ * <p>Cada aba continua sendo lida de forma incremental pelo seu {@link LeitorIncremental};
+ * quando uma delas precisa de uma reconciliação fora de hora, só ela é relida.
+ */
+public class LeituraEmLote {
+
+    private final HinoSource hinoSource;
+    // Leitor de cada aba, na ordem dos grupos
+    private final Map<String, LeitorIncremental> leitores = new LinkedHashMap<>();
+    // Leitura em andamento, compartilhada por todos os caches (nula se não houver)
+    private final AtomicReference<Leitura> emAndamento = new AtomicReference<>();
+    // Ordena inícios de leitura e invalidações, e o momento da última invalidação de cada aba
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Map<String, Long> invalidadaEm = new ConcurrentHashMap<>();
+    // Avisado com os hinos de cada aba a cada leitura concluída
+    private volatile BiConsumer<String, List<Hino>> aoLer = (aba, hinos) -> { };
+
+    public LeituraEmLote(HinoSource hinoSource) {
+        this.hinoSource = hinoSource;
+    }
+
+    /**
+     * Inclui uma aba na leitura. Deve ser chamado antes da primeira leitura.
+     */
+    public void registrar(String aba, LeitorIncremental leitor) {
+        leitores.put(aba, leitor);
+    }
+
+    /**
+     * Define quem recebe os hinos de cada aba depois de cada leitura.
+     */
+    public void aoLer(BiConsumer<String, List<Hino>> ouvinte) {
+        this.aoLer = ouvinte;
+    }
+
+    /**
+     * Carregador para o cache de uma aba: devolve a parte dela na leitura de todas.
+     */
+    public CacheCatalogo.Carregador carregador(String aba) {
+        return () -> ler(aba);
+    }
+
+    /**
+     * Indica que a aba pode ter mudado agora: a próxima leitura dela não pode ser
+     * uma que já estava em andamento.
+     */
+    public void invalidar(String aba) {
+        invalidadaEm.put(aba, sequencia.incrementAndGet());
+    }
+
+    private List<Hino> ler(String aba) throws IOException {
+        while (true) {
+            Leitura existente = emAndamento.get();
+            if (existente != null) {
+                Map<String, List<Hino>> hinosPorAba = aguardar(existente.futuro());
+                if (invalidadaEm.getOrDefault(aba, 0L) < existente.inicio()) {
+                    return hinosPorAba.get(aba);
+                }
+                // Começou antes da invalidação: a aba precisa da próxima leitura
+                continue;
+            }
+            Leitura nova = new Leitura(sequencia.incrementAndGet(), new CompletableFuture<>());
+            if (emAndamento.compareAndSet(null, nova)) {
+                return executar(nova).get(aba);
+            }
+        }
+    }
+
+    private Map<String, List<Hino>> executar(Leitura leitura) throws IOException {
+        try {
+            Map<String, List<Hino>> hinosPorAba = lerTodas();
+            emAndamento.compareAndSet(leitura, null);
+            leitura.futuro().complete(hinosPorAba);
+            hinosPorAba.forEach((aba, hinos) -> aoLer.accept(aba, hinos));
+            return hinosPorAba;
+        } catch (IOException | RuntimeException e) {
+            emAndamento.compareAndSet(leitura, null);
+            leitura.futuro().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Map<String, List<Hino>> lerTodas() throws IOException {
+        Map<String, Integer> primeiraLinhaPorAba = new LinkedHashMap<>();
+        Map<String, Long> edicoesPorAba = new LinkedHashMap<>();
+        leitores.forEach((aba, leitor) -> {
+            edicoesPorAba.put(aba, leitor.getEdicoes());
+            primeiraLinhaPorAba.put(aba, leitor.primeiraLinha());
+        });
+
+        // Com uma única aba, a leitura simples (values.get) é a mesma chamada e uma resposta menor
+        Map<String, List<Hino>> lidos;
+        if (primeiraLinhaPorAba.size() == 1) {
+            Map.Entry<String, Integer> unica = primeiraLinhaPorAba.entrySet().iterator().next();
+            lidos = Map.of(unica.getKey(), hinoSource.lerHinos(unica.getKey(), unica.getValue()));
+        } else {
+            lidos = hinoSource.lerHinos(primeiraLinhaPorAba);
+        }
+
+        Map<String, List<Hino>> hinosPorAba = new LinkedHashMap<>();
+        for (Map.Entry<String, LeitorIncremental> entrada : leitores.entrySet()) {
+            String aba = entrada.getKey();
+            LeitorIncremental leitor = entrada.getValue();
+            List<Hino> hinos = leitor.aplicar(primeiraLinhaPorAba.get(aba), lidos.getOrDefault(aba, List.of()),
+                edicoesPorAba.get(aba));
+            if (hinos == null) {
+                long edicoes = leitor.getEdicoes();
+                hinos = leitor.aplicar(2, hinoSource.lerHinos(aba, 2), edicoes);
+            }
+            hinosPorAba.put(aba, hinos);
+        }
+        return hinosPorAba;
+    }
+
+    // Leitura de todas as abas, com o número de sequência do seu início
+    private record Leitura(
+        long inicio,
+        CompletableFuture<Map<String, List<Hino>>> futuro
+    ) {}
+
+    private static Map<String, List<Hino>> aguardar(CompletableFuture<Map<String, List<Hino>>> futuro)
+            throws IOException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera pela leitura das abas interrompida.");
+        }
+    }
+}
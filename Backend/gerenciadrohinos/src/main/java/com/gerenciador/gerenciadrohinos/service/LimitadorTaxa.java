@@ -0,0 +1,109 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limitador de taxa por "balde de fichas" (token bucket), dimensionado pela
+ * quota por minuto da Google Sheets API.
+ * <p>O balde começa cheio, com uma ficha por chamada permitida no minuto, e é
+ * reabastecido continuamente na mesma taxa. Cada chamada consome uma ficha; sem
+ * fichas, a chamada espera até o tempo máximo e, depois disso, é recusada sem
+ * chegar à API (que responderia 429).
+ */
+public class LimitadorTaxa {
+
+    private static final long NANOS_POR_MINUTO = TimeUnit.MINUTES.toNanos(1);
+
+    private final int capacidade;
+    private final double fichasPorNano;
+    private final Duration esperaMaxima;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition reabastecido = trava.newCondition();
+    private double fichas;
+    private long ultimoReabastecimento = System.nanoTime();
+
+    // Chamadas que precisaram esperar por uma ficha / que foram recusadas
+    private final AtomicLong atrasadas = new AtomicLong();
+    private final AtomicLong recusadas = new AtomicLong();
+
+    /**
+     * @param chamadasPorMinuto Quota da API (tamanho do balde e taxa de reabastecimento).
+     * @param esperaMaxima Quanto tempo uma chamada pode esperar por uma ficha.
+     */
+    public LimitadorTaxa(int chamadasPorMinuto, Duration esperaMaxima) {
+        this.capacidade = chamadasPorMinuto;
+        this.fichasPorNano = (double) chamadasPorMinuto / NANOS_POR_MINUTO;
+        this.esperaMaxima = esperaMaxima;
+        this.fichas = chamadasPorMinuto;
+    }
+
+    /**
+     * Consome uma ficha, esperando por ela se necessário.
+     * @throws PlanilhaIndisponivelException Se nenhuma ficha ficar livre no tempo máximo.
+     * @throws InterruptedException Se a espera for interrompida.
+     */
+    public void adquirir() throws PlanilhaIndisponivelException, InterruptedException {
+        long prazo = System.nanoTime() + esperaMaxima.toNanos();
+        boolean esperou = false;
+        trava.lock();
+        try {
+            while (true) {
+                reabastecer();
+                if (fichas >= 1) {
+                    fichas -= 1;
+                    if (esperou) {
+                        atrasadas.incrementAndGet();
+                    }
+                    return;
+                }
+                long falta = (long) Math.ceil((1 - fichas) / fichasPorNano);
+                long restante = prazo - System.nanoTime();
+                if (falta > restante) {
+                    recusadas.incrementAndGet();
+                    throw new PlanilhaIndisponivelException("Quota de chamadas à planilha esgotada.",
+                        Duration.ofNanos(falta));
+                }
+                esperou = true;
+                reabastecido.awaitNanos(falta);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Fichas disponíveis no momento (entre 0 e a capacidade).
+     */
+    public double getFichasDisponiveis() {
+        trava.lock();
+        try {
+            reabastecer();
+            return fichas;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public long getAtrasadas() {
+        return atrasadas.get();
+    }
+
+    public long getRecusadas() {
+        return recusadas.get();
+    }
+
+    private void reabastecer() {
+        long agora = System.nanoTime();
+        fichas = Math.min(capacidade, fichas + (agora - ultimoReabastecimento) * fichasPorNano);
+        ultimoReabastecimento = agora;
+    }
+}
@@ -0,0 +1,212 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementação local de {@link HinoSource}, usada para desenvolvimento e testes
+ * de carga sem rede nem credenciais ({@code hinos.fonte=local}).
+ * <p>As abas ficam em um arquivo JSON no formato {@code {"Planilha1": [[...], ...]}},
+ * equivalente às linhas devolvidas pelo {@code values.get} da Sheets API (sem o
+ * cabeçalho). Para simular o comportamento real da API é possível configurar uma
+ * latência artificial por chamada e uma taxa de erros, que são lançados como
+ * {@link HttpResponseException} com o status configurado.
+ * <p>Alterações feitas à mão no arquivo são recarregadas na leitura seguinte,
+ * simulando edições feitas diretamente na planilha.
+ */
+@Component
+@ConditionalOnProperty(name = "hinos.fonte", havingValue = "local")
+public class LocalHinoSource implements HinoSource {
+
+    // Conteúdo inicial usado quando o arquivo ainda não existe
+    private static final String EXEMPLO_PATH = "hinos-exemplo.json";
+
+    @Value("${hinos.local.arquivo:hinos-local.json}")
+    private String caminhoArquivo;
+
+    @Value("${hinos.local.latencia-ms:0}")
+    private long latenciaMs;
+
+    @Value("${hinos.local.latencia-variacao-ms:0}")
+    private long latenciaVariacaoMs;
+
+    // Probabilidade (0.0 a 1.0) de cada chamada falhar
+    @Value("${hinos.local.taxa-erro:0.0}")
+    private double taxaErro;
+
+    @Value("${hinos.local.status-erro:503}")
+    private int statusErro;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, List<List<Object>>> abas = new LinkedHashMap<>();
+    private Path arquivo;
+    // Data de modificação do arquivo na última carga/gravação
+    private FileTime modificadoEm;
+
+    @PostConstruct
+    public void init() throws IOException {
+        this.arquivo = Path.of(caminhoArquivo);
+        if (Files.exists(arquivo)) {
+            recarregar();
+        } else {
+            try (InputStream in = new ClassPathResource(EXEMPLO_PATH).getInputStream()) {
+                ler(in).forEach((aba, linhas) -> abas.put(aba, new ArrayList<>(linhas)));
+            }
+        }
+        System.out.println("-> Fonte local de hinos inicializada a partir de " + arquivo.toAbsolutePath());
+    }
+
+    @Override
+    public List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            recarregarSeAlterado();
+            return lerAba(aba, primeiraLinha);
+        }
+    }
+
+    /**
+     * Lê todas as abas pedidas com uma única latência simulada, como um {@code values.batchGet}.
+     */
+    @Override
+    public Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            recarregarSeAlterado();
+            Map<String, List<Hino>> hinosPorAba = new LinkedHashMap<>();
+            primeiraLinhaPorAba.forEach((aba, primeiraLinha) -> hinosPorAba.put(aba, lerAba(aba, primeiraLinha)));
+            return hinosPorAba;
+        }
+    }
+
+    private List<Hino> lerAba(String aba, int primeiraLinha) {
+        List<List<Object>> linhas = abas.getOrDefault(aba, List.of());
+        // A linha 1 é o cabeçalho, que não é armazenado
+        int inicio = Math.max(primeiraLinha - 2, 0);
+        if (inicio >= linhas.size()) {
+            return List.of();
+        }
+        List<Hino> hinos = new ArrayList<>(linhas.size() - inicio);
+        for (List<Object> linha : linhas.subList(inicio, linhas.size())) {
+            hinos.add(LeitorValores.paraHino(linha));
+        }
+        return hinos;
+    }
+
+    @Override
+    public void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            abas.computeIfAbsent(aba, a -> new ArrayList<>()).addAll(linhas);
+            salvar();
+        }
+    }
+
+    @Override
+    public Hino lerLinha(String aba, int linha) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            recarregarSeAlterado();
+            List<List<Object>> linhas = abas.getOrDefault(aba, List.of());
+            return LeitorValores.paraHino(linha - 2 < linhas.size() ? linhas.get(linha - 2) : List.of());
+        }
+    }
+
+    @Override
+    public void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            List<List<Object>> linhas = abas.computeIfAbsent(aba, a -> new ArrayList<>());
+            // Como a planilha, escrever além do final cria as linhas em branco do meio
+            while (linhas.size() < linha - 1) {
+                linhas.add(List.of());
+            }
+            linhas.set(linha - 2, valores);
+            salvar();
+        }
+    }
+
+    @Override
+    public void removerLinha(String aba, int linha) throws IOException {
+        simularChamada();
+        synchronized (abas) {
+            List<List<Object>> linhas = abas.getOrDefault(aba, new ArrayList<>());
+            if (linha - 2 < linhas.size()) {
+                linhas.remove(linha - 2);
+                salvar();
+            }
+        }
+    }
+
+    /**
+     * Aplica a latência e a taxa de erros configuradas.
+     */
+    private void simularChamada() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long espera = latenciaMs + (latenciaVariacaoMs > 0 ? random.nextLong(latenciaVariacaoMs + 1) : 0);
+        if (espera > 0) {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Chamada à fonte local interrompida");
+            }
+        }
+        if (taxaErro > 0 && random.nextDouble() < taxaErro) {
+            throw new HttpResponseException.Builder(statusErro, "Erro simulado pela fonte local", new HttpHeaders())
+                .build();
+        }
+    }
+
+    private void recarregarSeAlterado() throws IOException {
+        if (Files.exists(arquivo) && !Files.getLastModifiedTime(arquivo).equals(modificadoEm)) {
+            recarregar();
+        }
+    }
+
+    private void recarregar() throws IOException {
+        modificadoEm = Files.getLastModifiedTime(arquivo);
+        try (InputStream in = Files.newInputStream(arquivo)) {
+            abas.clear();
+            ler(in).forEach((aba, linhas) -> abas.put(aba, new ArrayList<>(linhas)));
+        }
+    }
+
+    private Map<String, List<List<Object>>> ler(InputStream in) throws IOException {
+        return objectMapper.readValue(in, new TypeReference<LinkedHashMap<String, List<List<Object>>>>() {});
+    }
+
+    // Grava em um arquivo temporário e substitui o original, para nunca deixar o JSON pela metade
+    private void salvar() throws IOException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        Files.createDirectories(pasta);
+        Path temporario = Files.createTempFile(pasta, "hinos-", ".tmp");
+        objectMapper.writeValue(temporario.toFile(), abas);
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        modificadoEm = Files.getLastModifiedTime(arquivo);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Escolhe, entre hinos candidatos, um conjunto cuja duração total fique o mais
+ * perto possível da duração desejada para o culto.
+ * <p>É o problema da soma de subconjuntos, resolvido por programação dinâmica
+ * sobre os segundos: {@code anterior[s]} guarda o candidato que tornou a soma
+ * {@code s} alcançável pela primeira vez. Como uma soma só é marcada a partir de
+ * outra alcançada com candidatos anteriores, basta voltar por esse array para
+ * reconstruir a escolha. O custo é O(candidatos × segundos) em tempo e
+ * O(segundos) em memória: com 500 candidatos e um culto de duas horas, alguns
+ * milissegundos.
+ */
+public final class MontadorRepertorio {
+
+    private static final int NENHUM = -1;
+
+    private MontadorRepertorio() {
+    }
+
+    /**
+     * @param duracoes Duração de cada candidato, em segundos (todas positivas).
+     * @param alvo Duração desejada, em segundos.
+     * @param tolerancia Quanto o total pode passar do alvo, em segundos.
+     * @return Índices (em {@code duracoes}) dos candidatos escolhidos; o total é a soma
+     *         alcançável mais próxima do alvo que não passa de {@code alvo + tolerancia}.
+     */
+    public static List<Integer> escolher(int[] duracoes, int alvo, int tolerancia) {
+        int limite = alvo + tolerancia;
+        int[] anterior = new int[limite + 1];
+        Arrays.fill(anterior, NENHUM);
+        boolean[] alcancavel = new boolean[limite + 1];
+        alcancavel[0] = true;
+        int maiorAlcancada = 0;
+
+        for (int i = 0; i < duracoes.length; i++) {
+            int duracao = duracoes[i];
+            if (duracao <= 0 || duracao > limite) {
+                continue;
+            }
+            // De trás para frente: cada candidato entra no máximo uma vez
+            for (int soma = Math.min(limite, maiorAlcancada + duracao); soma >= duracao; soma--) {
+                if (!alcancavel[soma] && alcancavel[soma - duracao]) {
+                    alcancavel[soma] = true;
+                    anterior[soma] = i;
+                }
+            }
+            maiorAlcancada = Math.min(limite, maiorAlcancada + duracao);
+            if (alcancavel[alvo]) {
+                break;
+            }
+        }
+
+        int melhor = 0;
+        for (int soma = limite; soma > 0; soma--) {
+            if (alcancavel[soma] && Math.abs(soma - alvo) < Math.abs(melhor - alvo)) {
+                melhor = soma;
+            }
+        }
+        List<Integer> escolhidos = new ArrayList<>();
+        for (int soma = melhor; soma > 0; soma -= duracoes[anterior[soma]]) {
+            escolhidos.add(anterior[soma]);
+        }
+        return escolhidos.reversed();
+    }
+}
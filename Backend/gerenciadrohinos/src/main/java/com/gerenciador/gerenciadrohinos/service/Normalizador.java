@@ -0,0 +1,30 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de textos usada como chave nos índices do catálogo.
+ * <p>Remove acentos, converte para minúsculas e elimina espaços repetidos,
+ * de forma que "  Harpa  Cristã" e "harpa crista" gerem a mesma chave.
+ */
+public final class Normalizador {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private Normalizador() {
+    }
+
+    /**
+     * Retorna a forma normalizada do texto (nunca nulo).
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
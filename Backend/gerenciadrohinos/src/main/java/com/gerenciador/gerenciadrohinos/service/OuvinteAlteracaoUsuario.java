@@ -0,0 +1,30 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Esvazia o {@link CacheUsuarios} sempre que um usuário ou uma role é
+ * criado, alterado ou removido, para que senha e permissões novas valham
+ * já na próxima requisição.
+ * <p>Registrado nas entidades com {@code @EntityListeners}; o Hibernate obtém a
+ * instância pelo Spring, que injeta o cache. Alterações feitas só na tabela
+ * user_roles (sem mudar o usuário) não disparam estes eventos no Hibernate;
+ * elas passam a valer quando a entrada expira no cache.
+ */
+public class OuvinteAlteracaoUsuario {
+
+    private final CacheUsuarios cacheUsuarios;
+
+    public OuvinteAlteracaoUsuario(CacheUsuarios cacheUsuarios) {
+        this.cacheUsuarios = cacheUsuarios;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Object entidade) {
+        cacheUsuarios.limpar();
+    }
+}
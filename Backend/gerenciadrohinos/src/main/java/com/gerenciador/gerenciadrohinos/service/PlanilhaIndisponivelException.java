@@ -0,0 +1,24 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A planilha não pode ser chamada agora: o circuito está aberto ou a quota de
+ * chamadas por minuto se esgotou. Nenhuma chamada à Google Sheets API foi feita.
+ * <p>Informa quanto tempo esperar antes de tentar de novo (vira o cabeçalho
+ * Retry-After da resposta 503).
+ */
+public class PlanilhaIndisponivelException extends IOException {
+
+    private final Duration tentarApos;
+
+    public PlanilhaIndisponivelException(String mensagem, Duration tentarApos) {
+        super(mensagem);
+        this.tentarApos = tentarApos;
+    }
+
+    public Duration getTentarApos() {
+        return tentarApos;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Campos de {@link Hino} pedidos em uma listagem (parâmetro {@code fields=}), na
+ * ordem em que foram informados.
+ * <p>Escreve os hinos direto no gerador do Jackson, sem passar pela serialização
+ * do record: como objetos (só com os campos pedidos) ou no formato colunar, em
+ * que os nomes dos campos aparecem uma vez e cada campo vira um array de valores:
+ * <pre>{"versao":7,"quantidade":2,"campos":["titulo","artista"],
+ *  "colunas":[["Hino A","Hino B"],["Artista A","Artista B"]]}</pre>
+ * Sem projeção, os objetos saem iguais aos do record (todos os campos, nulos inclusive).
+ */
+public final class ProjecaoHinos {
+
+    // Campos do record Hino, na ordem das colunas da planilha
+    private static final List<String> CAMPOS = List.of("titulo", "artista", "duracao", "link", "adicionadoPor", "id");
+
+    /**
+     * Todos os campos, na ordem do record.
+     */
+    public static final ProjecaoHinos COMPLETA = new ProjecaoHinos(new int[] {0, 1, 2, 3, 4, 5});
+
+    // Índices em CAMPOS dos campos pedidos
+    private final int[] campos;
+
+    private ProjecaoHinos(int[] campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * Lê a lista de campos separados por vírgula ("titulo,artista"). Vazia ou nula
+     * equivale a {@link #COMPLETA}; campos repetidos são ignorados.
+     * @throws IllegalArgumentException Se algum campo não existir no hino.
+     */
+    public static ProjecaoHinos de(String lista) {
+        if (lista == null || lista.isBlank()) {
+            return COMPLETA;
+        }
+        List<Integer> escolhidos = new ArrayList<>();
+        for (String nome : lista.split(",")) {
+            if (nome.isBlank()) {
+                continue;
+            }
+            int campo = indiceDoCampo(nome.trim());
+            if (campo < 0) {
+                throw new IllegalArgumentException("Campo desconhecido em 'fields': " + nome.trim()
+                    + " (use " + String.join(", ", CAMPOS) + ")");
+            }
+            if (!escolhidos.contains(campo)) {
+                escolhidos.add(campo);
+            }
+        }
+        if (escolhidos.isEmpty()) {
+            return COMPLETA;
+        }
+        return new ProjecaoHinos(escolhidos.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Aceita o nome sem diferenciar maiúsculas ("adicionadopor")
+    private static int indiceDoCampo(String nome) {
+        for (int i = 0; i < CAMPOS.size(); i++) {
+            if (CAMPOS.get(i).toLowerCase(Locale.ROOT).equals(nome.toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Identifica a projeção (nomes dos campos na ordem pedida), para compor chaves de cache.
+     */
+    public String chave() {
+        StringBuilder chave = new StringBuilder();
+        for (int campo : campos) {
+            chave.append(chave.isEmpty() ? "" : ",").append(CAMPOS.get(campo));
+        }
+        return chave.toString();
+    }
+
+    /**
+     * Escreve um hino como objeto JSON, só com os campos da projeção.
+     */
+    public void escrever(JsonGenerator gerador, Hino hino) throws IOException {
+        gerador.writeStartObject();
+        for (int campo : campos) {
+            gerador.writeStringField(CAMPOS.get(campo), valor(hino, campo));
+        }
+        gerador.writeEndObject();
+    }
+
+    /**
+     * Escreve os hinos como um array de objetos.
+     */
+    public void escreverObjetos(JsonGenerator gerador, List<Hino> hinos) throws IOException {
+        gerador.writeStartArray();
+        for (Hino hino : hinos) {
+            escrever(gerador, hino);
+        }
+        gerador.writeEndArray();
+    }
+
+    /**
+     * Escreve os hinos no formato colunar: os nomes dos campos uma única vez e, para
+     * cada campo, o array com os valores de todos os hinos, na mesma ordem.
+     */
+    public void escreverColunar(JsonGenerator gerador, long versao, List<Hino> hinos) throws IOException {
+        gerador.writeStartObject();
+        gerador.writeNumberField("versao", versao);
+        gerador.writeNumberField("quantidade", hinos.size());
+        gerador.writeArrayFieldStart("campos");
+        for (int campo : campos) {
+            gerador.writeString(CAMPOS.get(campo));
+        }
+        gerador.writeEndArray();
+        gerador.writeArrayFieldStart("colunas");
+        for (int campo : campos) {
+            gerador.writeStartArray();
+            for (Hino hino : hinos) {
+                gerador.writeString(valor(hino, campo));
+            }
+            gerador.writeEndArray();
+        }
+        gerador.writeEndArray();
+        gerador.writeEndObject();
+    }
+
+    private static String valor(Hino hino, int campo) {
+        return switch (campo) {
+            case 0 -> hino.titulo();
+            case 1 -> hino.artista();
+            case 2 -> hino.duracao();
+            case 3 -> hino.link();
+            case 4 -> hino.adicionadoPor();
+            default -> hino.id();
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gerenciador.gerenciadrohinos.model.EstadoReplica;
+import com.gerenciador.gerenciadrohinos.model.HinoReplica;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.repository.EstadoReplicaRepository;
+import com.gerenciador.gerenciadrohinos.repository.HinoReplicaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Réplica de leitura do catálogo no banco H2 local (gravado em disco).
+ * <p>A planilha continua sendo a fonte oficial e o destino de todas as escritas.
+ * Cada versão publicada do catálogo é espelhada aqui em segundo plano, e na
+ * inicialização a última versão espelhada é restaurada: a aplicação começa a
+ * responder sem esperar pela Google Sheets API e continua respondendo se ela
+ * estiver fora do ar.
+ * <p>As versões que chegam enquanto uma gravação está em andamento são
+ * agrupadas: só a mais recente de cada aba é gravada. Quando a nova versão
+ * apenas acrescenta hinos ao final, só as linhas novas são inseridas.
+ */
+@Component
+public class ReplicaCatalogo {
+
+    private final HinoReplicaRepository hinoReplicaRepository;
+    private final EstadoReplicaRepository estadoReplicaRepository;
+    private final TransactionTemplate transacao;
+
+    // Próxima versão a espelhar, por aba (as intermediárias são descartadas)
+    private final Map<String, Catalogo> aguardando = new ConcurrentHashMap<>();
+    // Hinos já gravados na réplica, por aba
+    private final Map<String, List<Hino>> espelhados = new ConcurrentHashMap<>();
+
+    // Uma única thread: as gravações de uma aba nunca se sobrepõem
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "replica-catalogo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaCatalogo(HinoReplicaRepository hinoReplicaRepository,
+                           EstadoReplicaRepository estadoReplicaRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.hinoReplicaRepository = hinoReplicaRepository;
+        this.estadoReplicaRepository = estadoReplicaRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Restaura a última versão espelhada de uma aba.
+     * @return O catálogo restaurado, ou nulo se a aba nunca foi espelhada.
+     */
+    public Catalogo carregar(String aba) {
+        return transacao.execute(status -> {
+            EstadoReplica estado = estadoReplicaRepository.findById(aba).orElse(null);
+            if (estado == null) {
+                return null;
+            }
+            List<HinoReplica> linhas = hinoReplicaRepository.findByAbaOrderByPosicao(aba);
+            if (linhas.size() != estado.getQuantidade()) {
+                System.err.println("-> Réplica local da aba '" + aba + "' incompleta; aguardando a planilha.");
+                return null;
+            }
+            List<Hino> hinos = new ArrayList<>(linhas.size());
+            for (HinoReplica linha : linhas) {
+                hinos.add(linha.paraHino());
+            }
+            espelhados.put(aba, List.copyOf(hinos));
+            return Catalogo.restaurado(hinos, estado.getVersao(), estado.getCarregadoEm());
+        });
+    }
+
+    /**
+     * Agenda o espelhamento de uma versão do catálogo e retorna imediatamente.
+     */
+    public void espelhar(String aba, Catalogo catalogo) {
+        if (aguardando.put(aba, catalogo) == null) {
+            executor.execute(() -> gravar(aba));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private void gravar(String aba) {
+        Catalogo catalogo = aguardando.remove(aba);
+        if (catalogo == null) {
+            return;
+        }
+        try {
+            transacao.executeWithoutResult(status -> gravarDiferenca(aba, catalogo));
+        } catch (RuntimeException e) {
+            // Na próxima versão a aba é regravada por inteiro
+            espelhados.remove(aba);
+            System.err.println("-> Falha ao gravar a réplica local da aba '" + aba + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mantém as linhas iguais às já gravadas e regrava da primeira diferença em diante.
+     */
+    private void gravarDiferenca(String aba, Catalogo catalogo) {
+        List<Hino> anteriores = espelhados.getOrDefault(aba, List.of());
+        List<Hino> hinos = catalogo.hinos();
+
+        int iguais = 0;
+        int limite = Math.min(anteriores.size(), hinos.size());
+        while (iguais < limite && anteriores.get(iguais).equals(hinos.get(iguais))) {
+            iguais++;
+        }
+
+        if (iguais < anteriores.size() || anteriores.isEmpty()) {
+            hinoReplicaRepository.apagarAPartirDe(aba, iguais);
+        }
+        List<HinoReplica> novas = new ArrayList<>(hinos.size() - iguais);
+        for (int i = iguais; i < hinos.size(); i++) {
+            Hino hino = hinos.get(i);
+            novas.add(new HinoReplica(aba, i, hino,
+                Normalizador.normalizar(hino.titulo()), Normalizador.normalizar(hino.artista())));
+        }
+        hinoReplicaRepository.saveAll(novas);
+        estadoReplicaRepository.save(new EstadoReplica(aba, catalogo.versao(), hinos.size(), catalogo.carregadoEm()));
+
+        espelhados.put(aba, hinos);
+        System.out.println("-> Réplica local da aba '" + aba + "' na versão " + catalogo.versao()
+            + " (" + novas.size() + " linha(s) gravada(s)).");
+    }
+}
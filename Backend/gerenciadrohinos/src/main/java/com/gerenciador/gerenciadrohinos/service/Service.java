@@ -1,36 +1,65 @@
 package com.gerenciador.gerenciadrohinos.service;
 
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.JsonFactory;
-import com.google.api.client.json.gson.GsonFactory;
-import com.google.api.services.sheets.v4.Sheets;
-import com.google.api.services.sheets.v4.model.ValueRange; // Import para escrita
-import com.google.api.services.sheets.v4.SheetsScopes;
-import com.google.auth.oauth2.GoogleCredentials;
-
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
-import com.google.auth.http.HttpCredentialsAdapter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.gerenciador.gerenciadrohinos.model.Model.AlteracoesDesde;
+import com.gerenciador.gerenciadrohinos.model.Model.ArtistaResumo;
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoCircuito;
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoPlanilha;
+import com.gerenciador.gerenciadrohinos.model.Model.GrupoHinos;
 import com.gerenciador.gerenciadrohinos.model.Model.Hino; 
-import com.google.api.services.sheets.v4.model.AppendValuesResponse; // Import para resposta da escrita
+import com.gerenciador.gerenciadrohinos.model.Model.HinoComDuracao;
+import com.gerenciador.gerenciadrohinos.model.Model.LimiteTaxa;
+import com.gerenciador.gerenciadrohinos.model.Model.Ordem;
+import com.gerenciador.gerenciadrohinos.model.Model.Pagina;
+import com.gerenciador.gerenciadrohinos.model.Model.RelatorioDuplicados;
+import com.gerenciador.gerenciadrohinos.model.Model.Repertorio;
+import com.gerenciador.gerenciadrohinos.model.Model.ResultadoImportacao;
+import com.gerenciador.gerenciadrohinos.model.Model.SituacaoEscrita;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.GeneralSecurityException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
- * Serviço principal da aplicação, responsável por toda a comunicação
- * e interação com a Google Sheets API.
- * <p>Esta classe gerencia a autenticação e fornece métodos para leitura/escrita
- * de dados da planilha de hinos. É um componente Singleton gerenciado pelo Spring.
+ * Serviço principal da aplicação, responsável pela leitura e escrita
+ * dos hinos da planilha.
+ * <p>O acesso aos dados é delegado a um {@link HinoSource} (Google Sheets em
+ * produção, arquivo local em desenvolvimento). É um componente Singleton
+ * gerenciado pelo Spring.
+ * <p>Os hinos podem ser divididos em grupos ({@code hinos.grupos}), cada um em uma
+ * aba (da mesma planilha ou de outra), com catálogo, fila de escrita e histórico
+ * próprios. Todas as abas são lidas juntas (veja {@link LeituraEmLote}). Os métodos
+ * recebem o nome do grupo; nulo indica o primeiro grupo configurado.
  *
  * @author Guilherme Wille
  * @version 1.0.0
@@ -39,146 +68,870 @@ import java.util.stream.Collectors;
 @org.springframework.stereotype.Service
 public class Service {
 
-    // Injeta o ID da planilha do application.properties
-    @Value("${google.sheets.spreadsheet-id}") 
-    private String spreadsheetId;
-
     // Injeta o nome da aba (pode ser usado como valor padrão)
     @Value("${google.sheets.tab-name:Planilha1}") 
     private String defaultSheetName;
 
-    // Constantes e Configurações
+    // Grupos de hinos e a aba de cada um: "louvor=Planilha1,coral=<id da planilha>!Coral".
+    // Vazio: um único grupo, "principal", com a aba de google.sheets.tab-name
+    @Value("${hinos.grupos:}")
+    private String configuracaoGrupos;
+
+    // Nome do grupo usado quando hinos.grupos não é configurado
+    private static final String GRUPO_PRINCIPAL = "principal";
+
+    // Primeiros segmentos das rotas de /musicas, que não podem ser nomes de grupo
+    private static final Set<String> NOMES_RESERVADOS = Set.of("todos", "pagina", "escritas", "alteracoes",
+        "eventos", "artista", "artistas", "busca", "duracao", "repertorio", "catalogo", "planilha", "grupos", "importacao",
+        "hino", "duplicados");
+
+    // Tempo após o qual o catálogo em memória é considerado vencido
+    @Value("${hinos.cache.ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    // Intervalo entre duas leituras completas da aba (as demais leem só as linhas novas)
+    @Value("${hinos.sincronizacao.reconciliacao-completa-ms:600000}")
+    private long reconciliacaoCompletaMs;
+
+    // Escrita: "assincrono" (202 Accepted + id) ou "sincrono" (espera a gravação)
+    @Value("${hinos.escrita.modo:assincrono}")
+    private String modoEscrita;
+
+    // Janela em que os hinos recebidos são agrupados em um único 'append'
+    @Value("${hinos.escrita.janela-ms:200}")
+    private long janelaEscritaMs;
+
+    @Value("${hinos.escrita.tamanho-maximo-lote:100}")
+    private int tamanhoMaximoLote;
+
+    @Value("${hinos.escrita.tentativas:5}")
+    private int tentativasEscrita;
+
+    @Value("${hinos.escrita.espera-inicial-ms:500}")
+    private long esperaInicialEscritaMs;
+
+    // Tempo máximo de espera pela gravação no modo síncrono
+    @Value("${hinos.escrita.espera-sincrona-ms:10000}")
+    private long esperaSincronaMs;
+
+    // Recusa (409) o POST de um hino com o mesmo título e artista de um já existente
+    @Value("${hinos.escrita.recusar-duplicados:true}")
+    private boolean recusarDuplicados;
+
+    // Máximo de chamadas simultâneas à planilha (bulkhead) e espera por uma vaga
+    @Value("${hinos.sheets.maximo-chamadas-simultaneas:4}")
+    private int maximoChamadasSimultaneas;
+
+    @Value("${hinos.sheets.espera-vaga-ms:5000}")
+    private long esperaVagaMs;
+
+    // Quotas da Google Sheets API (chamadas por minuto) e espera máxima por uma ficha
+    @Value("${hinos.sheets.quota-leitura-por-minuto:60}")
+    private int quotaLeituraPorMinuto;
+
+    @Value("${hinos.sheets.quota-escrita-por-minuto:60}")
+    private int quotaEscritaPorMinuto;
+
+    @Value("${hinos.sheets.espera-quota-ms:2000}")
+    private long esperaQuotaMs;
+
+    // Repetição das leituras que falham com 429/5xx
+    @Value("${hinos.sheets.tentativas-leitura:3}")
+    private int tentativasLeitura;
+
+    @Value("${hinos.sheets.espera-inicial-ms:500}")
+    private long esperaInicialLeituraMs;
+
+    // Disjuntor: falhas seguidas que abrem o circuito e por quanto tempo ele fica aberto
+    @Value("${hinos.sheets.circuito.limite-falhas:5}")
+    private int limiteFalhasCircuito;
+
+    @Value("${hinos.sheets.circuito.tempo-aberto-ms:30000}")
+    private long tempoAbertoCircuitoMs;
+
+    // Quantas versões o histórico de /musicas/alteracoes guarda
+    @Value("${hinos.alteracoes.maximo-versoes:500}")
+    private int maximoVersoesHistorico;
+
+    // Quantos hinos sorteados entram no cálculo de cada sugestão de repertório
+    @Value("${hinos.repertorio.maximo-candidatos:500}")
+    private int maximoCandidatosRepertorio;
+
+    // Importação em massa: linhas por 'append' e linhas aceitas por arquivo
+    @Value("${hinos.importacao.linhas-por-append:500}")
+    private int linhasPorAppendImportacao;
 
-    private static final String APPLICATION_NAME = "Gerenciador De Hinos";
-    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
-    // O caminho para o arquivo de credenciais no diretório 'src/main/resources'
-    private static final String CREDENTIAL_PATH = "credentials.json";
+    @Value("${hinos.importacao.maximo-linhas:50000}")
+    private int maximoLinhasImportacao;
 
-    private Sheets sheetsService;
+    // Com threads virtuais, as leituras da planilha também rodam em uma thread virtual
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    private final HinoSource hinoSource;
+
+    // Cópia do catálogo no H2, restaurada na inicialização se não houver snapshot
+    private final ReplicaCatalogo replicaCatalogo;
+
+    // Cópia binária do catálogo em disco, a forma mais rápida de restaurá-lo
+    private final SnapshotCatalogo snapshotCatalogo;
+
+    // Métricas (Micrometer), exportadas em /actuator/prometheus
+    private final MeterRegistry meterRegistry;
+
+    // Eventos enviados aos clientes conectados em /musicas/eventos
+    private final FeedAlteracoes feedAlteracoes;
+
+    // Grupos de hinos, na ordem da configuração, e o usado quando nenhum é informado
+    private Map<String, Grupo> grupos;
+    private Grupo grupoPadrao;
+
+    // Leitura de todas as abas em uma única chamada
+    private LeituraEmLote leituraEmLote;
+
+    // Fonte com todas as proteções, usada também pelas edições (PUT/DELETE)
+    private HinoSource fonte;
+
+    // Proteções em volta da planilha (expostas em getEstadoPlanilha)
+    private HinoSourceLimitado fonteLimitada;
+    private LimitadorTaxa limitadorLeitura;
+    private LimitadorTaxa limitadorEscrita;
+    private Disjuntor disjuntor;
+
+    /**
+     * Estado de um grupo de hinos.
+     * @param cacheCatalogo Cópia em memória do catálogo, compartilhada por todas as leituras.
+     * @param filaEscrita Fila que agrupa as escritas em lotes.
+     * @param historicoVersoes Últimas versões do catálogo, para os clientes que só baixam o que mudou.
+     * @param leitor Leitor da aba, que sabe a linha de cada hino.
+     * @param edicao Uma edição (PUT/DELETE) por vez no grupo: uma remoção muda a linha dos hinos de baixo.
+     * @param chaves Título e artista de cada hino, para recusar duplicados no POST.
+     */
+    private record Grupo(
+        String nome,
+        String aba,
+        CacheCatalogo cacheCatalogo,
+        FilaEscrita filaEscrita,
+        HistoricoVersoes historicoVersoes,
+        LeitorIncremental leitor,
+        ReentrantLock edicao,
+        IndiceChaves chaves
+    ){}
     
-    // Construtor vazio. A inicialização real ocorre no @PostConstruct.
-    public Service() {}
+    // Injeção de dependência via construtor
+    public Service(HinoSource hinoSource, ReplicaCatalogo replicaCatalogo, SnapshotCatalogo snapshotCatalogo,
+                   MeterRegistry meterRegistry, FeedAlteracoes feedAlteracoes) {
+        this.hinoSource = hinoSource;
+        this.replicaCatalogo = replicaCatalogo;
+        this.snapshotCatalogo = snapshotCatalogo;
+        this.meterRegistry = meterRegistry;
+        this.feedAlteracoes = feedAlteracoes;
+    }
 
     /**
-     * Método de inicialização da API, executado após a injeção de todos os beans (@Value).
+     * Método de inicialização, executado após a injeção de todos os beans (@Value).
      */
     @PostConstruct
-    public void init() throws IOException, GeneralSecurityException {
-        ClassPathResource resource = new ClassPathResource(CREDENTIAL_PATH);
+    public void init() {
+        // Disjuntor e quota por fora, bulkhead por dentro: chamadas recusadas não ocupam vaga
+        this.fonteLimitada = new HinoSourceLimitado(new HinoSourceMedido(hinoSource, meterRegistry), maximoChamadasSimultaneas, Duration.ofMillis(esperaVagaMs));
+        this.limitadorLeitura = new LimitadorTaxa(quotaLeituraPorMinuto, Duration.ofMillis(esperaQuotaMs));
+        this.limitadorEscrita = new LimitadorTaxa(quotaEscritaPorMinuto, Duration.ofMillis(esperaQuotaMs));
+        this.disjuntor = new Disjuntor(limiteFalhasCircuito, Duration.ofMillis(tempoAbertoCircuitoMs), Clock.systemUTC());
+        HinoSource fonte = new HinoSourceResiliente(fonteLimitada, limitadorLeitura, limitadorEscrita, disjuntor,
+            tentativasLeitura, Duration.ofMillis(esperaInicialLeituraMs));
+        this.fonte = fonte;
 
-        try (InputStream in = resource.getInputStream()){
-            GoogleCredentials credentials = GoogleCredentials.fromStream(in)
-                    .createScoped(Collections.singleton(SheetsScopes.SPREADSHEETS));
+        this.leituraEmLote = new LeituraEmLote(fonte);
+        Map<String, Grupo> criados = new LinkedHashMap<>();
+        abasPorGrupo().forEach((nome, aba) -> criados.put(nome, criarGrupo(nome, aba, fonte)));
+        this.grupos = Collections.unmodifiableMap(criados);
+        this.grupoPadrao = criados.values().iterator().next();
+        // Cada leitura traz todas as abas: quem não pediu também recebe a sua parte
+        leituraEmLote.aoLer((aba, hinos) -> {
+            for (Grupo grupo : grupos.values()) {
+                if (grupo.aba().equals(aba)) {
+                    grupo.cacheCatalogo().publicarLeitura(hinos);
+                }
+            }
+        });
+
+        registrarMedidores();
 
-            this.sheetsService = new Sheets.Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    JSON_FACTORY,
-                    new HttpCredentialsAdapter(credentials))
-                    .setApplicationName(APPLICATION_NAME)
-                    .build();
-            System.out.println("-> Google Sheets API client inicializado com sucesso.");
+        for (Grupo grupo : grupos.values()) {
+            restaurarCatalogo(grupo);
         }
+        System.out.println("-> Grupos de hinos: " + grupos.keySet());
+    }
+
+    /**
+     * Lê a configuração hinos.grupos ("nome=aba,...").
+     * @throws IllegalStateException Se um nome de grupo for inválido, reservado ou repetido.
+     */
+    private Map<String, String> abasPorGrupo() {
+        Map<String, String> abas = new LinkedHashMap<>();
+        if (configuracaoGrupos.isBlank()) {
+            abas.put(GRUPO_PRINCIPAL, defaultSheetName);
+            return abas;
+        }
+        for (String item : configuracaoGrupos.split(",")) {
+            if (item.isBlank()) {
+                continue;
+            }
+            int separador = item.indexOf('=');
+            String nome = separador < 0 ? "" : item.substring(0, separador).trim().toLowerCase(Locale.ROOT);
+            String aba = separador < 0 ? "" : item.substring(separador + 1).trim();
+            if (!nome.matches("[a-z0-9][a-z0-9-]*") || aba.isEmpty()) {
+                throw new IllegalStateException("Grupo inválido em hinos.grupos (use nome=aba): '" + item.trim() + "'");
+            }
+            if (NOMES_RESERVADOS.contains(nome)) {
+                throw new IllegalStateException("O nome de grupo '" + nome + "' é reservado para uma rota de /musicas.");
+            }
+            if (abas.containsKey(nome) || abas.containsValue(aba)) {
+                throw new IllegalStateException("Grupo ou aba repetido em hinos.grupos: '" + item.trim() + "'");
+            }
+            abas.put(nome, aba);
+        }
+        if (abas.isEmpty()) {
+            throw new IllegalStateException("Nenhum grupo configurado em hinos.grupos.");
+        }
+        return abas;
+    }
+
+    private Grupo criarGrupo(String nome, String aba, HinoSource fonte) {
+        // Cada sincronização lê apenas as linhas novas do final da aba
+        LeitorIncremental leitor = new LeitorIncremental(fonte, aba,
+            Duration.ofMillis(reconciliacaoCompletaMs), Clock.systemUTC(),
+            Timer.builder("hinos.catalogo.mapeamento")
+                .description("Tempo para montar a lista de hinos a partir das linhas lidas")
+                .tag("grupo", nome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        FilaEscrita filaEscrita = new FilaEscrita(fonte, aba, leitor::getLinhasLidas, Duration.ofMillis(janelaEscritaMs),
+            tamanhoMaximoLote, tentativasEscrita, Duration.ofMillis(esperaInicialEscritaMs), new FilaEscrita.Ouvinte() {
+                @Override
+                public void aoEnfileirar(List<Hino> hinos) {
+                    // Os hinos aparecem nas leituras assim que são aceitos
+                    grupos.get(nome).cacheCatalogo().registrarAdicionados(hinos);
+                }
+
+                @Override
+                public void aoGravar(List<Hino> hinos) {
+                    // Confere a planilha: outra pessoa pode ter adicionado linhas no meio tempo
+                    invalidar(grupos.get(nome));
+                }
+
+                @Override
+                public void aoFalhar(List<Hino> hinos) {
+                    // Relê a planilha para retirar do catálogo os hinos que não foram gravados
+                    invalidar(grupos.get(nome));
+                }
+            });
+        leituraEmLote.registrar(aba, leitor);
+        CacheCatalogo.Carregador carregador = leituraEmLote.carregador(aba);
+        CacheCatalogo cacheCatalogo = threadsVirtuais
+            ? new CacheCatalogo(carregador, filaEscrita::hinosPendentes, Duration.ofMillis(cacheTtlMs), Clock.systemUTC(),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catalogo-atualizacao-", 0).factory()))
+            : new CacheCatalogo(carregador, filaEscrita::hinosPendentes, Duration.ofMillis(cacheTtlMs), Clock.systemUTC());
+
+        // Cada nova versão entra no histórico, é gravada no snapshot e na réplica local (H2)
+        // e avisada aos clientes conectados; as três últimas etapas em segundo plano
+        HistoricoVersoes historicoVersoes = new HistoricoVersoes(maximoVersoesHistorico);
+        cacheCatalogo.aoPublicar((anterior, novo) -> {
+            historicoVersoes.registrar(anterior, novo);
+            snapshotCatalogo.gravar(aba, novo);
+            replicaCatalogo.espelhar(aba, novo);
+            feedAlteracoes.aoPublicar(nome, anterior, novo);
+        });
+        return new Grupo(nome, aba, cacheCatalogo, filaEscrita, historicoVersoes, leitor, new ReentrantLock(),
+            new IndiceChaves());
+    }
+
+    // A próxima leitura da aba não pode aproveitar uma que começou antes desta chamada
+    private void invalidar(Grupo grupo) {
+        leituraEmLote.invalidar(grupo.aba());
+        grupo.cacheCatalogo().invalidar();
+    }
+
+    /**
+     * Começa servindo a última versão salva em disco (snapshot binário ou, na falta
+     * dele, a réplica local), sem esperar pela planilha; a planilha é lida em seguida,
+     * em segundo plano.
+     */
+    private void restaurarCatalogo(Grupo grupo) {
+        long inicio = System.nanoTime();
+        String origem = "do snapshot";
+        Catalogo restaurado = snapshotCatalogo.carregar(grupo.aba());
+        if (restaurado == null) {
+            origem = "da réplica local";
+            restaurado = replicaCatalogo.carregar(grupo.aba());
+        }
+        CacheCatalogo cacheCatalogo = grupo.cacheCatalogo();
+        if (restaurado != null && cacheCatalogo.restaurar(restaurado)) {
+            grupo.historicoVersoes().registrar(null, restaurado);
+            System.out.println("-> Catálogo '" + grupo.nome() + "' restaurado " + origem + ": versão " + restaurado.versao()
+                + ", " + restaurado.hinos().size() + " hino(s), em "
+                + Duration.ofNanos(System.nanoTime() - inicio).toMillis() + " ms.");
+            cacheCatalogo.atualizarEmSegundoPlano();
+        }
+    }
+
+    // Valores lidos no momento da coleta (versão do catálogo, disjuntor, quotas...)
+    private void registrarMedidores() {
+        for (Grupo grupo : grupos.values()) {
+            CacheCatalogo cacheCatalogo = grupo.cacheCatalogo();
+            Gauge.builder("hinos.catalogo.versao", () -> {
+                    Catalogo atual = cacheCatalogo.atual();
+                    return atual == null ? 0 : atual.versao();
+                }).tag("grupo", grupo.nome()).description("Versão do catálogo em memória").register(meterRegistry);
+            Gauge.builder("hinos.catalogo.hinos", () -> {
+                    Catalogo atual = cacheCatalogo.atual();
+                    return atual == null ? 0 : atual.hinos().size();
+                }).tag("grupo", grupo.nome()).description("Hinos no catálogo em memória").register(meterRegistry);
+        }
+        Gauge.builder("hinos.sheets.circuito.aberto", () -> disjuntor.getEstado() == EstadoCircuito.FECHADO ? 0 : 1)
+            .description("1 enquanto o disjuntor da planilha não está fechado").register(meterRegistry);
+        Gauge.builder("hinos.sheets.quota.saturacao", limitadorLeitura, l -> 1 - l.getFichasDisponiveis() / l.getCapacidade())
+            .tag("operacao", "get").description("Fração da quota por minuto em uso").register(meterRegistry);
+        Gauge.builder("hinos.sheets.quota.saturacao", limitadorEscrita, l -> 1 - l.getFichasDisponiveis() / l.getCapacidade())
+            .tag("operacao", "append").description("Fração da quota por minuto em uso").register(meterRegistry);
+        Gauge.builder("hinos.sheets.vagas.livres", fonteLimitada, HinoSourceLimitado::getVagasLivres)
+            .description("Vagas livres no bulkhead de chamadas à planilha").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        for (Grupo grupo : grupos.values()) {
+            grupo.filaEscrita().encerrar();
+            grupo.cacheCatalogo().encerrar();
+        }
+    }
+
+    // --- GRUPOS ---
+
+    /**
+     * Grupos de hinos configurados, com a versão e o tamanho do catálogo em memória
+     * de cada um (sem disparar leituras).
+     */
+    public List<GrupoHinos> getGrupos() {
+        List<GrupoHinos> resumos = new ArrayList<>(grupos.size());
+        for (Grupo grupo : grupos.values()) {
+            Catalogo atual = grupo.cacheCatalogo().atual();
+            resumos.add(new GrupoHinos(grupo.nome(), grupo == grupoPadrao,
+                atual == null ? 0 : atual.versao(), atual == null ? 0 : atual.hinos().size()));
+        }
+        return resumos;
+    }
+
+    /**
+     * Grupo pelo nome (sem diferenciar maiúsculas), ou o grupo padrão se o nome for nulo.
+     * @throws GrupoNaoEncontradoException Se o grupo não existir.
+     */
+    private Grupo grupo(String nome) {
+        if (nome == null) {
+            return grupoPadrao;
+        }
+        Grupo grupo = grupos.get(nome.toLowerCase(Locale.ROOT));
+        if (grupo == null) {
+            throw new GrupoNaoEncontradoException(nome);
+        }
+        return grupo;
     }
 
     // --- MÉTODOS DE LEITURA (GET) ---
 
     /**
-     * Realiza a leitura dos dados da planilha e mapeia para List<Hino>.
+     * Retorna todos os hinos de um grupo a partir do catálogo em memória.
+     * <p>A planilha só é consultada de forma síncrona na primeira chamada; depois
+     * disso o catálogo é renovado em segundo plano (veja {@link CacheCatalogo}).
      */
-    public List<Hino> getAllHinos() throws IOException {
-        String range = defaultSheetName + "!A2:E";
-        // ... (lógica de leitura e mapeamento, que estava correta) ...
-        
-        List<List<Object>> valoresBrutos = sheetsService.spreadsheets().values()
-            .get(this.spreadsheetId, range) 
-            .execute()
-            .getValues();
-            
-        if (valoresBrutos == null) {
-            return List.of();
+    public List<Hino> getAllHinos(String grupo) throws IOException {
+        return grupo(grupo).cacheCatalogo().obter().hinos();
+    }
+
+    /**
+     * Retorna todos os hinos na ordem pedida. A ordenação é calculada uma única
+     * vez por versão do catálogo.
+     */
+    public List<Hino> getAllHinos(String grupo, Ordem ordem) throws IOException {
+        return getCatalogo(grupo).emOrdem(ordem);
+    }
+
+    /**
+     * Retorna uma página da listagem de hinos.
+     * <p>A página começa logo após o item indicado pelo cursor (quando informado)
+     * ou na posição {@code offset}. O cursor identifica o último item entregue, e
+     * não a sua posição, então continua válido se o catálogo mudar entre as páginas.
+     * @param ordem Critério de ordenação.
+     * @param cursor Cursor devolvido pela página anterior, ou nulo.
+     * @param offset Posição inicial, usada apenas quando não há cursor.
+     * @param tamanho Quantidade máxima de itens na página.
+     * @param catalogo Versão de onde vêm os itens (a mesma da ETag da resposta).
+     * @throws IllegalArgumentException Se o cursor for inválido ou de outra ordenação.
+     */
+    public Pagina getPagina(Catalogo catalogo, Ordem ordem, String cursor, int offset, int tamanho) {
+        IndiceOrdenacao ordenacao = catalogo.ordenacao(ordem);
+
+        int inicio = cursor == null || cursor.isBlank()
+            ? Math.max(offset, 0)
+            : inicioDoCursor(ordenacao, cursor);
+        List<Hino> itens = catalogo.fatia(ordem, inicio, tamanho);
+
+        int fim = inicio + itens.size();
+        String proximoCursor = fim < ordenacao.tamanho() && !itens.isEmpty()
+            ? criarCursor(ordenacao, ordenacao.posicao(fim - 1))
+            : null;
+        return new Pagina(itens, ordenacao.tamanho(), catalogo.versao(), proximoCursor);
+    }
+
+    // O cursor é "ORDEM:posição:chave" em Base64 (URL-safe) do último item entregue
+    private static String criarCursor(IndiceOrdenacao ordenacao, int posicao) {
+        String conteudo = ordenacao.ordem() + ":" + posicao + ":" + ordenacao.chaveDaPosicao(posicao);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int inicioDoCursor(IndiceOrdenacao ordenacao, String cursor) {
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+        if (partes.length != 3 || !partes[0].equals(ordenacao.ordem().name())) {
+            throw new IllegalArgumentException("Cursor inválido para a ordenação " + ordenacao.ordem() + ".");
         }
+        try {
+            return ordenacao.inicioApos(partes[2], Integer.parseInt(partes[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
 
-        // 2. Mapeamento: Converte a lista bruta (List<List<Object>>) para List<Hino>
-        return valoresBrutos.stream()
-            .map(linha -> {
-                if (linha.size() >= 5) {
-                    return new Hino(
-                        linha.get(0).toString(), 
-                        linha.get(1).toString(), 
-                        linha.get(2).toString(), 
-                        linha.get(3).toString(), 
-                        linha.get(4).toString()
-                    );
-                }
-                return null;
-            })
-            .filter(hino -> hino != null)
-            .collect(Collectors.toList());
+    /**
+     * Retorna a versão atual do catálogo de um grupo, com número de versão e instante de carga.
+     * <p>Cada chamada conta uma consulta no medidor hinos.catalogo.cache: deve ser feita
+     * uma única vez por requisição, e o mesmo catálogo usado para a ETag e para o corpo.
+     * @throws GrupoNaoEncontradoException Se o grupo não existir.
+     */
+    public Catalogo getCatalogo(String grupo) throws IOException {
+        Grupo encontrado = grupo(grupo);
+        CacheCatalogo cacheCatalogo = encontrado.cacheCatalogo();
+        Catalogo atual = cacheCatalogo.atual();
+        String resultado = atual == null ? "falta" : cacheCatalogo.isVencido(atual) ? "vencido" : "acerto";
+        meterRegistry.counter("hinos.catalogo.cache", "resultado", resultado, "grupo", encontrado.nome()).increment();
+        return cacheCatalogo.obter();
     }
+
+    // Garante o catálogo carregado sem contar uma consulta (a requisição não lê os hinos dele)
+    private static void carregarCatalogo(Grupo grupo) throws IOException {
+        grupo.cacheCatalogo().obter();
+    }
+
+    public boolean isCatalogoAtualizando(String grupo) {
+        return grupo(grupo).cacheCatalogo().isAtualizando();
+    }
+
+    /**
+     * Alterações do catálogo feitas depois da versão informada.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    public AlteracoesDesde getAlteracoesDesde(String grupo, long desde) throws IOException {
+        // Garante que o catálogo foi carregado (e, portanto, registrado no histórico)
+        Grupo encontrado = grupo(grupo);
+        carregarCatalogo(encontrado);
+        return encontrado.historicoVersoes().desde(desde);
+    }
+
+    /**
+     * Abre uma conexão com o fluxo de alterações do catálogo de um grupo (Server-Sent Events).
+     * @return A conexão, ou nulo se o limite de conexões simultâneas foi atingido.
+     */
+    public SseEmitter abrirFluxoAlteracoes(String grupo) {
+        return feedAlteracoes.conectar(grupo(grupo).nome());
+    }
+
+    /**
+     * Estado do disjuntor, saturação das quotas e vagas livres do bulkhead.
+     */
+    public EstadoPlanilha getEstadoPlanilha() {
+        return new EstadoPlanilha(
+            disjuntor.getEstado(),
+            disjuntor.getFalhasSeguidas(),
+            disjuntor.getAbertoAte(),
+            limiteTaxa(limitadorLeitura),
+            limiteTaxa(limitadorEscrita),
+            fonteLimitada.getVagasLivres()
+        );
+    }
+
+    private static LimiteTaxa limiteTaxa(LimitadorTaxa limitador) {
+        double fichas = limitador.getFichasDisponiveis();
+        return new LimiteTaxa(fichas, limitador.getCapacidade(), 1 - fichas / limitador.getCapacidade(),
+            limitador.getAtrasadas(), limitador.getRecusadas());
+    }
+
+    /**
+     * Renova periodicamente o catálogo em memória, independentemente de haver leituras.
+     * Os grupos pedidos juntos compartilham a mesma leitura de todas as abas.
+     */
+    @Scheduled(fixedDelayString = "${hinos.cache.intervalo-atualizacao-ms:60000}",
+               initialDelayString = "${hinos.cache.intervalo-atualizacao-ms:60000}")
+    public void atualizarCatalogo() {
+        for (Grupo grupo : grupos.values()) {
+            grupo.cacheCatalogo().atualizarEmSegundoPlano();
+        }
+    }
+
     
     /**
-     * Busca hinos por um nome de artista específico, aplicando a lógica de filtro
-     * em memória (após a leitura da planilha).
+     * Busca hinos por um nome de artista específico, usando o índice de artistas
+     * do catálogo em memória (ignora acentos, maiúsculas e espaços extras).
+     */
+    public List<Hino> getMusicasPorArtista(String grupo, String nomeArtista) throws IOException{
+        if(nomeArtista == null){
+            return List.of();
+        }
+        return getCatalogo(grupo).artistas().hinosDoArtista(nomeArtista);
+    }
+
+    /**
+     * Lista os artistas distintos do catálogo com a quantidade de hinos de cada um.
      */
-    public List<Hino> getMusicasPorArtista(String nomeArtista) throws IOException{
-        List<Hino> todosOsHinos = getAllHinos();
+    public List<ArtistaResumo> getArtistas(Catalogo catalogo) {
+        return catalogo.artistas().resumos();
+    }
 
-        if(todosOsHinos == null || nomeArtista == null){
+    /**
+     * Busca textual (título, artista e "adicionado por") sobre o índice invertido
+     * do catálogo, tolerando acentos, prefixos e pequenos erros de digitação.
+     * @param consulta Texto digitado pelo usuário.
+     * @param limite Número máximo de resultados.
+     * @return Hinos encontrados, do mais para o menos relevante.
+     */
+    public List<Hino> buscarHinos(Catalogo catalogo, String consulta, int limite) {
+        if (consulta == null) {
             return List.of();
         }
+        return catalogo.buscar(consulta, limite);
+    }
+
+    /**
+     * Hinos com duração entre {@code minimo} e {@code maximo} segundos (inclusive),
+     * do mais curto para o mais longo, usando o índice de durações do catálogo.
+     */
+    public List<HinoComDuracao> getHinosPorDuracao(Catalogo catalogo, int minimo, int maximo, int limite) {
+        IndiceDuracao duracoes = catalogo.duracoes();
+        int inicio = duracoes.primeiroAPartirDe(minimo);
+        int fim = Math.min(duracoes.fimAte(maximo), inicio + limite);
+        List<HinoComDuracao> hinos = new ArrayList<>(Math.max(fim - inicio, 0));
+        for (int i = inicio; i < fim; i++) {
+            int posicao = duracoes.posicao(i);
+            hinos.add(new HinoComDuracao(catalogo.hinos().get(posicao), duracoes.segundos(posicao)));
+        }
+        return hinos;
+    }
+
+    /**
+     * Sugere hinos cuja soma das durações fique o mais perto possível de {@code alvo}
+     * segundos, sem passar de {@code alvo + tolerancia} (veja {@link MontadorRepertorio}).
+     * <p>Os candidatos são sorteados entre os hinos com duração conhecida (de um artista,
+     * se informado), no máximo {@code maximoCandidatosRepertorio}; a mesma semente
+     * devolve a mesma sugestão enquanto o catálogo não mudar.
+     */
+    public Repertorio sugerirRepertorio(String grupo, int alvo, int tolerancia, String artista, Long semente)
+            throws IOException {
+        Catalogo catalogo = getCatalogo(grupo);
+        IndiceDuracao duracoes = catalogo.duracoes();
+        int[] candidatos = artista == null || artista.isBlank()
+            ? candidatosPorDuracao(duracoes, alvo + tolerancia)
+            : candidatosDoArtista(duracoes, catalogo.artistas().posicoesDoArtista(artista), alvo + tolerancia);
+        int quantidade = candidatos.length;
+
+        // Sorteio parcial (Fisher-Yates) só dos candidatos que serão usados
+        long sementeUsada = semente != null ? semente : ThreadLocalRandom.current().nextLong();
+        Random sorteio = new Random(sementeUsada);
+        int usados = Math.min(quantidade, maximoCandidatosRepertorio);
+        int[] segundos = new int[usados];
+        for (int i = 0; i < usados; i++) {
+            int j = i + sorteio.nextInt(quantidade - i);
+            int troca = candidatos[i];
+            candidatos[i] = candidatos[j];
+            candidatos[j] = troca;
+            segundos[i] = duracoes.segundos(candidatos[i]);
+        }
 
-        List<Hino> hinosFiltrados = todosOsHinos.stream()
-            .filter(hino -> {
-                return hino.artista() != null && 
-                    hino.artista().trim().equalsIgnoreCase(nomeArtista.trim());
-            })
-            .collect(Collectors.toList());
+        List<HinoComDuracao> escolhidos = new ArrayList<>();
+        int total = 0;
+        for (int indice : MontadorRepertorio.escolher(segundos, alvo, tolerancia)) {
+            escolhidos.add(new HinoComDuracao(catalogo.hinos().get(candidatos[indice]), segundos[indice]));
+            total += segundos[indice];
+        }
+        return new Repertorio(catalogo.versao(), alvo, total, sementeUsada, escolhidos);
+    }
 
-        return hinosFiltrados;
+    // Só interessam hinos que cabem no limite: um prefixo da ordenação por duração
+    private static int[] candidatosPorDuracao(IndiceDuracao duracoes, int limite) {
+        int[] candidatos = new int[duracoes.fimAte(limite)];
+        for (int i = 0; i < candidatos.length; i++) {
+            candidatos[i] = duracoes.posicao(i);
+        }
+        return candidatos;
+    }
+
+    // Hinos do artista (posições vindas do índice de artistas) que cabem no limite, na
+    // mesma ordem da ordenação por duração: a mesma semente continua dando o mesmo sorteio
+    private static int[] candidatosDoArtista(IndiceDuracao duracoes, int[] posicoes, int limite) {
+        long[] chaves = new long[posicoes.length];
+        int quantidade = 0;
+        for (int posicao : posicoes) {
+            int segundos = duracoes.segundos(posicao);
+            if (segundos != Duracoes.DESCONHECIDA && segundos <= limite) {
+                chaves[quantidade++] = ((long) segundos << 32) | posicao;
+            }
+        }
+        Arrays.sort(chaves, 0, quantidade);
+        int[] candidatos = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            candidatos[i] = (int) chaves[i];
+        }
+        return candidatos;
     }
 
     // --- MÉTODO DE ESCRITA (POST) ---
 
     /**
-     * Adiciona um novo hino à planilha mestre.
-     * <p>Usa a operação 'append' para inserir uma nova linha no final da planilha.
+     * Adiciona um novo hino à aba de um grupo, aguardando a gravação.
+     * <p>O hino passa pela fila de escrita ({@link FilaEscrita}) e é gravado junto
+     * com os demais recebidos na mesma janela, em um único 'append' de várias linhas.
      * @param novoHino O objeto Hino a ser persistido.
      * @return O objeto Hino persistido (para confirmação).
-     * @throws IOException Se a escrita na planilha falhar.
-     */
-    public Hino appendHino(Hino novoHino) throws IOException {
-        String range = defaultSheetName + "!A:E"; // Range completo para escrita (adiciona no final)
-
-        // 1. Converte o objeto Hino em uma lista de objetos (formato Sheets API)
-        List<Object> rowData = Arrays.asList(
-            novoHino.titulo(),
-            novoHino.artista(),
-            novoHino.duracao(),
-            novoHino.link(),
-            novoHino.adicionadoPor()
-        );
-        List<List<Object>> values = Arrays.asList(rowData);
+     * @throws IOException Se a escrita na planilha falhar ou não terminar no tempo limite.
+     */
+    public Hino appendHino(String grupo, Hino novoHino) throws IOException {
+        return aguardarGravacao(enfileirarHino(grupo, novoHino));
+    }
+
+    /**
+     * Aceita um novo hino para gravação em segundo plano e retorna imediatamente.
+     * <p>O hino passa a aparecer nas leituras na mesma hora; a gravação na
+     * planilha pode ser acompanhada pelo id da escrita.
+     * <p>Um hino com o mesmo título e artista de outro do catálogo (inclusive os
+     * ainda na fila) é recusado, consultando o {@link IndiceChaves} do grupo em vez da planilha.
+     * @param novoHino O objeto Hino a ser persistido.
+     * @return A escrita enfileirada, com o id de acompanhamento.
+     * @throws IllegalArgumentException Se o hino não passar na validação da importação
+     *         (título vazio, fórmula, link inválido, campo longo demais).
+     * @throws HinoDuplicadoException Se já existir um hino igual.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    public FilaEscrita.Escrita enfileirarHino(String grupo, Hino novoHino) throws IOException {
+        String motivo = ImportacaoHinos.validar(novoHino);
+        if (motivo != null) {
+            throw new IllegalArgumentException(motivo);
+        }
+        Grupo encontrado = grupo(grupo);
+        if (!recusarDuplicados) {
+            return encontrado.filaEscrita().enfileirar(novoHino);
+        }
+        // As chaves vêm do catálogo, que precisa estar carregado
+        carregarCatalogo(encontrado);
+        CacheCatalogo cacheCatalogo = encontrado.cacheCatalogo();
+        return encontrado.filaEscrita().enfileirarSeNovo(novoHino,
+            hino -> encontrado.chaves().existente(hino, cacheCatalogo.atual()));
+    }
+
+    /**
+     * Relatório dos hinos possivelmente repetidos já presentes no catálogo de um grupo
+     * (veja {@link DetectorDuplicados}), calculado uma vez por versão.
+     */
+    public RelatorioDuplicados getDuplicados(Catalogo catalogo) {
+        return new RelatorioDuplicados(catalogo.versao(), catalogo.hinos().size(), catalogo.duplicados());
+    }
+
+    /**
+     * Prepara uma importação em massa para a aba de um grupo (veja {@link ImportacaoHinos}).
+     * <p>O grupo e o catálogo são resolvidos aqui, antes de qualquer linha ser lida,
+     * para que um grupo inexistente ou a planilha fora do ar virem um erro comum.
+     * @param adicionadoPor Valor de "adicionado por" para as linhas que não o informam.
+     * @param relatorio Recebe o resultado de cada linha, assim que é conhecido.
+     * @throws GrupoNaoEncontradoException Se o grupo não existir.
+     * @throws IOException Se a primeira leitura da planilha falhar.
+     */
+    public ImportacaoHinos novaImportacao(String grupo, String adicionadoPor,
+                                          Consumer<ResultadoImportacao> relatorio) throws IOException {
+        Grupo encontrado = grupo(grupo);
+        List<Hino> existentes = getCatalogo(grupo).hinos();
+        Set<String> chaves = new HashSet<>(existentes.size() * 2);
+        for (Hino hino : existentes) {
+            chaves.add(ImportacaoHinos.chave(hino));
+        }
+        return new ImportacaoHinos(encontrado.nome(), encontrado.filaEscrita()::enfileirarTodos, chaves,
+            linhasPorAppendImportacao, maximoLinhasImportacao, adicionadoPor, relatorio);
+    }
+
+    // --- EDIÇÃO (PUT/DELETE) ---
+
+    /**
+     * Hino de um grupo pelo id (veja {@link IdentidadeHinos}).
+     * @throws HinoNaoEncontradoException Se nenhum hino do grupo tiver o id.
+     */
+    public Hino getHino(String grupo, String id) throws IOException {
+        Hino hino = getCatalogo(grupo).hinoPorId(id);
+        if (hino == null) {
+            throw new HinoNaoEncontradoException(id);
+        }
+        return hino;
+    }
+
+    /**
+     * Altera um hino já gravado, regravando só a linha dele.
+     * <p>A linha vem do índice do {@link LeitorIncremental} e é conferida com uma
+     * leitura só dela antes da escrita; se a aba tiver mudado por fora, ela é relida
+     * inteira uma vez. O hino alterado passa a ter o id gravado na coluna F.
+     * @param dados Novos valores; campos ausentes (nulos) mantêm o valor atual.
+     * @param seCorresponder Valor do If-Match: a ETag do hino (ou do catálogo), ou "*".
+     * @return O hino como ficou na planilha.
+     * @throws HinoNaoEncontradoException Se nenhum hino do grupo tiver o id.
+     * @throws VersaoDesatualizadaException Se o hino mudou depois da versão informada.
+     * @throws EdicaoConflitanteException Se a linha não pode ser localizada com segurança.
+     * @throws IllegalArgumentException Se os novos valores forem inválidos.
+     */
+    public Hino atualizarHino(String grupo, String id, Hino dados, String seCorresponder) throws IOException {
+        Grupo encontrado = grupo(grupo);
+        encontrado.edicao().lock();
+        try {
+            Hino atual = hinoParaEdicao(encontrado, id, seCorresponder);
+            Hino novo = new Hino(campo(dados.titulo(), atual.titulo()), campo(dados.artista(), atual.artista()),
+                campo(dados.duracao(), atual.duracao()), campo(dados.link(), atual.link()),
+                campo(dados.adicionadoPor(), atual.adicionadoPor()), atual.id());
+            String motivo = ImportacaoHinos.validar(novo);
+            if (motivo != null) {
+                throw new IllegalArgumentException(motivo);
+            }
+            int linha = localizarLinha(encontrado, atual);
+            fonte.atualizarLinha(encontrado.aba(), linha, FilaEscrita.paraLinha(novo));
+            publicarEdicao(encontrado, encontrado.leitor().aplicarAlteracao(linha, id, novo));
+            System.out.println("-> Hino '" + novo.titulo() + "' alterado na linha " + linha + " do grupo '"
+                + encontrado.nome() + "'.");
+            return novo;
+        } finally {
+            encontrado.edicao().unlock();
+        }
+    }
+
+    /**
+     * Remove um hino já gravado, apagando só a linha dele (veja {@link #atualizarHino}).
+     * @param seCorresponder Valor do If-Match: a ETag do hino (ou do catálogo), ou "*".
+     * @throws HinoNaoEncontradoException Se nenhum hino do grupo tiver o id.
+     * @throws VersaoDesatualizadaException Se o hino mudou depois da versão informada.
+     * @throws EdicaoConflitanteException Se a linha não pode ser localizada com segurança.
+     */
+    public void removerHino(String grupo, String id, String seCorresponder) throws IOException {
+        Grupo encontrado = grupo(grupo);
+        encontrado.edicao().lock();
+        try {
+            Hino atual = hinoParaEdicao(encontrado, id, seCorresponder);
+            int linha = localizarLinha(encontrado, atual);
+            fonte.removerLinha(encontrado.aba(), linha);
+            publicarEdicao(encontrado, encontrado.leitor().aplicarRemocao(linha, id));
+            System.out.println("-> Hino '" + atual.titulo() + "' removido da linha " + linha + " do grupo '"
+                + encontrado.nome() + "'.");
+        } finally {
+            encontrado.edicao().unlock();
+        }
+    }
+
+    // Hino atual do catálogo, se o If-Match corresponder a ele
+    private Hino hinoParaEdicao(Grupo grupo, String id, String seCorresponder) throws IOException {
+        Catalogo catalogo = grupo.cacheCatalogo().obter();
+        Hino atual = catalogo.hinoPorId(id);
+        if (atual == null) {
+            throw new HinoNaoEncontradoException(id);
+        }
+        String etag = IdentidadeHinos.etag(atual);
+        for (String valor : seCorresponder.split(",")) {
+            String esperado = valor.trim();
+            if (esperado.equals("*") || esperado.equals(etag) || esperado.equals(catalogo.etag())) {
+                return atual;
+            }
+        }
+        throw new VersaoDesatualizadaException(etag);
+    }
+
+    /**
+     * Linha do hino na planilha, conferida com uma leitura só dela. Se a linha não
+     * for mais a do hino (a aba foi editada à mão), a aba é relida inteira uma vez.
+     */
+    private int localizarLinha(Grupo grupo, Hino atual) throws IOException {
+        for (int tentativa = 1; ; tentativa++) {
+            Integer linha = grupo.leitor().linhaDe(atual.id());
+            if (linha == null && grupo.filaEscrita().hinosPendentes().contains(atual)) {
+                throw new EdicaoConflitanteException("O hino ainda está na fila de escrita; tente de novo em instantes.");
+            }
+            if (linha != null && IdentidadeHinos.mesmaLinha(fonte.lerLinha(grupo.aba(), linha), atual)) {
+                return linha;
+            }
+            if (tentativa > 1) {
+                throw new EdicaoConflitanteException("A linha do hino não foi localizada na planilha.");
+            }
+            grupo.leitor().exigirReconciliacao();
+            leituraEmLote.invalidar(grupo.aba());
+            Hino relido = grupo.cacheCatalogo().atualizar().hinoPorId(atual.id());
+            if (relido == null) {
+                throw new HinoNaoEncontradoException(atual.id());
+            }
+            if (!relido.equals(atual)) {
+                throw new VersaoDesatualizadaException(IdentidadeHinos.etag(relido));
+            }
+        }
+    }
 
-        // 2. Define o corpo da requisição
-        ValueRange body = new ValueRange().setValues(values);
+    private void publicarEdicao(Grupo grupo, List<Hino> hinos) {
+        if (hinos == null) {
+            // A aba mudou durante a edição: a próxima leitura é completa
+            grupo.leitor().exigirReconciliacao();
+            invalidar(grupo);
+            return;
+        }
+        grupo.cacheCatalogo().publicarLeitura(hinos);
+    }
 
-        // 3. Executa a requisição de APPEND (adiciona nova linha)
-        AppendValuesResponse result = this.sheetsService.spreadsheets().values().append(
-            spreadsheetId, 
-            range, 
-            body
-        )
-        .setValueInputOption("USER_ENTERED") // Trata valores como se fossem digitados manualmente
-        .execute();
+    private static String campo(String novo, String atual) {
+        return novo == null ? atual : novo.trim();
+    }
 
-        // Em uma aplicação real, você faria uma nova leitura, mas aqui retornamos o objeto original
-        return novoHino;
+    /**
+     * Aguarda a gravação de uma escrita enfileirada.
+     * @throws IOException Se a gravação falhar ou não terminar no tempo limite.
+     */
+    public Hino aguardarGravacao(FilaEscrita.Escrita escrita) throws IOException {
+        try {
+            return escrita.futuro().get(esperaSincronaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException erro ? erro : new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("A gravação do hino não terminou em " + esperaSincronaMs + " ms.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera pela gravação interrompida.");
+        }
     }
 
     /**
-     * Retorna a instância do cliente da Google Sheets API.
+     * Situação de uma escrita enfileirada (nulo se o id for desconhecido).
      */
-    public Sheets getSheetsService() {
-        return this.sheetsService;
+    public SituacaoEscrita getSituacaoEscrita(String id) {
+        // Os ids são únicos entre todas as filas
+        for (Grupo grupo : grupos.values()) {
+            SituacaoEscrita situacao = grupo.filaEscrita().situacao(id);
+            if (situacao != null) {
+                return situacao;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEscritaSincrona() {
+        return "sincrono".equalsIgnoreCase(modoEscrita);
     }
 }
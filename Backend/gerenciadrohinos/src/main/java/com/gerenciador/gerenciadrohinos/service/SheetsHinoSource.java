@@ -0,0 +1,334 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.SheetsScopes;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.DeleteDimensionRequest;
+import com.google.api.services.sheets.v4.model.DimensionRange;
+import com.google.api.services.sheets.v4.model.Request;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementação de {@link HinoSource} que conversa com a Google Sheets API.
+ * <p>É a fonte padrão da aplicação ({@code hinos.fonte=sheets}).
+ * <p>O nome da aba pode indicar outra planilha no formato {@code "<id da planilha>!<aba>"};
+ * sem o prefixo, vale a planilha de {@code google.sheets.spreadsheet-id}.
+ * <p>Criar o cliente (transporte HTTP com o repositório de certificados e leitura das
+ * credenciais) é a parte mais lenta da inicialização. Com
+ * {@code hinos.inicializacao.segundo-plano=true} ele é criado em outra thread, enquanto
+ * o restante da aplicação sobe, e a primeira chamada à planilha espera por ele; um erro
+ * (credenciais ausentes, por exemplo) aparece no log e em cada chamada, em vez de
+ * impedir a aplicação de subir.
+ */
+@Component
+@ConditionalOnProperty(name = "hinos.fonte", havingValue = "sheets", matchIfMissing = true)
+public class SheetsHinoSource implements HinoSource {
+
+    // Injeta o ID da planilha do application.properties
+    @Value("${google.sheets.spreadsheet-id}")
+    private String spreadsheetId;
+
+    private static final String APPLICATION_NAME = "Gerenciador De Hinos";
+    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    // O caminho para o arquivo de credenciais no diretório 'src/main/resources'
+    private static final String CREDENTIAL_PATH = "credentials.json";
+    // Leituras sem formatação: uma hora chega como número de série, não como "4:30:00" (veja LeitorValores)
+    private static final String VALORES_SEM_FORMATACAO = "UNFORMATTED_VALUE";
+    private static final String DATAS_COMO_NUMERO = "SERIAL_NUMBER";
+    // Coluna C nas linhas gravadas
+    private static final int COLUNA_DURACAO = 2;
+
+    // Cria o cliente em segundo plano (true) ou antes de a aplicação terminar de subir (false)
+    @Value("${hinos.inicializacao.segundo-plano:true}")
+    private boolean inicializacaoEmSegundoPlano;
+
+    // Cliente da API, concluído quando a criação termina
+    private CompletableFuture<Sheets> cliente;
+    // Id numérico de cada aba (exigido pela remoção de linhas), consultado uma vez
+    private final Map<Referencia, Integer> idsAbas = new ConcurrentHashMap<>();
+
+    /**
+     * Método de inicialização da API, executado após a injeção de todos os beans (@Value).
+     */
+    @PostConstruct
+    public void init() throws IOException, GeneralSecurityException {
+        if (!inicializacaoEmSegundoPlano) {
+            this.cliente = CompletableFuture.completedFuture(criarCliente());
+            return;
+        }
+        this.cliente = CompletableFuture.supplyAsync(() -> {
+            try {
+                return criarCliente();
+            } catch (IOException | GeneralSecurityException e) {
+                System.err.println("-> Falha ao inicializar o Google Sheets API client: " + e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, tarefa -> {
+            Thread thread = new Thread(tarefa, "sheets-inicializacao");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private Sheets criarCliente() throws IOException, GeneralSecurityException {
+        long inicio = System.nanoTime();
+        ClassPathResource resource = new ClassPathResource(CREDENTIAL_PATH);
+
+        try (InputStream in = resource.getInputStream()){
+            GoogleCredentials credentials = GoogleCredentials.fromStream(in)
+                    .createScoped(Collections.singleton(SheetsScopes.SPREADSHEETS));
+
+            Sheets sheets = new Sheets.Builder(
+                    GoogleNetHttpTransport.newTrustedTransport(),
+                    JSON_FACTORY,
+                    new HttpCredentialsAdapter(credentials))
+                    .setApplicationName(APPLICATION_NAME)
+                    .build();
+            System.out.println("-> Google Sheets API client inicializado com sucesso em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+            return sheets;
+        }
+    }
+
+    // Espera a criação do cliente, se ainda estiver em andamento
+    private Sheets sheetsService() throws IOException {
+        try {
+            return cliente.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException erro ? erro
+                : new IOException("Google Sheets API client indisponível: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Lê a resposta do values.get em fluxo, direto para hinos (veja {@link LeitorValores}),
+     * sem passar pelo modelo genérico do cliente do Google.
+     */
+    @Override
+    public List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        Referencia referencia = Referencia.de(aba, spreadsheetId);
+
+        HttpResponse resposta = sheetsService().spreadsheets().values()
+            .get(referencia.planilha(), referencia.intervalo(primeiraLinha))
+            .setValueRenderOption(VALORES_SEM_FORMATACAO)
+            .setDateTimeRenderOption(DATAS_COMO_NUMERO)
+            .setFields("values")
+            .setPrettyPrint(false)
+            .executeUnparsed();
+        try (Reader entrada = new InputStreamReader(resposta.getContent(), StandardCharsets.UTF_8)) {
+            return LeitorValores.lerValueRange(entrada);
+        } finally {
+            resposta.disconnect();
+        }
+    }
+
+    /**
+     * Lê todas as abas de uma mesma planilha em um único values.batchGet (uma chamada
+     * por planilha distinta), também em fluxo.
+     */
+    @Override
+    public Map<String, List<Hino>> lerHinos(Map<String, Integer> primeiraLinhaPorAba) throws IOException {
+        Map<String, List<String>> abasPorPlanilha = new LinkedHashMap<>();
+        for (String aba : primeiraLinhaPorAba.keySet()) {
+            abasPorPlanilha.computeIfAbsent(Referencia.de(aba, spreadsheetId).planilha(), p -> new ArrayList<>()).add(aba);
+        }
+
+        Map<String, List<Hino>> hinosPorAba = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> planilha : abasPorPlanilha.entrySet()) {
+            List<String> abas = planilha.getValue();
+            List<String> intervalos = new ArrayList<>(abas.size());
+            for (String aba : abas) {
+                intervalos.add(Referencia.de(aba, spreadsheetId).intervalo(primeiraLinhaPorAba.get(aba)));
+            }
+
+            HttpResponse resposta = sheetsService().spreadsheets().values()
+                .batchGet(planilha.getKey())
+                .setRanges(intervalos)
+                .setValueRenderOption(VALORES_SEM_FORMATACAO)
+                .setDateTimeRenderOption(DATAS_COMO_NUMERO)
+                .setFields("valueRanges(values)")
+                .setPrettyPrint(false)
+                .executeUnparsed();
+            List<List<Hino>> lidos;
+            try (Reader entrada = new InputStreamReader(resposta.getContent(), StandardCharsets.UTF_8)) {
+                lidos = LeitorValores.lerValueRanges(entrada);
+            } finally {
+                resposta.disconnect();
+            }
+            if (lidos.size() != abas.size()) {
+                throw new IOException("Resposta do batchGet com " + lidos.size() + " intervalo(s); esperados "
+                    + abas.size() + ".");
+            }
+            for (int i = 0; i < abas.size(); i++) {
+                hinosPorAba.put(abas.get(i), lidos.get(i));
+            }
+        }
+        // Na ordem pedida, mesmo com abas de planilhas diferentes intercaladas
+        Map<String, List<Hino>> ordenado = new LinkedHashMap<>();
+        primeiraLinhaPorAba.keySet().forEach(aba -> ordenado.put(aba, hinosPorAba.get(aba)));
+        return ordenado;
+    }
+
+    @Override
+    public void anexarLinhas(String aba, List<List<Object>> linhas) throws IOException {
+        Referencia referencia = Referencia.de(aba, spreadsheetId);
+
+        sheetsService().spreadsheets().values()
+            .append(referencia.planilha(), referencia.colunas(),
+                new ValueRange().setValues(linhas.stream().map(SheetsHinoSource::comDuracaoEmTexto).toList()))
+            .setValueInputOption("USER_ENTERED") // Trata valores como se fossem digitados manualmente
+            .execute();
+    }
+
+    /**
+     * Lê só a linha pedida (intervalo A{n}:F{n}), também em fluxo.
+     */
+    @Override
+    public Hino lerLinha(String aba, int linha) throws IOException {
+        Referencia referencia = Referencia.de(aba, spreadsheetId);
+
+        HttpResponse resposta = sheetsService().spreadsheets().values()
+            .get(referencia.planilha(), referencia.linha(linha))
+            .setValueRenderOption(VALORES_SEM_FORMATACAO)
+            .setDateTimeRenderOption(DATAS_COMO_NUMERO)
+            .setFields("values")
+            .setPrettyPrint(false)
+            .executeUnparsed();
+        List<Hino> hinos;
+        try (Reader entrada = new InputStreamReader(resposta.getContent(), StandardCharsets.UTF_8)) {
+            hinos = LeitorValores.lerValueRange(entrada);
+        } finally {
+            resposta.disconnect();
+        }
+        // Linha em branco (ou além do final da aba): a API não devolve 'values'
+        return hinos.isEmpty() ? LeitorValores.paraHino(List.of()) : hinos.get(0);
+    }
+
+    @Override
+    public void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        Referencia referencia = Referencia.de(aba, spreadsheetId);
+
+        sheetsService().spreadsheets().values()
+            .update(referencia.planilha(), referencia.linha(linha),
+                new ValueRange().setValues(List.of(comDuracaoEmTexto(valores))))
+            .setValueInputOption("USER_ENTERED")
+            .execute();
+    }
+
+    @Override
+    public void removerLinha(String aba, int linha) throws IOException {
+        Referencia referencia = Referencia.de(aba, spreadsheetId);
+
+        DimensionRange linhas = new DimensionRange()
+            .setSheetId(idAba(referencia))
+            .setDimension("ROWS")
+            .setStartIndex(linha - 1) // Índices da API começam em 0 e o final é exclusivo
+            .setEndIndex(linha);
+        Request remocao = new Request().setDeleteDimension(new DeleteDimensionRequest().setRange(linhas));
+        sheetsService().spreadsheets()
+            .batchUpdate(referencia.planilha(), new BatchUpdateSpreadsheetRequest().setRequests(List.of(remocao)))
+            .execute();
+    }
+
+    // Com USER_ENTERED, a duração "4:30" seria guardada como a hora 4:30:00; o apóstrofo
+    // faz a planilha guardar o texto como foi enviado (e não aparece na leitura)
+    private static List<Object> comDuracaoEmTexto(List<Object> linha) {
+        if (linha.size() <= COLUNA_DURACAO || !(linha.get(COLUNA_DURACAO) instanceof String duracao)
+                || duracao.isEmpty()) {
+            return linha;
+        }
+        List<Object> copia = new ArrayList<>(linha);
+        copia.set(COLUNA_DURACAO, "'" + duracao);
+        return copia;
+    }
+
+    private int idAba(Referencia referencia) throws IOException {
+        Integer id = idsAbas.get(referencia);
+        if (id != null) {
+            return id;
+        }
+        Spreadsheet planilha = sheetsService().spreadsheets().get(referencia.planilha())
+            .setFields("sheets.properties(sheetId,title)")
+            .execute();
+        for (Sheet aba : planilha.getSheets()) {
+            idsAbas.put(new Referencia(referencia.planilha(), aba.getProperties().getTitle()),
+                aba.getProperties().getSheetId());
+        }
+        id = idsAbas.get(referencia);
+        if (id == null) {
+            throw new IOException("Aba '" + referencia.aba() + "' não encontrada na planilha.");
+        }
+        return id;
+    }
+
+    /**
+     * Planilha e aba indicadas por um nome de aba, possivelmente com o prefixo da planilha.
+     */
+    private record Referencia(
+        String planilha,
+        String aba
+    ) {
+        static Referencia de(String aba, String planilhaPadrao) {
+            int separador = aba.indexOf('!');
+            return separador < 0 ? new Referencia(planilhaPadrao, aba)
+                : new Referencia(aba.substring(0, separador), aba.substring(separador + 1));
+        }
+
+        // Nome entre aspas simples na notação A1, para aceitar espaços e acentos
+        private String abaA1() {
+            return "'" + aba.replace("'", "''") + "'";
+        }
+
+        String intervalo(int primeiraLinha) {
+            return abaA1() + "!A" + primeiraLinha + ":F";
+        }
+
+        String linha(int linha) {
+            return abaA1() + "!A" + linha + ":F" + linha;
+        }
+
+        // Range completo para escrita (adiciona no final)
+        String colunas() {
+            return abaA1() + "!A:F";
+        }
+    }
+
+    /**
+     * Retorna a instância do cliente da Google Sheets API (espera a criação, se preciso).
+     */
+    public Sheets getSheetsService() throws IOException {
+        return sheetsService();
+    }
+}
@@ -0,0 +1,202 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Cópia binária da última versão do catálogo em disco, lida na inicialização
+ * antes de qualquer chamada à planilha.
+ * <p>É mais rápida de restaurar que a {@link ReplicaCatalogo}: o arquivo é
+ * mapeado em memória e decodificado em uma única passada, sem consulta ao banco
+ * nem criação de entidades. A réplica continua existindo e é usada quando o
+ * arquivo não existe ou está corrompido.
+ * <p>Formato (big-endian): "HINO", versão do formato, versão do catálogo,
+ * instante de carga (segundos e nanos), quantidade de hinos e, para cada hino,
+ * os seis campos (o último é o id) como tamanho em bytes (-1 para nulo) seguido do texto em
+ * UTF-8; ao final, o CRC32 de tudo o que vem antes.
+ * <p>Cada gravação escreve um arquivo temporário e o renomeia sobre o anterior,
+ * então uma queda no meio da gravação nunca deixa um arquivo pela metade.
+ */
+@Component
+public class SnapshotCatalogo {
+
+    private static final int MAGICO = 0x48494E4F; // "HINO"
+    // Formato 2: acrescenta o id do hino; arquivos do formato 1 são ignorados (a réplica os substitui)
+    private static final int FORMATO = 2;
+
+    private final Path diretorio;
+
+    // Próxima versão a gravar, por aba (as intermediárias são descartadas)
+    private final Map<String, Catalogo> aguardando = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot-catalogo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SnapshotCatalogo(@Value("${hinos.snapshot.diretorio:data}") String diretorio) {
+        this.diretorio = Path.of(diretorio);
+    }
+
+    /**
+     * Lê o snapshot de uma aba.
+     * @return O catálogo gravado, ou nulo se não houver arquivo válido.
+     */
+    public Catalogo carregar(String aba) {
+        Path arquivo = arquivo(aba);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return decodificar(dados);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("-> Snapshot do catálogo '" + arquivo + "' ignorado: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Agenda a gravação de uma versão do catálogo e retorna imediatamente.
+     */
+    public void gravar(String aba, Catalogo catalogo) {
+        if (aguardando.put(aba, catalogo) == null) {
+            executor.execute(() -> gravarPendente(aba));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private void gravarPendente(String aba) {
+        Catalogo catalogo = aguardando.remove(aba);
+        if (catalogo == null) {
+            return;
+        }
+        Path arquivo = arquivo(aba);
+        try {
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream saida = Files.newOutputStream(temporario)) {
+                    saida.write(codificar(catalogo));
+                }
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            System.err.println("-> Falha ao gravar o snapshot do catálogo '" + arquivo + "': " + e.getMessage());
+        }
+    }
+
+    private Path arquivo(String aba) {
+        // O nome da aba vira parte do nome do arquivo, sem caracteres especiais
+        return diretorio.resolve("catalogo-" + aba.replaceAll("[^A-Za-z0-9._-]", "_") + ".bin");
+    }
+
+    static byte[] codificar(Catalogo catalogo) throws IOException {
+        List<Hino> hinos = catalogo.hinos();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + hinos.size() * 64);
+        DataOutputStream saida = new DataOutputStream(bytes);
+        saida.writeInt(MAGICO);
+        saida.writeInt(FORMATO);
+        saida.writeLong(catalogo.versao());
+        saida.writeLong(catalogo.carregadoEm().getEpochSecond());
+        saida.writeInt(catalogo.carregadoEm().getNano());
+        saida.writeInt(hinos.size());
+        for (Hino hino : hinos) {
+            escreverTexto(saida, hino.titulo());
+            escreverTexto(saida, hino.artista());
+            escreverTexto(saida, hino.duracao());
+            escreverTexto(saida, hino.link());
+            escreverTexto(saida, hino.adicionadoPor());
+            escreverTexto(saida, hino.id());
+        }
+        saida.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        saida.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    static Catalogo decodificar(ByteBuffer dados) {
+        if (dados.remaining() < 36 || dados.getInt(0) != MAGICO || dados.getInt(4) != FORMATO) {
+            throw new IllegalArgumentException("formato desconhecido");
+        }
+        int fim = dados.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(dados.duplicate().limit(fim));
+        if ((int) crc.getValue() != dados.getInt(fim)) {
+            throw new IllegalArgumentException("CRC inválido");
+        }
+        dados.position(8);
+        long versao = dados.getLong();
+        Instant carregadoEm = Instant.ofEpochSecond(dados.getLong(), dados.getInt());
+        int quantidade = dados.getInt();
+        List<Hino> hinos = new ArrayList<>(quantidade);
+        byte[] auxiliar = new byte[256];
+        // Artistas, durações e autores se repetem muito: uma única String para cada valor
+        Map<String, String> repetidos = new HashMap<>();
+        for (int i = 0; i < quantidade; i++) {
+            String titulo = lerTexto(dados, auxiliar, null);
+            String artista = lerTexto(dados, auxiliar, repetidos);
+            String duracao = lerTexto(dados, auxiliar, repetidos);
+            String link = lerTexto(dados, auxiliar, null);
+            String adicionadoPor = lerTexto(dados, auxiliar, repetidos);
+            String id = lerTexto(dados, auxiliar, null);
+            hinos.add(new Hino(titulo, artista, duracao, link, adicionadoPor, id));
+        }
+        return Catalogo.restaurado(hinos, versao, carregadoEm);
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer dados, byte[] auxiliar, Map<String, String> repetidos) {
+        int tamanho = dados.getInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] destino = tamanho <= auxiliar.length ? auxiliar : new byte[tamanho];
+        dados.get(destino, 0, tamanho);
+        String texto = new String(destino, 0, tamanho, StandardCharsets.UTF_8);
+        return repetidos == null ? texto : repetidos.computeIfAbsent(texto, t -> t);
+    }
+}
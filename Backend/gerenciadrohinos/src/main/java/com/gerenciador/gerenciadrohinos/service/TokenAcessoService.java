@@ -0,0 +1,115 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.TokenAcesso;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Emite e valida os tokens de acesso de curta duração devolvidos pelo login.
+ * <p>O token é "conteúdo.assinatura", em Base64 (URL-safe): o conteúdo leva o
+ * usuário e o instante de expiração, e a assinatura é um HMAC-SHA256 do conteúdo
+ * junto com o hash da senha do usuário. Validar custa um HMAC (microssegundos),
+ * em vez de uma verificação BCrypt, e trocar a senha invalida os tokens já emitidos.
+ * <p>Se nenhuma chave for configurada, uma chave aleatória é gerada na
+ * inicialização (os tokens deixam de valer quando a aplicação reinicia).
+ */
+@Service
+public class TokenAcessoService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec chave;
+    private final Duration validade;
+    private final Clock clock = Clock.systemUTC();
+
+    public TokenAcessoService(@Value("${hinos.autenticacao.token.chave:}") String chave,
+                              @Value("${hinos.autenticacao.token.validade-ms:900000}") long validadeMs) {
+        byte[] bytes;
+        if (chave == null || chave.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = chave.getBytes(StandardCharsets.UTF_8);
+        }
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+        this.validade = Duration.ofMillis(validadeMs);
+    }
+
+    /**
+     * Emite um token para um usuário já autenticado.
+     */
+    public TokenAcesso emitir(UserDetails usuario) {
+        Instant expiraEm = clock.instant().plus(validade);
+        String conteudo = CODIFICADOR.encodeToString(
+            (usuario.getUsername() + "\n" + expiraEm.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+        return new TokenAcesso(conteudo + "." + assinar(conteudo, usuario.getPassword()), "Bearer", expiraEm);
+    }
+
+    /**
+     * Extrai o usuário de um token sem verificar a assinatura.
+     * @return O nome do usuário, ou nulo se o token estiver malformado ou vencido.
+     */
+    public String usuarioDoToken(String token) {
+        int ponto = token.indexOf('.');
+        if (ponto <= 0) {
+            return null;
+        }
+        String[] partes;
+        try {
+            partes = new String(DECODIFICADOR.decode(token.substring(0, ponto)), StandardCharsets.UTF_8).split("\n", 2);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (partes.length != 2) {
+            return null;
+        }
+        try {
+            if (clock.instant().getEpochSecond() >= Long.parseLong(partes[1])) {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return partes[0];
+    }
+
+    /**
+     * Confere a assinatura do token com os dados atuais do usuário.
+     */
+    public boolean assinaturaValida(String token, UserDetails usuario) {
+        int ponto = token.indexOf('.');
+        if (ponto <= 0 || usuario.getPassword() == null) {
+            return false;
+        }
+        String esperada = assinar(token.substring(0, ponto), usuario.getPassword());
+        return MessageDigest.isEqual(esperada.getBytes(StandardCharsets.US_ASCII),
+            token.substring(ponto + 1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String assinar(String conteudo, String hashSenha) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            mac.update(conteudo.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return CODIFICADOR.encodeToString(mac.doFinal(hashSenha.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+        }
+    }
+}
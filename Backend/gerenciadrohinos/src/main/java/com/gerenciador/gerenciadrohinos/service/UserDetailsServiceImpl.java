@@ -2,6 +2,8 @@ package com.gerenciador.gerenciadrohinos.service;
 
 import com.gerenciador.gerenciadrohinos.model.User;
 import com.gerenciador.gerenciadrohinos.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,9 +21,15 @@ import java.util.stream.Collectors;
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
+    // Tempo para carregar o usuário e as roles do banco
+    private final Timer tempoCarregamento;
 
-    public UserDetailsServiceImpl(UserRepository userRepository){
+    public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry){
         this.userRepository = userRepository;
+        this.tempoCarregamento = Timer.builder("hinos.autenticacao.carregar.usuario")
+            .description("Tempo de loadUserByUsername (consulta ao H2 com as roles)")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     /**
@@ -30,6 +38,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException{
+        return tempoCarregamento.record(() -> carregarUsuario(username));
+    }
+
+    private UserDetails carregarUsuario(String username) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
 
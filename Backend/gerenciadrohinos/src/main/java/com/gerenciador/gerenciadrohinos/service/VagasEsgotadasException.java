@@ -0,0 +1,16 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import java.time.Duration;
+
+/**
+ * Todas as vagas de chamadas simultâneas à planilha ficaram ocupadas durante a
+ * espera máxima ({@link HinoSourceLimitado}).
+ * <p>É um congestionamento local: nenhuma chamada foi feita, então não é repetida
+ * nem conta como falha da API para o {@link Disjuntor}.
+ */
+public class VagasEsgotadasException extends PlanilhaIndisponivelException {
+
+    public VagasEsgotadasException(String mensagem, Duration tentarApos) {
+        super(mensagem, tentarApos);
+    }
+}
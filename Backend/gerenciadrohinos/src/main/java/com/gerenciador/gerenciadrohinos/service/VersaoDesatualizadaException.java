@@ -0,0 +1,20 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+/**
+ * A edição foi feita sobre uma versão do hino (ou do catálogo) que não é mais a
+ * atual: outra pessoa alterou o hino depois que ele foi lido. Vira 412
+ * (Precondition Failed) com a ETag atual, para que o cliente releia antes de tentar de novo.
+ */
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    private final String etagAtual;
+
+    public VersaoDesatualizadaException(String etagAtual) {
+        super("O hino foi alterado depois da versão informada em If-Match; leia-o de novo antes de editar.");
+        this.etagAtual = etagAtual;
+    }
+
+    public String getEtagAtual() {
+        return etagAtual;
+    }
+}
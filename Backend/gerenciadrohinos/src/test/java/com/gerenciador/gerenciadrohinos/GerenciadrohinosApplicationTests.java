@@ -3,7 +3,14 @@ package com.gerenciador.gerenciadrohinos;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Fonte local e banco em memória: o contexto sobe sem credenciais do Google nem arquivos em ./data
+@SpringBootTest(properties = {
+	"hinos.fonte=local",
+	"hinos.local.arquivo=build/teste/hinos-local.json",
+	"hinos.snapshot.diretorio=build/teste",
+	"spring.datasource.url=jdbc:h2:mem:teste",
+	"management.server.port=-1"
+})
 class GerenciadrohinosApplicationTests {
 
 	@Test
@@ -0,0 +1,180 @@
+package com.gerenciador.gerenciadrohinos.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+class FiltroCompressaoTest {
+
+    private static final String CORPO = "{\"hinos\":[]}".repeat(20);
+
+    private final FiltroCompressao filtro = new FiltroCompressao();
+
+    @Test
+    void comprimeEMarcaAEtag() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, responder(HttpServletResponse.SC_OK, null));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"7-abc-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(CORPO, descomprimir(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void retiraOSufixoDoIfNoneMatch() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"7-abc-gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> recebido = new AtomicReference<>();
+
+        filtro.doFilter(request, response, responder(HttpServletResponse.SC_NOT_MODIFIED, recebido));
+
+        assertEquals("\"7-abc\"", recebido.get());
+        assertEquals(304, response.getStatus());
+        // O 304 leva a mesma ETag da resposta comprimida
+        assertEquals("\"7-abc-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void semGzipNaoMexeNaResposta() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip;q=0");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"7-abc-gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> recebido = new AtomicReference<>();
+
+        filtro.doFilter(request, response, responder(HttpServletResponse.SC_OK, recebido));
+
+        assertEquals("\"7-abc-gzip\"", recebido.get());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"7-abc\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CORPO, response.getContentAsString());
+    }
+
+    @Test
+    void tiposNaoComprimidos() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) -> {
+            HttpServletResponse resposta = (HttpServletResponse) res;
+            resposta.setContentType("image/png");
+            resposta.setHeader(HttpHeaders.ETAG, "\"7-abc\"");
+            resposta.getOutputStream().write(new byte[] {1, 2, 3});
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"7-abc\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(3, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void escritaNaoBloqueanteSaiSemCompressao() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        SaidaNaoBloqueante saida = new SaidaNaoBloqueante();
+        HttpServletResponse response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return saida;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+            }
+        };
+        AtomicReference<Boolean> pronto = new AtomicReference<>();
+
+        filtro.doFilter(request, response, (req, res) -> {
+            HttpServletResponse resposta = (HttpServletResponse) res;
+            resposta.setContentType("application/json");
+            ServletOutputStream fluxo = resposta.getOutputStream();
+            fluxo.setWriteListener(listener);
+            pronto.set(fluxo.isReady());
+            fluxo.write(CORPO.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertSame(listener, saida.listener);
+        assertFalse(pronto.get());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(CORPO, saida.conteudo.toString(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest requisicao(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/musicas");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    // Responde como o controller: ETag da versão e, com 200, o corpo JSON
+    private static FilterChain responder(int status, AtomicReference<String> ifNoneMatch) {
+        return (req, res) -> {
+            if (ifNoneMatch != null) {
+                ifNoneMatch.set(((HttpServletRequest) req).getHeader(HttpHeaders.IF_NONE_MATCH));
+            }
+            HttpServletResponse resposta = (HttpServletResponse) res;
+            resposta.setStatus(status);
+            resposta.setHeader(HttpHeaders.ETAG, "\"7-abc\"");
+            if (status == HttpServletResponse.SC_OK) {
+                resposta.setContentType("application/json");
+                resposta.getOutputStream().write(CORPO.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    // Saída do container em modo não bloqueante, ainda sem espaço para escrever
+    private static final class SaidaNaoBloqueante extends ServletOutputStream {
+
+        final ByteArrayOutputStream conteudo = new ByteArrayOutputStream();
+        WriteListener listener;
+
+        @Override
+        public void write(int b) {
+            conteudo.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return false;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private static String descomprimir(byte[] bytes) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
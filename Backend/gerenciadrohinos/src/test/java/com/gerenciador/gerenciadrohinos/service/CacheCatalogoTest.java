@@ -0,0 +1,43 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class CacheCatalogoTest {
+
+    private static final Hino LIDO = new Hino("Hino A", "Artista", "4:30", "", "ana", "h0000000000000001");
+    private static final Hino PENDENTE = new Hino("Hino B", "Artista", "4:30", "", "ana", "h0000000000000002");
+
+    private final List<Hino> pendentes = new CopyOnWriteArrayList<>();
+    private final CacheCatalogo cache = new CacheCatalogo(List::of, () -> List.copyOf(pendentes),
+        Duration.ofMinutes(1), Clock.systemUTC());
+
+    @AfterEach
+    void encerrar() {
+        cache.encerrar();
+    }
+
+    @Test
+    void pendentesEntramDepoisDasLinhasLidas() {
+        pendentes.add(PENDENTE);
+
+        assertEquals(List.of(LIDO, PENDENTE), cache.publicarLeitura(List.of(LIDO)).hinos());
+    }
+
+    @Test
+    void pendenteJaGravadoNaoApareceDuasVezes() {
+        // O lote acabou de ser gravado e ainda não saiu dos pendentes
+        pendentes.add(PENDENTE);
+
+        assertEquals(List.of(LIDO, PENDENTE), cache.publicarLeitura(List.of(LIDO, PENDENTE)).hinos());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.Ordem;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CatalogoTest {
+
+    private static final Instant AGORA = Instant.parse("2025-01-01T12:00:00Z");
+    private static final List<Hino> HINOS = List.of(
+        new Hino("Ressuscita-me", "Aline Barros", "4:35", "", "ana", "h0000000000000001"),
+        new Hino("Lugar Secreto", "Gabriela Rocha", "5:12", "", "ana", "h0000000000000002"));
+
+    @Test
+    void mesmaLeituraMantemAVersaoEOQueJaFoiCalculado() {
+        Catalogo catalogo = Catalogo.inicial(HINOS, AGORA);
+        AtomicInteger serializacoes = new AtomicInteger();
+        byte[] corpo = catalogo.resposta("pagina", () -> serializar(serializacoes));
+        IndiceDuracao duracoes = catalogo.duracoes();
+        String etag = catalogo.etag();
+
+        Catalogo seguinte = catalogo.proximaVersao(new ArrayList<>(HINOS), AGORA.plusSeconds(60));
+
+        assertEquals(catalogo.versao(), seguinte.versao());
+        assertEquals(AGORA.plusSeconds(60), seguinte.carregadoEm());
+        assertSame(corpo, seguinte.resposta("pagina", () -> serializar(serializacoes)));
+        assertEquals(1, serializacoes.get());
+        assertSame(duracoes, seguinte.duracoes());
+        assertSame(catalogo.ordenacao(Ordem.TITULO), seguinte.ordenacao(Ordem.TITULO));
+        assertSame(etag, seguinte.etag());
+    }
+
+    @Test
+    void conteudoNovoDescartaOQueFoiCalculado() {
+        Catalogo catalogo = Catalogo.inicial(HINOS, AGORA);
+        AtomicInteger serializacoes = new AtomicInteger();
+        catalogo.resposta("pagina", () -> serializar(serializacoes));
+        IndiceDuracao duracoes = catalogo.duracoes();
+
+        Catalogo alterado = catalogo.proximaVersao(List.of(HINOS.get(1)), AGORA);
+
+        assertEquals(catalogo.versao() + 1, alterado.versao());
+        alterado.resposta("pagina", () -> serializar(serializacoes));
+        assertEquals(2, serializacoes.get());
+        assertNotSame(duracoes, alterado.duracoes());
+        assertEquals(List.of(HINOS.get(1)), alterado.hinos());
+    }
+
+    @Test
+    void acrescimoAoFinalAtualizaOsIndices() {
+        Catalogo catalogo = Catalogo.inicial(HINOS, AGORA);
+        Hino novo = new Hino("Sonda-me, Usa-me", "Aline Barros", "4:10", "", "ana", "h0000000000000003");
+        List<Hino> todos = new ArrayList<>(HINOS);
+        todos.add(novo);
+
+        Catalogo seguinte = catalogo.proximaVersao(todos, AGORA);
+
+        assertEquals(catalogo.versao() + 1, seguinte.versao());
+        assertEquals(List.of(novo), seguinte.adicionadosDesde(catalogo));
+        assertNull(catalogo.proximaVersao(List.of(HINOS.get(1)), AGORA).adicionadosDesde(catalogo));
+        assertSame(novo, seguinte.hinoPorId("h0000000000000003"));
+        assertEquals(List.of(HINOS.get(0), novo), seguinte.artistas().hinosDoArtista("aline barros"));
+        assertArrayEquals(new int[] {0, 2}, seguinte.artistas().posicoesDoArtista("Aline Barros"));
+        assertEquals(List.of(novo), seguinte.buscar("sonda", 10));
+    }
+
+    @Test
+    void etagMudaComAVersao() {
+        Catalogo catalogo = Catalogo.inicial(HINOS, AGORA);
+
+        Catalogo restaurado = Catalogo.restaurado(HINOS, 7, AGORA);
+
+        assertEquals(catalogo.etag(), Catalogo.inicial(HINOS, AGORA.plusSeconds(1)).etag());
+        assertNotEquals(catalogo.etag(), restaurado.etag());
+    }
+
+    private static byte[] serializar(AtomicInteger serializacoes) {
+        serializacoes.incrementAndGet();
+        return new byte[] {1, 2, 3};
+    }
+}
@@ -0,0 +1,115 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoCircuito;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+class DisjuntorTest {
+
+    private final Relogio relogio = new Relogio();
+    private final Disjuntor disjuntor = new Disjuntor(2, Duration.ofSeconds(30), relogio);
+
+    @Test
+    void abreDepoisDoLimiteDeFalhas() {
+        disjuntor.registrarFalha();
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+
+        disjuntor.registrarFalha();
+        assertEquals(EstadoCircuito.ABERTO, disjuntor.getEstado());
+        assertEquals(relogio.agora.plusSeconds(30), disjuntor.getAbertoAte());
+
+        PlanilhaIndisponivelException recusa = assertThrows(PlanilhaIndisponivelException.class, disjuntor::verificar);
+        assertEquals(Duration.ofSeconds(30), recusa.getTentarApos());
+    }
+
+    @Test
+    void sucessoZeraAsFalhas() {
+        disjuntor.registrarFalha();
+        disjuntor.registrarSucesso();
+        disjuntor.registrarFalha();
+
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+        assertEquals(1, disjuntor.getFalhasSeguidas());
+    }
+
+    @Test
+    void meioAbertoLiberaUmaUnicaChamadaDeTeste() throws PlanilhaIndisponivelException {
+        abrir();
+        relogio.avancar(Duration.ofSeconds(30));
+
+        disjuntor.verificar();
+        assertEquals(EstadoCircuito.MEIO_ABERTO, disjuntor.getEstado());
+        assertThrows(PlanilhaIndisponivelException.class, disjuntor::verificar);
+
+        disjuntor.registrarSucesso();
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+        assertNull(disjuntor.getAbertoAte());
+    }
+
+    @Test
+    void falhaNoTesteAbreDeNovo() throws PlanilhaIndisponivelException {
+        abrir();
+        relogio.avancar(Duration.ofSeconds(30));
+        disjuntor.verificar();
+
+        disjuntor.registrarFalha();
+
+        assertEquals(EstadoCircuito.ABERTO, disjuntor.getEstado());
+        assertThrows(PlanilhaIndisponivelException.class, disjuntor::verificar);
+        relogio.avancar(Duration.ofSeconds(30));
+        assertDoesNotThrow(disjuntor::verificar);
+    }
+
+    @Test
+    void testeDevolvidoPodeSerFeitoDeNovo() throws PlanilhaIndisponivelException {
+        abrir();
+        relogio.avancar(Duration.ofSeconds(30));
+        disjuntor.verificar();
+
+        disjuntor.liberarTeste();
+
+        assertEquals(EstadoCircuito.MEIO_ABERTO, disjuntor.getEstado());
+        assertDoesNotThrow(disjuntor::verificar);
+    }
+
+    private void abrir() {
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+    }
+
+    // Relógio que só anda quando o teste manda
+    static final class Relogio extends Clock {
+
+        Instant agora = Instant.parse("2025-01-01T12:00:00Z");
+
+        void avancar(Duration tempo) {
+            agora = agora.plus(tempo);
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+    }
+}
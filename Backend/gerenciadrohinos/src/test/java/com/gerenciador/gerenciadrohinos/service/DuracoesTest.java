@@ -0,0 +1,60 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class DuracoesTest {
+
+    @Test
+    void formatoRelogio() {
+        assertEquals(270, Duracoes.emSegundos("4:30"));
+        assertEquals(65, Duracoes.emSegundos("1:05"));
+        assertEquals(3900, Duracoes.emSegundos("1:05:00"));
+        assertEquals(270, Duracoes.emSegundos("aprox. 4:30"));
+    }
+
+    @Test
+    void unidadesPorExtensoOuAbreviadas() {
+        assertEquals(300, Duracoes.emSegundos("5 min"));
+        assertEquals(300, Duracoes.emSegundos("5 Minutos"));
+        assertEquals(270, Duracoes.emSegundos("4m30s"));
+        assertEquals(270, Duracoes.emSegundos("4m30"));
+        assertEquals(3900, Duracoes.emSegundos("1h 5min"));
+        assertEquals(270, Duracoes.emSegundos("4'30\""));
+        assertEquals(90, Duracoes.emSegundos("90 seg"));
+    }
+
+    @Test
+    void numeroSozinhoEhMinutos() {
+        assertEquals(300, Duracoes.emSegundos("5"));
+        assertEquals(270, Duracoes.emSegundos("4,5"));
+        assertEquals(270, Duracoes.emSegundos("4.5"));
+    }
+
+    @Test
+    void celulaGuardadaComoHora() {
+        // "4:30" digitado vira a hora 4:30:00 (0,1875 do dia)
+        assertEquals("4:30", Duracoes.deNumeroDeSerie(0.1875));
+        assertEquals(270, Duracoes.emSegundos(Duracoes.deNumeroDeSerie(0.1875)));
+        assertEquals("0:45", Duracoes.deNumeroDeSerie(0.03125));
+        // Com segundos, a hora vale como está
+        assertEquals("0:04:30", Duracoes.deNumeroDeSerie(270 / 86400.0));
+        assertEquals(270, Duracoes.emSegundos(Duracoes.deNumeroDeSerie(270 / 86400.0)));
+        // Números digitados continuam sendo minutos
+        assertEquals("5", Duracoes.deNumeroDeSerie(5.0));
+        assertEquals("4.5", Duracoes.deNumeroDeSerie(4.5));
+    }
+
+    @Test
+    void valoresInvalidosSaoDesconhecidos() {
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos(null));
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("   "));
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("sem duração"));
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("4:75"));
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("1:60:00"));
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("0:00"));
+        // Mais de um dia é erro de digitação
+        assertEquals(Duracoes.DESCONHECIDA, Duracoes.emSegundos("25:00:00"));
+    }
+}
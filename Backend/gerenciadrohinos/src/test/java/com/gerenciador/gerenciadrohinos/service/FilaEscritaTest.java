@@ -0,0 +1,198 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+import com.gerenciador.gerenciadrohinos.model.Model.StatusEscrita;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class FilaEscritaTest {
+
+    private final FonteFalsa fonte = new FonteFalsa();
+    private final Registro registro = new Registro();
+    private final FilaEscrita fila = new FilaEscrita(fonte, "Planilha1", () -> 0, Duration.ZERO, 10, 3, Duration.ofMillis(1),
+        registro);
+
+    @AfterEach
+    void encerrar() {
+        fila.encerrar();
+    }
+
+    @Test
+    void gravaOLoteComIdNovo() throws Exception {
+        FilaEscrita.Escrita escrita = fila.enfileirar(new Hino("Hino", "Artista", "4:30", "", "ana", "cliente"));
+
+        Hino gravado = escrita.futuro().get(5, TimeUnit.SECONDS);
+
+        // O id enviado pelo cliente é descartado
+        assertTrue(gravado.id().matches("h[0-9a-f]{16}"));
+        assertEquals(List.of(gravado), fonte.linhas);
+        assertEquals(List.of(gravado), registro.gravados);
+        assertEquals(StatusEscrita.GRAVADA, fila.situacao(escrita.id()).status());
+        assertTrue(fila.hinosPendentes().isEmpty());
+    }
+
+    @Test
+    void confereAPlanilhaAntesDeRepetir() throws Exception {
+        // O 'append' é aplicado, mas a resposta se perde
+        FonteFalsa respostaPerdida = new FonteFalsa() {
+            @Override
+            public synchronized void anexarLinhas(String aba, List<List<Object>> novas) throws IOException {
+                super.anexarLinhas(aba, novas);
+                if (chamadas.get() == 1) {
+                    throw new IOException("conexão encerrada");
+                }
+            }
+        };
+        FilaEscrita filaComFalha = new FilaEscrita(respostaPerdida, "Planilha1", () -> 0, Duration.ZERO, 10,
+            3, Duration.ofMillis(1), registro);
+        try {
+            FilaEscrita.Escrita escrita = filaComFalha.enfileirar(new Hino("Hino", "Artista", "4:30", "", "ana"));
+
+            assertEquals(escrita.hino(), escrita.futuro().get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(escrita.hino()), respostaPerdida.linhas);
+            assertEquals(2, escrita.situacao().tentativas());
+        } finally {
+            filaComFalha.encerrar();
+        }
+    }
+
+    @Test
+    void conferenciaLeApenasOFinalDaAba() throws Exception {
+        FonteFalsa respostaPerdida = new FonteFalsa() {
+            @Override
+            public synchronized void anexarLinhas(String aba, List<List<Object>> novas) throws IOException {
+                super.anexarLinhas(aba, novas);
+                if (chamadas.get() == 1) {
+                    throw new IOException("conexão encerrada");
+                }
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            respostaPerdida.linhas.add(new Hino("Hino " + i, "Artista", "4:30", "", "ana"));
+        }
+        FilaEscrita filaComFalha = new FilaEscrita(respostaPerdida, "Planilha1", () -> 100, Duration.ZERO, 10,
+            3, Duration.ofMillis(1), registro);
+        try {
+            FilaEscrita.Escrita escrita = filaComFalha.enfileirar(new Hino("Hino", "Artista", "4:30", "", "ana"));
+
+            assertEquals(escrita.hino(), escrita.futuro().get(5, TimeUnit.SECONDS));
+            assertEquals(101, respostaPerdida.linhas.size());
+            // Linhas 52 em diante: as 50 últimas conhecidas e o que veio depois delas
+            assertEquals(List.of(52), respostaPerdida.leituras);
+        } finally {
+            filaComFalha.encerrar();
+        }
+    }
+
+    @Test
+    void loteContinuaPendenteAteOOuvinteSerAvisado() throws Exception {
+        List<List<Hino>> pendentesAoGravar = new CopyOnWriteArrayList<>();
+        FilaEscrita[] referencia = new FilaEscrita[1];
+        FilaEscrita filaObservada = new FilaEscrita(fonte, "Planilha1", () -> 0, Duration.ZERO, 10, 3,
+            Duration.ofMillis(1), new Registro() {
+                @Override
+                public void aoGravar(List<Hino> hinos) {
+                    pendentesAoGravar.add(referencia[0].hinosPendentes());
+                }
+            });
+        referencia[0] = filaObservada;
+        try {
+            FilaEscrita.Escrita escrita = filaObservada.enfileirar(new Hino("Hino", "Artista", "4:30", "", "ana"));
+            escrita.futuro().get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(List.of(escrita.hino())), pendentesAoGravar);
+            assertTrue(filaObservada.hinosPendentes().isEmpty());
+        } finally {
+            filaObservada.encerrar();
+        }
+    }
+
+    @Test
+    void erroInesperadoConcluiOsFuturosELiberaAFila() throws Exception {
+        fonte.falha = () -> {
+            throw new IllegalStateException("resposta inesperada");
+        };
+        FilaEscrita.Escrita escrita = fila.enfileirar(new Hino("Hino A", "Artista", "4:30", "", "ana"));
+
+        ExecutionException erro = assertThrows(ExecutionException.class,
+            () -> escrita.futuro().get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalStateException.class, erro.getCause());
+        // Repetir não adianta para um erro que não é de rede
+        assertEquals(1, escrita.situacao().tentativas());
+        assertEquals(StatusEscrita.FALHOU, escrita.situacao().status());
+        assertEquals(List.of(escrita.hino()), registro.falhos);
+
+        // O lote seguinte é gravado normalmente
+        fonte.falha = null;
+        FilaEscrita.Escrita seguinte = fila.enfileirar(new Hino("Hino B", "Artista", "4:30", "", "ana"));
+        assertEquals(seguinte.hino(), seguinte.futuro().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void falhaDoOuvinteNaoImpedeARespostaAoCliente() throws Exception {
+        registro.falharAoGravar = true;
+        FilaEscrita.Escrita escrita = fila.enfileirar(new Hino("Hino", "Artista", "4:30", "", "ana"));
+
+        assertEquals(escrita.hino(), escrita.futuro().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void blocoVaiEmUmUnicoAppend() throws Exception {
+        List<Hino> hinos = List.of(
+            new Hino("Hino 1", "Artista", "", "", "ana"),
+            new Hino("Hino 2", "Artista", "", "", "ana"),
+            new Hino("Hino 3", "Artista", "", "", "ana"));
+        FilaEscrita pequena = new FilaEscrita(fonte, "Planilha1", () -> 0, Duration.ZERO, 2, 3, Duration.ofMillis(1),
+            registro);
+        try {
+            List<FilaEscrita.Escrita> escritas = pequena.enfileirarTodos(hinos);
+            for (FilaEscrita.Escrita escrita : escritas) {
+                escrita.futuro().get(5, TimeUnit.SECONDS);
+            }
+
+            assertEquals(1, fonte.chamadas.get());
+            assertEquals(3, fonte.linhas.size());
+        } finally {
+            pequena.encerrar();
+        }
+    }
+
+    // Ouvinte que guarda os hinos de cada evento
+    private static class Registro implements FilaEscrita.Ouvinte {
+
+        final List<Hino> gravados = new CopyOnWriteArrayList<>();
+        final List<Hino> falhos = new CopyOnWriteArrayList<>();
+        volatile boolean falharAoGravar;
+
+        @Override
+        public void aoEnfileirar(List<Hino> hinos) {
+        }
+
+        @Override
+        public void aoGravar(List<Hino> hinos) {
+            if (falharAoGravar) {
+                throw new IllegalStateException("catálogo indisponível");
+            }
+            gravados.addAll(hinos);
+        }
+
+        @Override
+        public void aoFalhar(List<Hino> hinos) {
+            falhos.addAll(hinos);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fonte de hinos em memória para os testes: uma única aba, com as linhas em
+ * {@link #linhas}. Uma {@link Falha} configurada é lançada antes de cada leitura
+ * ou escrita, o que permite simular a planilha fora do ar.
+ */
+class FonteFalsa implements HinoSource {
+
+    @FunctionalInterface
+    interface Falha {
+        void lancar() throws IOException;
+    }
+
+    // Linhas de dados da aba (a primeira está na linha 2 da planilha)
+    final List<Hino> linhas = new ArrayList<>();
+    // Primeira linha pedida em cada leitura
+    final List<Integer> leituras = new ArrayList<>();
+    final AtomicInteger chamadas = new AtomicInteger();
+    volatile Falha falha;
+
+    @Override
+    public synchronized List<Hino> lerHinos(String aba, int primeiraLinha) throws IOException {
+        chamar();
+        leituras.add(primeiraLinha);
+        int inicio = Math.min(primeiraLinha - 2, linhas.size());
+        return List.copyOf(linhas.subList(inicio, linhas.size()));
+    }
+
+    @Override
+    public synchronized void anexarLinhas(String aba, List<List<Object>> novas) throws IOException {
+        chamar();
+        novas.forEach(linha -> linhas.add(LeitorValores.paraHino(linha)));
+    }
+
+    @Override
+    public synchronized Hino lerLinha(String aba, int linha) throws IOException {
+        chamar();
+        return linhas.get(linha - 2);
+    }
+
+    @Override
+    public synchronized void atualizarLinha(String aba, int linha, List<Object> valores) throws IOException {
+        chamar();
+        linhas.set(linha - 2, LeitorValores.paraHino(valores));
+    }
+
+    @Override
+    public synchronized void removerLinha(String aba, int linha) throws IOException {
+        chamar();
+        linhas.remove(linha - 2);
+    }
+
+    private void chamar() throws IOException {
+        chamadas.incrementAndGet();
+        Falha atual = falha;
+        if (atual != null) {
+            atual.lancar();
+        }
+    }
+}
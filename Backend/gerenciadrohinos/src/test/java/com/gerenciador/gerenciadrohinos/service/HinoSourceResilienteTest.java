@@ -0,0 +1,134 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gerenciador.gerenciadrohinos.model.Model.EstadoCircuito;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+class HinoSourceResilienteTest {
+
+    private final FonteFalsa fonte = new FonteFalsa();
+
+    @Test
+    void repeteLeiturasComFalhaTemporaria() throws IOException {
+        fonte.linhas.add(new Hino("Hino", "Artista", "4:30", "", "ana"));
+        fonte.falha = () -> {
+            if (fonte.chamadas.get() < 3) {
+                throw new IOException("conexão recusada");
+            }
+        };
+        Disjuntor disjuntor = disjuntor(5, Duration.ofMinutes(1));
+
+        List<Hino> hinos = resiliente(fonte, disjuntor).lerHinos("Planilha1", 2);
+
+        assertEquals(1, hinos.size());
+        assertEquals(3, fonte.chamadas.get());
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+        assertEquals(0, disjuntor.getFalhasSeguidas());
+    }
+
+    @Test
+    void naoRepeteErroDefinitivo() {
+        fonte.falha = () -> {
+            throw new HttpResponseException.Builder(404, "Not Found", new HttpHeaders()).build();
+        };
+        Disjuntor disjuntor = disjuntor(1, Duration.ofMinutes(1));
+
+        assertThrows(HttpResponseException.class, () -> resiliente(fonte, disjuntor).lerHinos("Planilha1", 2));
+
+        assertEquals(1, fonte.chamadas.get());
+        // A API respondeu: o circuito continua fechado
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+    }
+
+    @Test
+    void vagasEsgotadasNaoSaoRepetidasNemAbremOCircuito() {
+        Disjuntor disjuntor = disjuntor(1, Duration.ofMinutes(1));
+        HinoSource limitado = new HinoSourceLimitado(fonte, 0, Duration.ZERO);
+
+        assertThrows(VagasEsgotadasException.class, () -> resiliente(limitado, disjuntor).lerHinos("Planilha1", 2));
+
+        assertEquals(0, fonte.chamadas.get());
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+        assertEquals(0, disjuntor.getFalhasSeguidas());
+    }
+
+    @Test
+    void vagasEsgotadasDevolvemAChamadaDeTeste() throws IOException {
+        Disjuntor disjuntor = disjuntor(1, Duration.ZERO);
+        disjuntor.registrarFalha();
+        HinoSource limitado = new HinoSourceLimitado(fonte, 0, Duration.ZERO);
+
+        assertThrows(VagasEsgotadasException.class, () -> resiliente(limitado, disjuntor).lerHinos("Planilha1", 2));
+
+        // O teste não chegou à API: a próxima chamada pode fazê-lo e fechar o circuito
+        assertEquals(EstadoCircuito.MEIO_ABERTO, disjuntor.getEstado());
+        resiliente(fonte, disjuntor).lerHinos("Planilha1", 2);
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+    }
+
+    @Test
+    void erroInesperadoNaoDeixaOCircuitoPresoEmMeioAberto() throws IOException {
+        Disjuntor disjuntor = disjuntor(1, Duration.ZERO);
+        disjuntor.registrarFalha();
+        fonte.falha = () -> {
+            throw new IllegalStateException("resposta inesperada");
+        };
+        HinoSource resiliente = resiliente(fonte, disjuntor);
+
+        assertThrows(IllegalStateException.class, () -> resiliente.lerHinos("Planilha1", 2));
+        assertEquals(EstadoCircuito.ABERTO, disjuntor.getEstado());
+
+        fonte.falha = null;
+        resiliente.lerHinos("Planilha1", 2);
+        assertEquals(EstadoCircuito.FECHADO, disjuntor.getEstado());
+    }
+
+    @Test
+    void escritasNaoSaoRepetidas() {
+        fonte.falha = () -> {
+            throw new IOException("conexão encerrada");
+        };
+        Disjuntor disjuntor = disjuntor(5, Duration.ofMinutes(1));
+
+        assertThrows(IOException.class, () -> resiliente(fonte, disjuntor).anexarLinhas("Planilha1", List.of()));
+
+        assertEquals(1, fonte.chamadas.get());
+        assertEquals(1, disjuntor.getFalhasSeguidas());
+    }
+
+    @Test
+    void falhasTemporarias() {
+        assertTrue(HinoSourceResiliente.temporaria(new IOException("rede")));
+        assertTrue(HinoSourceResiliente.temporaria(
+            new HttpResponseException.Builder(429, "Too Many Requests", new HttpHeaders()).build()));
+        assertTrue(HinoSourceResiliente.temporaria(
+            new HttpResponseException.Builder(503, "Service Unavailable", new HttpHeaders()).build()));
+        assertFalse(HinoSourceResiliente.temporaria(
+            new HttpResponseException.Builder(400, "Bad Request", new HttpHeaders()).build()));
+        assertFalse(HinoSourceResiliente.temporaria(new VagasEsgotadasException("cheio", Duration.ZERO)));
+        assertFalse(HinoSourceResiliente.temporaria(new PlanilhaIndisponivelException("aberto", Duration.ZERO)));
+    }
+
+    private static Disjuntor disjuntor(int limiteFalhas, Duration tempoAberto) {
+        return new Disjuntor(limiteFalhas, tempoAberto, Clock.systemUTC());
+    }
+
+    private static HinoSourceResiliente resiliente(HinoSource delegado, Disjuntor disjuntor) {
+        LimitadorTaxa limitador = new LimitadorTaxa(1000, Duration.ZERO);
+        return new HinoSourceResiliente(delegado, limitador, limitador, disjuntor, 3, Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class IdentidadeHinosTest {
+
+    private static final Hino HINO = new Hino("Grande é o Senhor", "Adhemar de Campos", "4:30", "", "ana");
+
+    @Test
+    void idNovoNuncaEhSoNumeros() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = IdentidadeHinos.novoId();
+            // Com USER_ENTERED, "0123..." ou "12e45" viraria número na planilha
+            assertTrue(id.matches("h[0-9a-f]{16}"), id);
+            ids.add(id);
+        }
+        assertEquals(1000, ids.size());
+    }
+
+    @Test
+    void idLegadoDependeDoConteudoEDaOcorrencia() {
+        String id = IdentidadeHinos.idLegado(HINO, 0);
+
+        assertTrue(id.matches("l[0-9a-f]{16}"), id);
+        assertEquals(id, IdentidadeHinos.idLegado(new Hino("Grande é o Senhor", "Adhemar de Campos", "4:30", "", "ana"), 0));
+        assertEquals(id + "-2", IdentidadeHinos.idLegado(HINO, 2));
+        assertNotEquals(id, IdentidadeHinos.idLegado(new Hino("Grande é o Senhor", "Adhemar de Campos", "4:31", "", "ana"), 0));
+        // O separador entre os campos distingue ("ab", "c") de ("a", "bc")
+        assertNotEquals(IdentidadeHinos.resumoConteudo(new Hino("ab", "c", "", "", "")),
+            IdentidadeHinos.resumoConteudo(new Hino("a", "bc", "", "", "")));
+    }
+
+    @Test
+    void etagMudaComQualquerCampo() {
+        Hino comId = IdentidadeHinos.comId(HINO, "h0000000000000001");
+
+        assertEquals(IdentidadeHinos.etag(comId), IdentidadeHinos.etag(IdentidadeHinos.comId(HINO, "h0000000000000001")));
+        assertNotEquals(IdentidadeHinos.etag(comId), IdentidadeHinos.etag(IdentidadeHinos.comId(HINO, "h0000000000000002")));
+        assertTrue(IdentidadeHinos.etag(comId).matches("\"[0-9a-f]{16}\""));
+    }
+
+    @Test
+    void linhaSemIdEhComparadaPeloConteudo() {
+        Hino doCatalogo = IdentidadeHinos.comId(HINO, IdentidadeHinos.idLegado(HINO, 0));
+
+        assertTrue(IdentidadeHinos.mesmaLinha(HINO, doCatalogo));
+        assertFalse(IdentidadeHinos.mesmaLinha(IdentidadeHinos.comId(HINO, "h0000000000000001"), doCatalogo));
+        assertFalse(IdentidadeHinos.mesmaLinha(new Hino("Outro", "Adhemar de Campos", "4:30", "", "ana"), doCatalogo));
+    }
+}
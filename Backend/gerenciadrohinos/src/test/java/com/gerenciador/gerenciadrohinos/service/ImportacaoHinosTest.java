@@ -0,0 +1,46 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+
+class ImportacaoHinosTest {
+
+    @Test
+    void hinoValido() {
+        assertNull(ImportacaoHinos.validar(new Hino("Deus-forte", "Artista", "4:30", "https://exemplo.com", "ana")));
+    }
+
+    @Test
+    void camposAusentesChegamNulos() {
+        assertNull(ImportacaoHinos.validar(new Hino("Hino", null, null, null, null)));
+        assertEquals("Título obrigatório.", ImportacaoHinos.validar(new Hino(null, "Artista", "", "", "")));
+        assertEquals("Título obrigatório.", ImportacaoHinos.validar(new Hino("   ", "Artista", "", "", "")));
+    }
+
+    @Test
+    void recusaTodosOsPrefixosDeFormula() {
+        for (String prefixo : new String[] {"=", "+", "-", "@"}) {
+            assertNotNull(ImportacaoHinos.validar(new Hino(prefixo + "SOMA(A1:A2)", "", "", "", "")), prefixo);
+            assertNotNull(ImportacaoHinos.validar(new Hino("Hino", prefixo + "1", "", "", "")), prefixo);
+            assertNotNull(ImportacaoHinos.validar(new Hino("Hino", "", "", "", "  " + prefixo + "cmd")), prefixo);
+        }
+        assertEquals("Campo artista não pode começar com '@' (fórmula).",
+            ImportacaoHinos.validar(new Hino("Hino", "@SOMA(1)", "", "", "")));
+    }
+
+    @Test
+    void linkPrecisaDeProtocolo() {
+        assertEquals("Link deve começar com http:// ou https://.",
+            ImportacaoHinos.validar(new Hino("Hino", "", "", "exemplo.com", "")));
+    }
+
+    @Test
+    void campoGrandeDemais() {
+        assertNotNull(ImportacaoHinos.validar(new Hino("a".repeat(10_000), "", "", "", "")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.gerenciador.gerenciadrohinos.model.Model.ArtistaResumo;
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class IndiceArtistasTest {
+
+    private static final List<Hino> HINOS = List.of(
+        new Hino("Hino 1", "Harpa Cristã", "", "", ""),
+        new Hino("Hino 2", null, "", "", ""),
+        new Hino("Hino 3", "Ádhemar de Campos", "", "", ""),
+        new Hino("Hino 4", "  HARPA CRISTA ", "", "", ""));
+
+    @Test
+    void agrupaPeloNomeNormalizado() {
+        IndiceArtistas indice = IndiceArtistas.de(HINOS);
+
+        assertEquals(List.of(HINOS.get(0), HINOS.get(3)), indice.hinosDoArtista("harpa crista"));
+        assertEquals(List.of(new ArtistaResumo("Ádhemar de Campos", 1), new ArtistaResumo("Harpa Cristã", 2)),
+            indice.resumos());
+        assertEquals(List.of(), indice.hinosDoArtista("Desconhecido"));
+    }
+
+    @Test
+    void posicoesContamOsHinosSemArtista() {
+        IndiceArtistas indice = IndiceArtistas.de(HINOS);
+
+        assertArrayEquals(new int[] {0, 3}, indice.posicoesDoArtista("Harpa Cristã"));
+        assertArrayEquals(new int[] {2}, indice.posicoesDoArtista("adhemar de campos"));
+        assertArrayEquals(new int[0], indice.posicoesDoArtista("Desconhecido"));
+    }
+
+    @Test
+    void acrescimosDaoOMesmoResultadoQueOIndiceCompleto() {
+        IndiceArtistas incremental = IndiceArtistas.de(HINOS.subList(0, 1))
+            .comAdicionados(HINOS.subList(1, 2))
+            .comAdicionados(HINOS.subList(2, 4));
+        IndiceArtistas completo = IndiceArtistas.de(HINOS);
+
+        for (String artista : List.of("Harpa Cristã", "Ádhemar de Campos")) {
+            assertArrayEquals(completo.posicoesDoArtista(artista), incremental.posicoesDoArtista(artista));
+            assertEquals(completo.hinosDoArtista(artista), incremental.hinosDoArtista(artista));
+        }
+        assertEquals(completo.resumos(), incremental.resumos());
+    }
+}
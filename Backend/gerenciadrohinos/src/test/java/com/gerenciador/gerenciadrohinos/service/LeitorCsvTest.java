@@ -0,0 +1,62 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+class LeitorCsvTest {
+
+    @Test
+    void camposEntreAspas() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader(
+            "\"Grande é o Senhor, Deus\",\"Diz \"\"Amém\"\"\",4:30\n"
+                + "\"Duas\nlinhas\",,\n"), ',');
+
+        assertEquals(List.of("Grande é o Senhor, Deus", "Diz \"Amém\"", "4:30"), leitor.proximo());
+        assertEquals(List.of("Duas\nlinhas", "", ""), leitor.proximo());
+        assertNull(leitor.proximo());
+    }
+
+    @Test
+    void crlfBomELinhasEmBranco() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\uFEFFtitulo,artista\r\n\r\n\nHino A,Artista A\r\n"), ',');
+
+        assertEquals(List.of("titulo", "artista"), leitor.proximo());
+        assertEquals(1, leitor.getRegistro());
+        assertEquals(List.of("Hino A", "Artista A"), leitor.proximo());
+        assertEquals(2, leitor.getRegistro());
+        assertNull(leitor.proximo());
+    }
+
+    @Test
+    void ultimaLinhaSemQuebra() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,b\nc,d"), ',');
+
+        assertEquals(List.of("a", "b"), leitor.proximo());
+        assertEquals(List.of("c", "d"), leitor.proximo());
+        assertNull(leitor.proximo());
+    }
+
+    @Test
+    void detectaPontoEVirgula() throws IOException {
+        LeitorCsv leitor = LeitorCsv.detectandoSeparador(new BufferedReader(
+            new StringReader("titulo;artista;duracao\nHino, com vírgula;Artista;4:30\n")));
+
+        assertEquals(List.of("titulo", "artista", "duracao"), leitor.proximo());
+        assertEquals(List.of("Hino, com vírgula", "Artista", "4:30"), leitor.proximo());
+    }
+
+    @Test
+    void aspasSemFechamento() {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\"aberto,sem fim\n"), ',');
+
+        assertThrows(IOException.class, leitor::proximo);
+    }
+}
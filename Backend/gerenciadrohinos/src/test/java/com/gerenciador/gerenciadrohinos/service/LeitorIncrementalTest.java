@@ -0,0 +1,147 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+class LeitorIncrementalTest {
+
+    private final FonteFalsa fonte = new FonteFalsa();
+    private final LeitorIncremental leitor = new LeitorIncremental(fonte, "Planilha1", Duration.ofHours(1),
+        Clock.systemUTC());
+
+    @Test
+    void leApenasAsLinhasNovas() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(hino("Hino B"));
+        leitor.carregar();
+
+        fonte.linhas.add(hino("Hino C"));
+        List<Hino> hinos = leitor.carregar();
+
+        assertEquals(List.of("Hino A", "Hino B", "Hino C"), titulos(hinos));
+        // A segunda leitura começa na última linha já conhecida (linha 3 da planilha)
+        assertEquals(List.of(2, 3), fonte.leituras);
+        assertEquals(3, leitor.getLinhasLidas());
+    }
+
+    @Test
+    void semLinhasNovasDevolveAMesmaLista() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        List<Hino> primeira = leitor.carregar();
+
+        assertSame(primeira, leitor.carregar());
+    }
+
+    @Test
+    void ultimaLinhaAlteradaForcaReconciliacao() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(hino("Hino B"));
+        leitor.carregar();
+
+        fonte.linhas.set(1, hino("Hino B editado"));
+        fonte.linhas.add(hino("Hino C"));
+        List<Hino> hinos = leitor.carregar();
+
+        assertEquals(List.of("Hino A", "Hino B editado", "Hino C"), titulos(hinos));
+        assertEquals(List.of(2, 3, 2), fonte.leituras);
+    }
+
+    @Test
+    void linhaApagadaNoMeioApareceNaReconciliacao() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(hino("Hino B"));
+        fonte.linhas.add(hino("Hino C"));
+        leitor.carregar();
+
+        // Só a leitura completa percebe alterações antes da última linha
+        fonte.linhas.remove(0);
+        fonte.linhas.add(hino("Hino D"));
+        leitor.exigirReconciliacao();
+        List<Hino> hinos = leitor.carregar();
+
+        assertEquals(List.of("Hino B", "Hino C", "Hino D"), titulos(hinos));
+        assertEquals(2, (int) fonte.leituras.get(fonte.leituras.size() - 1));
+    }
+
+    @Test
+    void reconciliacaoSemMudancaDevolveAMesmaLista() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        List<Hino> primeira = leitor.carregar();
+
+        leitor.exigirReconciliacao();
+
+        assertSame(primeira, leitor.carregar());
+    }
+
+    @Test
+    void linhasSemTituloContamParaAPosicao() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(new Hino("", "", "", "", ""));
+        fonte.linhas.add(new Hino("Hino B", "Artista", "4:30", "", "ana", "h0000000000000001"));
+
+        List<Hino> hinos = leitor.carregar();
+
+        assertEquals(List.of("Hino A", "Hino B"), titulos(hinos));
+        assertEquals(4, leitor.linhaDe("h0000000000000001"));
+        assertEquals(2, leitor.linhaDe(hinos.get(0).id()));
+    }
+
+    @Test
+    void linhasIdenticasRecebemIdsDiferentes() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(hino("Hino A"));
+
+        List<Hino> hinos = leitor.carregar();
+
+        assertEquals(IdentidadeHinos.idLegado(hino("Hino A"), 0), hinos.get(0).id());
+        assertEquals(hinos.get(0).id() + "-1", hinos.get(1).id());
+        assertEquals(3, leitor.linhaDe(hinos.get(1).id()));
+    }
+
+    @Test
+    void edicaoPelaApiAtualizaOIndice() throws IOException {
+        fonte.linhas.add(hino("Hino A"));
+        fonte.linhas.add(new Hino("Hino B", "Artista", "4:30", "", "ana", "h0000000000000002"));
+        fonte.linhas.add(hino("Hino C"));
+        String primeiro = leitor.carregar().get(0).id();
+
+        List<Hino> hinos = leitor.aplicarRemocao(2, primeiro);
+
+        assertEquals(List.of("Hino B", "Hino C"), titulos(hinos));
+        assertEquals(2, leitor.linhaDe("h0000000000000002"));
+        // A linha não é mais a do hino
+        assertNull(leitor.aplicarAlteracao(3, "h0000000000000002", hino("Hino B")));
+    }
+
+    @Test
+    void leituraAnteriorAUmaEdicaoEhDescartada() throws IOException {
+        fonte.linhas.add(new Hino("Hino A", "Artista", "4:30", "", "ana", "h0000000000000003"));
+        leitor.carregar();
+        long edicoes = leitor.getEdicoes();
+        List<Hino> lidas = List.copyOf(fonte.linhas);
+
+        Hino editado = new Hino("Hino A editado", "Artista", "4:30", "", "ana", "h0000000000000003");
+        List<Hino> depois = leitor.aplicarAlteracao(2, "h0000000000000003", editado);
+
+        assertEquals(List.of(editado), depois);
+        assertSame(depois, leitor.aplicar(2, lidas, edicoes));
+    }
+
+    private static Hino hino(String titulo) {
+        return new Hino(titulo, "Artista", "4:30", "", "ana");
+    }
+
+    private static List<String> titulos(List<Hino> hinos) {
+        return hinos.stream().map(Hino::titulo).toList();
+    }
+}
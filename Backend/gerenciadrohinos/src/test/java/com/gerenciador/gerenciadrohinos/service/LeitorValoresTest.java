@@ -0,0 +1,76 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+class LeitorValoresTest {
+
+    @Test
+    void linhasCurtasViramCelulasVazias() throws IOException {
+        List<Hino> hinos = LeitorValores.lerValueRange(new StringReader("""
+            {"range": "Planilha1!A2:F4", "majorDimension": "ROWS", "values": [
+              ["Hino A", "Artista", "4:30"],
+              ["Hino B", "Artista", "5:00", "https://exemplo.com", "ana", "h0123456789abcdef", "extra"],
+              []
+            ]}"""));
+
+        assertEquals(3, hinos.size());
+        assertEquals(new Hino("Hino A", "Artista", "4:30", "", "", null), hinos.get(0));
+        assertEquals(new Hino("Hino B", "Artista", "5:00", "https://exemplo.com", "ana", "h0123456789abcdef"),
+            hinos.get(1));
+        // A linha sem título continua ocupando a sua posição
+        assertEquals(new Hino("", "", "", "", "", null), hinos.get(2));
+        // Valores repetidos apontam para a mesma String
+        assertSame(hinos.get(0).artista(), hinos.get(1).artista());
+    }
+
+    @Test
+    void celulasNulasEBooleanas() throws IOException {
+        List<Hino> hinos = LeitorValores.lerValueRange(new StringReader(
+            "{\"values\": [[\"Hino\", null, true, 42]]}"));
+
+        assertEquals(new Hino("Hino", "", "true", "42", "", null), hinos.get(0));
+    }
+
+    @Test
+    void duracaoGuardadaComoHora() throws IOException {
+        // Sem formatação, o "4:30" que a planilha guardou como hora chega como fração de dia
+        List<Hino> hinos = LeitorValores.lerValueRange(new StringReader(
+            "{\"values\": [[\"Hino A\", \"Artista\", 0.1875], [\"Hino B\", \"Artista\", 5]]}"));
+
+        assertEquals("4:30", hinos.get(0).duracao());
+        assertEquals(270, Duracoes.emSegundos(hinos.get(0).duracao()));
+        assertEquals("5", hinos.get(1).duracao());
+        assertEquals("4:30", LeitorValores.paraHino(Arrays.asList("Hino", "Artista", 0.1875)).duracao());
+    }
+
+    @Test
+    void variosIntervalos() throws IOException {
+        List<List<Hino>> intervalos = LeitorValores.lerValueRanges(new StringReader("""
+            {"spreadsheetId": "x", "valueRanges": [
+              {"range": "Aba1!A2:F", "values": [["Hino A"]]},
+              {"range": "Aba2!A2:F"}
+            ]}"""));
+
+        assertEquals(2, intervalos.size());
+        assertEquals(List.of(new Hino("Hino A", "", "", "", "", null)), intervalos.get(0));
+        assertEquals(List.of(), intervalos.get(1));
+    }
+
+    @Test
+    void linhaJaLida() {
+        assertEquals(new Hino("Hino", "", "3:00", "", "", null),
+            LeitorValores.paraHino(Arrays.asList("Hino", null, "3:00")));
+        assertEquals(new Hino("Hino", "Artista", "", "", "", "h1"),
+            LeitorValores.paraHino(List.of("Hino", "Artista", "", "", "", "h1")));
+    }
+}
@@ -0,0 +1,52 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class LimitadorTaxaTest {
+
+    @Test
+    void recusaQuandoAsFichasAcabam() throws Exception {
+        LimitadorTaxa limitador = new LimitadorTaxa(2, Duration.ZERO);
+
+        limitador.adquirir();
+        limitador.adquirir();
+        PlanilhaIndisponivelException recusa = assertThrows(PlanilhaIndisponivelException.class, limitador::adquirir);
+
+        assertEquals(1, limitador.getRecusadas());
+        assertEquals(0, limitador.getAtrasadas());
+        // Reabastece uma ficha a cada 30 s
+        assertTrue(recusa.getTentarApos().compareTo(Duration.ofSeconds(25)) > 0);
+    }
+
+    @Test
+    void esperaPeloReabastecimento() throws Exception {
+        // 600 por minuto: uma ficha nova a cada 100 ms
+        LimitadorTaxa limitador = new LimitadorTaxa(600, Duration.ofSeconds(2));
+        for (int i = 0; i < 600; i++) {
+            limitador.adquirir();
+        }
+
+        long inicio = System.nanoTime();
+        limitador.adquirir();
+
+        assertTrue(System.nanoTime() - inicio >= Duration.ofMillis(50).toNanos());
+        assertEquals(1, limitador.getAtrasadas());
+        assertEquals(0, limitador.getRecusadas());
+    }
+
+    @Test
+    void fichasNaoPassamDaCapacidade() throws Exception {
+        LimitadorTaxa limitador = new LimitadorTaxa(60, Duration.ZERO);
+        limitador.adquirir();
+
+        assertTrue(limitador.getFichasDisponiveis() <= 60);
+        assertTrue(limitador.getFichasDisponiveis() >= 59);
+        assertEquals(60, limitador.getCapacidade());
+    }
+}
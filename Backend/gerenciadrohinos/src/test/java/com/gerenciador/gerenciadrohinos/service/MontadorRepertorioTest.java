@@ -0,0 +1,51 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+class MontadorRepertorioTest {
+
+    @Test
+    void encontraSomaExata() {
+        int[] duracoes = {200, 300, 250, 350};
+
+        List<Integer> escolhidos = MontadorRepertorio.escolher(duracoes, 600, 0);
+
+        assertEquals(600, soma(duracoes, escolhidos));
+        assertEquals(escolhidos.size(), new HashSet<>(escolhidos).size());
+    }
+
+    @Test
+    void maisPertoDoAlvoSemPassarDaTolerancia() {
+        int[] duracoes = {400, 250};
+
+        // 650 passa do limite (600 + 30); 400 fica mais perto do alvo que 250
+        assertEquals(List.of(0), MontadorRepertorio.escolher(duracoes, 600, 30));
+        // Com tolerância suficiente, passar um pouco do alvo é melhor que ficar longe dele
+        assertEquals(650, soma(duracoes, MontadorRepertorio.escolher(duracoes, 600, 60)));
+    }
+
+    @Test
+    void cadaCandidatoEntraUmaVez() {
+        int[] duracoes = {300};
+
+        assertEquals(List.of(0), MontadorRepertorio.escolher(duracoes, 900, 0));
+    }
+
+    @Test
+    void ignoraDuracoesInvalidasOuMaioresQueOLimite() {
+        int[] duracoes = {0, -1, 5000, 120};
+
+        assertEquals(List.of(3), MontadorRepertorio.escolher(duracoes, 600, 0));
+        assertTrue(MontadorRepertorio.escolher(new int[0], 600, 0).isEmpty());
+    }
+
+    private static int soma(int[] duracoes, List<Integer> escolhidos) {
+        return escolhidos.stream().mapToInt(i -> duracoes[i]).sum();
+    }
+}
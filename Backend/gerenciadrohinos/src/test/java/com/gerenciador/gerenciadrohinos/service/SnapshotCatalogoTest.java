@@ -0,0 +1,93 @@
+package com.gerenciador.gerenciadrohinos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gerenciador.gerenciadrohinos.model.Model.Hino;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+class SnapshotCatalogoTest {
+
+    private static final List<Hino> HINOS = List.of(
+        new Hino("Grande é o Senhor", "Adhemar de Campos", "4:30", "https://exemplo.com/1", "ana", "h0123456789abcdef"),
+        new Hino("Hino sem id", "Adhemar de Campos", "4:30", "", "ana"),
+        new Hino("Campos nulos", null, null, null, null, null));
+
+    @Test
+    void codificaEDecodifica() throws IOException {
+        Instant carregadoEm = Instant.parse("2025-03-10T08:15:30.123456789Z");
+        Catalogo catalogo = Catalogo.restaurado(HINOS, 42, carregadoEm);
+
+        Catalogo lido = SnapshotCatalogo.decodificar(ByteBuffer.wrap(SnapshotCatalogo.codificar(catalogo)));
+
+        assertEquals(HINOS, lido.hinos());
+        assertEquals(42, lido.versao());
+        assertEquals(carregadoEm, lido.carregadoEm());
+        assertEquals(catalogo.etag(), lido.etag());
+    }
+
+    @Test
+    void catalogoVazio() throws IOException {
+        Catalogo catalogo = Catalogo.restaurado(List.of(), 1, Instant.EPOCH);
+
+        Catalogo lido = SnapshotCatalogo.decodificar(ByteBuffer.wrap(SnapshotCatalogo.codificar(catalogo)));
+
+        assertEquals(List.of(), lido.hinos());
+    }
+
+    @Test
+    void recusaArquivoCorrompido() throws IOException {
+        byte[] bytes = SnapshotCatalogo.codificar(Catalogo.restaurado(HINOS, 42, Instant.EPOCH));
+        bytes[bytes.length / 2] ^= 0x01;
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+            () -> SnapshotCatalogo.decodificar(ByteBuffer.wrap(bytes)));
+        assertEquals("CRC inválido", erro.getMessage());
+    }
+
+    @Test
+    void recusaOutroFormato() throws IOException {
+        byte[] bytes = SnapshotCatalogo.codificar(Catalogo.restaurado(HINOS, 42, Instant.EPOCH));
+        // Formato 1, sem a coluna de id
+        bytes[7] = 1;
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+            () -> SnapshotCatalogo.decodificar(ByteBuffer.wrap(bytes)));
+        assertEquals("formato desconhecido", erro.getMessage());
+    }
+
+    @Test
+    void arquivoInvalidoOuAusenteEhIgnorado(@TempDir Path diretorio) throws IOException {
+        SnapshotCatalogo snapshot = new SnapshotCatalogo(diretorio.toString());
+        assertNull(snapshot.carregar("Planilha1"));
+
+        byte[] bytes = SnapshotCatalogo.codificar(Catalogo.restaurado(HINOS, 42, Instant.EPOCH));
+        Files.write(diretorio.resolve("catalogo-Planilha1.bin"), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertNull(snapshot.carregar("Planilha1"));
+    }
+
+    @Test
+    void carregaOArquivoGravado(@TempDir Path diretorio) throws IOException {
+        SnapshotCatalogo snapshot = new SnapshotCatalogo(diretorio.toString());
+        Files.write(diretorio.resolve("catalogo-Aba_2.bin"),
+            SnapshotCatalogo.codificar(Catalogo.restaurado(HINOS, 42, Instant.EPOCH)));
+
+        // Caracteres especiais do nome da aba viram '_' no nome do arquivo
+        Catalogo lido = snapshot.carregar("Aba 2");
+
+        assertEquals(HINOS, lido.hinos());
+        snapshot.encerrar();
+    }
+}